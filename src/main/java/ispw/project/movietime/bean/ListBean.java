@@ -1,6 +1,7 @@
 package ispw.project.movietime.bean;
 
 import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
 
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -14,6 +15,7 @@ public class ListBean {
     private final IntegerProperty id;
     private final StringProperty listName;
     private final StringProperty ownerUsername;
+    private final IntegerProperty movieCount;
 
     private final StringProperty listNameError;
 
@@ -24,6 +26,7 @@ public class ListBean {
         this.id = new SimpleIntegerProperty();
         this.listName = new SimpleStringProperty();
         this.ownerUsername = new SimpleStringProperty();
+        this.movieCount = new SimpleIntegerProperty();
         this.listNameError = new SimpleStringProperty(); // Initialize error property
     }
 
@@ -31,9 +34,18 @@ public class ListBean {
         this.id = new SimpleIntegerProperty(listModel.getId());
         this.listName = new SimpleStringProperty(listModel.getName());
         this.ownerUsername = new SimpleStringProperty(listModel.getUsername());
+        this.movieCount = new SimpleIntegerProperty();
         this.listNameError = new SimpleStringProperty(); // Initialize for existing models too
     }
 
+    public ListBean(ListSummary listSummary) {
+        this.id = new SimpleIntegerProperty(listSummary.id());
+        this.listName = new SimpleStringProperty(listSummary.name());
+        this.ownerUsername = new SimpleStringProperty(listSummary.username());
+        this.movieCount = new SimpleIntegerProperty(listSummary.movieCount());
+        this.listNameError = new SimpleStringProperty();
+    }
+
     public IntegerProperty idProperty() {
         return id;
     }
@@ -46,6 +58,10 @@ public class ListBean {
         return ownerUsername;
     }
 
+    public IntegerProperty movieCountProperty() {
+        return movieCount;
+    }
+
     public StringProperty listNameErrorProperty() {
         return listNameError;
     }
@@ -63,6 +79,10 @@ public class ListBean {
         return ownerUsername.get();
     }
 
+    public int getMovieCount() {
+        return movieCount.get();
+    }
+
     public void setId(int id) {
         this.id.set(id);
     }
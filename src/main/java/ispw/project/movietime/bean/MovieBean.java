@@ -40,6 +40,7 @@ public class MovieBean {
     private final StringProperty productionCountriesDisplay;
     private final StringProperty spokenLanguagesDisplay;
 
+    private final StringProperty posterPath;
     private final StringProperty fullPosterUrl;
     private final StringProperty fullBackdropUrl;
 
@@ -63,6 +64,7 @@ public class MovieBean {
         this.productionCompaniesDisplay = new SimpleStringProperty();
         this.productionCountriesDisplay = new SimpleStringProperty();
         this.spokenLanguagesDisplay = new SimpleStringProperty();
+        this.posterPath = new SimpleStringProperty();
         this.fullPosterUrl = new SimpleStringProperty();
         this.fullBackdropUrl = new SimpleStringProperty();
     }
@@ -95,6 +97,7 @@ public class MovieBean {
             String baseUrlW500 = "https://image.tmdb.org/t/p/w500";
             String baseUrlW1280  = "https://image.tmdb.org/t/p/w1280";
 
+            this.posterPath.set(model.getPosterPath());
             this.fullPosterUrl.set(
                     (model.getPosterPath() != null && !model.getPosterPath().isEmpty()) ?
                             baseUrlW500 + model.getPosterPath() : "/path/to/default_no_poster.png"
@@ -153,6 +156,7 @@ public class MovieBean {
     public StringProperty productionCompaniesDisplayProperty() { return productionCompaniesDisplay; }
     public StringProperty productionCountriesDisplayProperty() { return productionCountriesDisplay; }
     public StringProperty spokenLanguagesDisplayProperty() { return spokenLanguagesDisplay; }
+    public StringProperty posterPathProperty() { return posterPath; }
     public StringProperty fullPosterUrlProperty() { return fullPosterUrl; }
     public StringProperty fullBackdropUrlProperty() { return fullBackdropUrl; } // If you need it for another image view
 
@@ -175,6 +179,7 @@ public class MovieBean {
     public String getProductionCompaniesDisplay() { return productionCompaniesDisplay.get(); }
     public String getProductionCountriesDisplay() { return productionCountriesDisplay.get(); }
     public String getSpokenLanguagesDisplay() { return spokenLanguagesDisplay.get(); }
+    public String getPosterPath() { return posterPath.get(); }
     public String getFullPosterUrl() { return fullPosterUrl.get(); }
     public String getFullBackdropUrl() { return fullBackdropUrl.get(); }
 
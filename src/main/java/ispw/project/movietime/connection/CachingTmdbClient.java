@@ -0,0 +1,345 @@
+package ispw.project.movietime.connection;
+
+import ispw.project.movietime.exception.ApiException;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSearchPage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Typed, asynchronous access to TMDB on top of {@link TmdbApiClient}. Movie details (by id) and search
+ * pages (by query and page) are kept in bounded in-process caches, and concurrent requests for a key
+ * that is already being fetched share the same HTTP call. Cached models are never handed out themselves:
+ * every caller gets its own copy, so changing a returned {@link MovieModel} does not affect other callers.
+ */
+public class CachingTmdbClient {
+
+    private static final Logger LOGGER = Logger.getLogger(CachingTmdbClient.class.getName());
+
+    private static final int MOVIE_CACHE_SIZE = 512;
+    private static final Duration MOVIE_CACHE_TTL = Duration.ofMinutes(30);
+    private static final int SEARCH_CACHE_SIZE = 128;
+    private static final Duration SEARCH_CACHE_TTL = Duration.ofMinutes(5);
+
+    private record SearchKey(String query, int page) {
+    }
+
+    public record CacheStats(long hits, long misses, long coalesced) {
+    }
+
+    /**
+     * Outcome of a batch lookup: loaded movies and failures, each keyed by movie id in request order.
+     */
+    public record BatchResult(Map<Integer, MovieModel> movies, Map<Integer, ApiException> failures) {
+    }
+
+    private final TmdbApiClient apiClient;
+
+    private final ExpiringLruCache<Integer, MovieModel> movieCache;
+    private final ExpiringLruCache<SearchKey, MovieSearchPage> searchCache;
+    private final Map<Integer, InFlight<MovieModel>> movieRequestsInFlight = new ConcurrentHashMap<>();
+    private final Map<SearchKey, InFlight<MovieSearchPage>> searchRequestsInFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public CachingTmdbClient(TmdbApiClient apiClient) {
+        this(apiClient, MOVIE_CACHE_SIZE, MOVIE_CACHE_TTL, SEARCH_CACHE_SIZE, SEARCH_CACHE_TTL);
+    }
+
+    public CachingTmdbClient(TmdbApiClient apiClient, int movieCacheSize, Duration movieCacheTtl,
+                             int searchCacheSize, Duration searchCacheTtl) {
+        this.apiClient = apiClient;
+        this.movieCache = new ExpiringLruCache<>(movieCacheSize, movieCacheTtl);
+        this.searchCache = new ExpiringLruCache<>(searchCacheSize, searchCacheTtl);
+    }
+
+    private static volatile CachingTmdbClient defaultInstance;
+
+    /**
+     * Created on first use rather than in a holder class, so a missing api.properties surfaces as an
+     * {@link ApiException} on every call instead of a one-off class initialization error.
+     */
+    public static CachingTmdbClient getDefault() throws ApiException {
+        CachingTmdbClient instance = defaultInstance;
+        if (instance == null) {
+            synchronized (CachingTmdbClient.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = new CachingTmdbClient(TmdbApiClient.getDefault());
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public CompletableFuture<MovieModel> getMovieById(int movieId) {
+        return load(movieId, movieCache, movieRequestsInFlight,
+                () -> apiClient.getMovieJsonById(movieId), MovieJsonParser::parseMovie, MovieModel::new);
+    }
+
+    public CompletableFuture<List<MovieModel>> searchMovies(String query, int page) {
+        CompletableFuture<MovieSearchPage> searchPage = searchMoviePage(query, page);
+        CompletableFuture<List<MovieModel>> results = searchPage.thenApply(MovieSearchPage::results);
+        results.whenComplete((value, error) -> {
+            if (results.isCancelled()) {
+                searchPage.cancel(true);
+            }
+        });
+        return results;
+    }
+
+    public CompletableFuture<MovieSearchPage> searchMoviePage(String query, int page) {
+        return load(new SearchKey(query, page), searchCache, searchRequestsInFlight,
+                () -> apiClient.searchMoviesJson(query, page), MovieJsonParser::parseMovieSearchPage,
+                CachingTmdbClient::copyOf);
+    }
+
+    private static MovieSearchPage copyOf(MovieSearchPage searchPage) {
+        List<MovieModel> results = new ArrayList<>(searchPage.results().size());
+        for (MovieModel movie : searchPage.results()) {
+            results.add(new MovieModel(movie));
+        }
+        return new MovieSearchPage(searchPage.page(), searchPage.totalPages(), searchPage.totalResults(),
+                Collections.unmodifiableList(results));
+    }
+
+    /**
+     * Loads many movies with at most {@code parallelism} requests in flight. Each movie is passed to
+     * {@code onLoaded} as soon as it arrives; a failed lookup is recorded in the result without failing the
+     * batch, so the returned future always completes normally.
+     */
+    public CompletableFuture<BatchResult> getMoviesByIds(Collection<Integer> movieIds, int parallelism,
+                                                         BiConsumer<Integer, MovieModel> onLoaded) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        List<Integer> ordered = new ArrayList<>(new LinkedHashSet<>(movieIds));
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>(ordered);
+        Map<Integer, MovieModel> loaded = new ConcurrentHashMap<>();
+        Map<Integer, ApiException> failed = new ConcurrentHashMap<>();
+        CompletableFuture<BatchResult> result = new CompletableFuture<>();
+
+        int workers = Math.min(parallelism, ordered.size());
+        if (workers == 0) {
+            result.complete(new BatchResult(Collections.emptyMap(), Collections.emptyMap()));
+            return result;
+        }
+        AtomicInteger activeWorkers = new AtomicInteger(workers);
+        Runnable finish = () -> {
+            Map<Integer, MovieModel> movies = new LinkedHashMap<>();
+            Map<Integer, ApiException> failures = new LinkedHashMap<>();
+            for (Integer id : ordered) {
+                if (loaded.containsKey(id)) {
+                    movies.put(id, loaded.get(id));
+                } else if (failed.containsKey(id)) {
+                    failures.put(id, failed.get(id));
+                }
+            }
+            result.complete(new BatchResult(Collections.unmodifiableMap(movies), Collections.unmodifiableMap(failures)));
+        };
+        for (int i = 0; i < workers; i++) {
+            loadNext(pending, loaded, failed, onLoaded, () -> {
+                if (activeWorkers.decrementAndGet() == 0) {
+                    finish.run();
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Works through the queue for one worker. Movies served from the cache complete immediately, so they are
+     * handled in this loop; only a pending request continues the worker from its completion callback, which
+     * keeps the stack flat however many cached movies the batch holds.
+     */
+    private void loadNext(Queue<Integer> pending, Map<Integer, MovieModel> loaded, Map<Integer, ApiException> failed,
+                          BiConsumer<Integer, MovieModel> onLoaded, Runnable onDrained) {
+        Integer movieId;
+        while ((movieId = pending.poll()) != null) {
+            int id = movieId;
+            CompletableFuture<MovieModel> movie = getMovieById(id);
+            if (!movie.isDone()) {
+                movie.whenComplete((value, error) -> {
+                    record(id, value, error, loaded, failed, onLoaded);
+                    loadNext(pending, loaded, failed, onLoaded, onDrained);
+                });
+                return;
+            }
+            try {
+                record(id, movie.join(), null, loaded, failed, onLoaded);
+            } catch (CompletionException | CancellationException e) {
+                record(id, null, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e,
+                        loaded, failed, onLoaded);
+            }
+        }
+        onDrained.run();
+    }
+
+    private static void record(int movieId, MovieModel movie, Throwable error, Map<Integer, MovieModel> loaded,
+                               Map<Integer, ApiException> failed, BiConsumer<Integer, MovieModel> onLoaded) {
+        if (error == null && movie != null) {
+            loaded.put(movieId, movie);
+            notifyLoaded(onLoaded, movieId, movie);
+        } else {
+            failed.put(movieId, error instanceof ApiException apiException
+                    ? apiException
+                    : new ApiException("Failed to load movie " + movieId + ".", error));
+        }
+    }
+
+    private static void notifyLoaded(BiConsumer<Integer, MovieModel> onLoaded, int movieId, MovieModel movie) {
+        if (onLoaded == null) {
+            return;
+        }
+        try {
+            onLoaded.accept(movieId, movie);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Batch callback failed for movie " + movieId + ".");
+        }
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), coalesced.get());
+    }
+
+    /**
+     * Every caller gets its own copy of the shared future, so cancelling one view's request does not
+     * cancel it for the others waiting on the same key. Once every caller has cancelled, the HTTP call
+     * itself is cancelled, so superseded requests (e.g. search-as-you-type) stop using connections and
+     * rate-limit budget.
+     */
+    private <K, V> CompletableFuture<V> load(K key, ExpiringLruCache<K, V> cache, Map<K, InFlight<V>> inFlight,
+                                             Supplier<CompletableFuture<String>> request, Function<String, V> parser,
+                                             UnaryOperator<V> copier) {
+        while (true) {
+            V cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return CompletableFuture.completedFuture(copier.apply(cached));
+            }
+
+            InFlight<V> entry = new InFlight<>(copier, abandonedEntry -> inFlight.remove(key, abandonedEntry));
+            InFlight<V> existing = inFlight.putIfAbsent(key, entry);
+            if (existing != null) {
+                CompletableFuture<V> waiter = existing.newWaiter();
+                if (waiter != null) {
+                    coalesced.incrementAndGet();
+                    return waiter;
+                }
+                // Abandoned by all of its callers just now; start over with a fresh request
+                inFlight.remove(key, existing);
+                continue;
+            }
+
+            CompletableFuture<V> waiter = entry.newWaiter();
+            cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                inFlight.remove(key, entry);
+                entry.result.complete(cached);
+                return waiter;
+            }
+
+            misses.incrementAndGet();
+            CompletableFuture<V> call;
+            try {
+                CompletableFuture<String> httpCall = request.get();
+                entry.httpCall = httpCall;
+                if (entry.isAbandoned()) {
+                    httpCall.cancel(true);
+                }
+                call = httpCall.thenApply(parser);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((value, error) -> {
+                if (error == null) {
+                    cache.put(key, value);
+                }
+                inFlight.remove(key, entry);
+                if (error == null) {
+                    entry.result.complete(value);
+                } else {
+                    entry.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            });
+            return waiter;
+        }
+    }
+
+    private static final class InFlight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final UnaryOperator<V> copier;
+        private final Consumer<InFlight<V>> onAbandoned;
+        private volatile CompletableFuture<String> httpCall;
+        private int waiters;
+        private boolean abandoned;
+
+        private InFlight(UnaryOperator<V> copier, Consumer<InFlight<V>> onAbandoned) {
+            this.copier = copier;
+            this.onAbandoned = onAbandoned;
+        }
+
+        /**
+         * Returns a new caller's view of the shared result, or null if every earlier caller has already
+         * cancelled and the HTTP call is being torn down.
+         */
+        private synchronized CompletableFuture<V> newWaiter() {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+            CompletableFuture<V> waiter = result.thenApply(copier);
+            waiter.whenComplete((value, error) -> {
+                if (waiter.isCancelled()) {
+                    waiterCancelled();
+                }
+            });
+            return waiter;
+        }
+
+        private synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        private void waiterCancelled() {
+            synchronized (this) {
+                if (--waiters > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            onAbandoned.accept(this);
+            CompletableFuture<String> call = httpCall;
+            if (call != null) {
+                call.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package ispw.project.movietime.connection;
+
+import ispw.project.movietime.exception.DatabaseException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final PoolSettings settings;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final Map<PooledConnection, Throwable> borrowedConnections = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenanceExecutor;
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong statementHitCount = new AtomicLong();
+    private final AtomicLong statementMissCount = new AtomicLong();
+    private final AtomicLong statementEvictionCount = new AtomicLong();
+
+    private volatile boolean shutdown;
+
+    public ConnectionPool(String url, String user, String password, PoolSettings settings) {
+        if (settings.minSize() < 0 || settings.maxSize() <= 0 || settings.minSize() > settings.maxSize()) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + settings.minSize() + ", max=" + settings.maxSize());
+        }
+        if (settings.statementCacheSize() < 0) {
+            throw new IllegalArgumentException("Invalid statement cache size: " + settings.statementCacheSize());
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxSize(), true);
+
+        for (int i = 0; i < settings.minSize(); i++) {
+            idleConnections.offerLast(createPooledConnection());
+        }
+
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000L, Math.min(settings.leakThresholdMillis(), settings.validationIntervalMillis()) / 2);
+        maintenanceExecutor.scheduleAtFixedRate(this::runMaintenance, period, period, TimeUnit.MILLISECONDS);
+
+        LOGGER.log(Level.INFO, "Connection pool started with {0} idle connections (max {1}).",
+                new Object[]{settings.minSize(), settings.maxSize()});
+    }
+
+    public Connection borrow() throws DatabaseException {
+        if (shutdown) {
+            throw new DatabaseException("Connection pool has been shut down.");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(settings.borrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new DatabaseException("Timed out after " + settings.borrowTimeoutMillis()
+                        + " ms waiting for a database connection. " + getMetrics());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Interrupted while waiting for a database connection.", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = createPooledConnection();
+            }
+            pooled.markBorrowed();
+            borrowedConnections.put(pooled, new Throwable("Connection borrowed here"));
+            borrowCount.incrementAndGet();
+            return pooled.proxy;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeValidIdleConnection() {
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            if (isStillValid(pooled)) {
+                return pooled;
+            }
+            validationFailureCount.incrementAndGet();
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private boolean isStillValid(PooledConnection pooled) {
+        long sinceValidation = System.currentTimeMillis() - pooled.lastValidatedAt;
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (sinceValidation < settings.validationIntervalMillis()) {
+                return true;
+            }
+            boolean valid = pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            if (valid) {
+                pooled.lastValidatedAt = System.currentTimeMillis();
+            }
+            return valid;
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Validation of pooled connection failed: {0}", e.getMessage());
+            return false;
+        }
+    }
+
+    private PooledConnection createPooledConnection() {
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            totalConnections.incrementAndGet();
+            createdCount.incrementAndGet();
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to establish database connection. Check database server status, credentials, and URL.", e);
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        if (borrowedConnections.remove(pooled) == null) {
+            return;
+        }
+        if (pooled.statements != null) {
+            pooled.statements.reclaimOpenHandles();
+        }
+        try {
+            if (shutdown || pooled.physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            idleConnections.offerFirst(pooled);
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding connection that could not be reset on return: {0}", e.getMessage());
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing discarded connection: {0}", e.getMessage());
+        }
+    }
+
+    private void runMaintenance() {
+        try {
+            detectLeaks();
+            topUpIdleConnections();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool maintenance failed: {0}", e.getMessage());
+        }
+    }
+
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        borrowedConnections.forEach((pooled, borrowSite) -> {
+            if (!pooled.leakReported && now - pooled.borrowedAt > settings.leakThresholdMillis()) {
+                pooled.leakReported = true;
+                leakCount.incrementAndGet();
+                LOGGER.log(Level.WARNING, borrowSite, () -> "Possible connection leak: connection held for "
+                        + (now - pooled.borrowedAt) + " ms without being returned to the pool.");
+            }
+        });
+    }
+
+    private void topUpIdleConnections() {
+        while (!shutdown && totalConnections.get() < settings.minSize()) {
+            idleConnections.offerLast(createPooledConnection());
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        int active = borrowedConnections.size();
+        long borrows = borrowCount.get();
+        return new PoolMetrics(
+                totalConnections.get(),
+                idleConnections.size(),
+                active,
+                permits.getQueueLength(),
+                borrows,
+                createdCount.get(),
+                timeoutCount.get(),
+                validationFailureCount.get(),
+                leakCount.get(),
+                borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / borrows),
+                statementHitCount.get(),
+                statementMissCount.get(),
+                statementEvictionCount.get()
+        );
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        maintenanceExecutor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            discard(pooled);
+        }
+        if (!borrowedConnections.isEmpty()) {
+            LOGGER.log(Level.WARNING, "Connection pool shut down with {0} connections still borrowed; they will be closed on return.",
+                    borrowedConnections.size());
+        }
+    }
+
+    /**
+     * @param statementCacheSize prepared statements kept per physical connection; 0 disables the cache
+     */
+    public record PoolSettings(int minSize, int maxSize, long borrowTimeoutMillis,
+                               long validationIntervalMillis, long leakThresholdMillis, int statementCacheSize) {
+
+        public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+        public PoolSettings(int minSize, int maxSize, long borrowTimeoutMillis,
+                            long validationIntervalMillis, long leakThresholdMillis) {
+            this(minSize, maxSize, borrowTimeoutMillis, validationIntervalMillis, leakThresholdMillis, DEFAULT_STATEMENT_CACHE_SIZE);
+        }
+
+        public static PoolSettings defaults() {
+            return new PoolSettings(2, 10, 10_000L, 30_000L, 60_000L);
+        }
+    }
+
+    public record PoolMetrics(int totalConnections, int idleConnections, int activeConnections, int waitingThreads,
+                              long borrowCount, long createdCount, long timeoutCount,
+                              long validationFailureCount, long leakCount, long averageWaitMicros,
+                              long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+
+        public double statementCacheHitRatio() {
+            long lookups = statementCacheHits + statementCacheMisses;
+            return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+        }
+    }
+
+    private final class PooledConnection implements InvocationHandler {
+
+        private final Connection physical;
+        private final Connection proxy;
+        private final PreparedStatementCache statements;
+        private volatile long lastValidatedAt;
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile boolean returned;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.lastValidatedAt = System.currentTimeMillis();
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+            this.statements = settings.statementCacheSize() == 0 ? null : new PreparedStatementCache(
+                    physical, proxy, settings.statementCacheSize(), statementHitCount, statementMissCount, statementEvictionCount);
+        }
+
+        private void markBorrowed() {
+            borrowedAt = System.currentTimeMillis();
+            leakReported = false;
+            returned = false;
+        }
+
+        @Override
+        public Object invoke(Object proxyInstance, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.isClosed();
+                case "equals":
+                    return proxyInstance == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxyInstance);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            if (statements != null && method.getName().equals("prepareStatement")
+                    && (args.length == 1 || args[1] instanceof Integer && args.length == 2)) {
+                return statements.prepare((String) args[0], args.length == 1 ? null : (Integer) args[1]);
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
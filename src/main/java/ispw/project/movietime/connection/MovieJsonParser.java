@@ -1,46 +1,89 @@
 package ispw.project.movietime.connection;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonArray;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import ispw.project.movietime.exception.ApiException;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSearchPage;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class MovieJsonParser {
 
     private static final Gson gson = new Gson();
+    private static final TypeAdapter<MovieModel> movieAdapter = gson.getAdapter(MovieModel.class);
 
     private MovieJsonParser() {
         // This constructor is intentionally empty to prevent instantiation.
     }
 
     public static MovieModel parseMovie(String jsonResponse) throws ApiException {
-        try {
-            return gson.fromJson(jsonResponse, MovieModel.class);
-        } catch (JsonSyntaxException e) {
+        return parseMovie(new StringReader(jsonResponse));
+    }
+
+    public static MovieModel parseMovie(Reader jsonResponse) throws ApiException {
+        try (JsonReader reader = gson.newJsonReader(jsonResponse)) {
+            return movieAdapter.read(reader);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
             throw new ApiException("Failed to parse JSON into MovieModel: " + e.getMessage(), e);
         }
     }
 
     public static List<MovieModel> parseMovieSearchResults(String jsonResponse) throws ApiException {
-        try {
-            JsonObject rootJson = gson.fromJson(jsonResponse, JsonObject.class);
-            JsonArray resultsArray = rootJson.getAsJsonArray("results");
-
-            List<MovieModel> movies = new ArrayList<>();
-            if (resultsArray != null) {
-                for (int i = 0; i < resultsArray.size(); i++) {
-                    MovieModel movie = gson.fromJson(resultsArray.get(i), MovieModel.class);
-                    movies.add(movie);
+        return parseMovieSearchResults(new StringReader(jsonResponse));
+    }
+
+    public static List<MovieModel> parseMovieSearchResults(Reader jsonResponse) throws ApiException {
+        return parseMovieSearchPage(jsonResponse).results();
+    }
+
+    public static MovieSearchPage parseMovieSearchPage(String jsonResponse) throws ApiException {
+        return parseMovieSearchPage(new StringReader(jsonResponse));
+    }
+
+    /**
+     * Reads the search payload in one pass: each element of {@code results} is bound straight to a
+     * {@link MovieModel}, the paging totals are kept and every other top-level field is skipped without
+     * building a JSON tree.
+     */
+    public static MovieSearchPage parseMovieSearchPage(Reader jsonResponse) throws ApiException {
+        List<MovieModel> movies = new ArrayList<>();
+        int page = 1;
+        int totalPages = 0;
+        int totalResults = 0;
+        try (JsonReader reader = gson.newJsonReader(jsonResponse)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                JsonToken token = reader.peek();
+                if ("results".equals(name) && token == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        movies.add(movieAdapter.read(reader));
+                    }
+                    reader.endArray();
+                } else if ("page".equals(name) && token == JsonToken.NUMBER) {
+                    page = reader.nextInt();
+                } else if ("total_pages".equals(name) && token == JsonToken.NUMBER) {
+                    totalPages = reader.nextInt();
+                } else if ("total_results".equals(name) && token == JsonToken.NUMBER) {
+                    totalResults = reader.nextInt();
+                } else {
+                    reader.skipValue();
                 }
             }
-            return movies;
-        } catch (JsonSyntaxException e) {
+            reader.endObject();
+            return new MovieSearchPage(page, totalPages, totalResults, Collections.unmodifiableList(movies));
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
             throw new ApiException("Failed to parse JSON search results into List<MovieModel>: " + e.getMessage(), e);
         }
     }
@@ -0,0 +1,206 @@
+package ispw.project.movietime.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The prepared statements of one physical connection, keyed by SQL text and evicted least recently used first.
+ * {@link #prepare} hands out a handle whose {@code close()} clears the parameters and keeps the statement for the
+ * next caller, so a query that runs again on the same connection is only bound and executed, not parsed again.
+ * <p>
+ * A statement is lent to one handle at a time; preparing SQL that is already lent out returns a plain, uncached
+ * statement. Handles that changed statement-level settings (fetch size, max rows, timeouts, ...) are closed for
+ * real instead of being kept, so the next caller always gets the driver defaults.
+ */
+final class PreparedStatementCache {
+
+    private static final Logger LOGGER = Logger.getLogger(PreparedStatementCache.class.getName());
+
+    private static final Set<String> SETTINGS_METHODS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows", "setMaxFieldSize",
+            "setQueryTimeout", "setEscapeProcessing", "setCursorName", "setPoolable", "closeOnCompletion");
+
+    private final Connection physical;
+    private final Connection logical;
+    private final int capacity;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    private final AtomicLong evictionCount;
+
+    private final Map<String, CachedStatement> statements;
+    private final Set<StatementHandle> openHandles = new HashSet<>();
+
+    PreparedStatementCache(Connection physical, Connection logical, int capacity,
+                           AtomicLong hitCount, AtomicLong missCount, AtomicLong evictionCount) {
+        this.physical = physical;
+        this.logical = logical;
+        this.capacity = capacity;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.statements = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= PreparedStatementCache.this.capacity) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param autoGeneratedKeys a {@link java.sql.Statement} generated-keys flag, or {@code null} for the plain
+     *                          {@link Connection#prepareStatement(String)} overload
+     */
+    synchronized PreparedStatement prepare(String sql, Integer autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == null ? sql : autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.lent) {
+            hitCount.incrementAndGet();
+            return lend(cached);
+        }
+        missCount.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == null
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            return statement;
+        }
+        cached = new CachedStatement(key, statement);
+        statements.put(key, cached);
+        return lend(cached);
+    }
+
+    /**
+     * Takes back every handle still open, e.g. because the connection is returned to the pool.
+     */
+    synchronized void reclaimOpenHandles() {
+        for (StatementHandle handle : new ArrayList<>(openHandles)) {
+            handle.close();
+        }
+    }
+
+    private PreparedStatement lend(CachedStatement cached) {
+        cached.lent = true;
+        StatementHandle handle = new StatementHandle(cached);
+        openHandles.add(handle);
+        return handle.proxy;
+    }
+
+    private synchronized void giveBack(StatementHandle handle) {
+        openHandles.remove(handle);
+        CachedStatement cached = handle.cached;
+        cached.lent = false;
+        if (cached.evicted || handle.changedSettings) {
+            statements.remove(cached.key, cached);
+            closeQuietly(cached.statement);
+            return;
+        }
+        try {
+            cached.statement.clearParameters();
+            cached.statement.clearBatch();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Dropping cached statement that could not be reset: {0}", e.getMessage());
+            statements.remove(cached.key, cached);
+            closeQuietly(cached.statement);
+        }
+    }
+
+    private void evict(CachedStatement cached) {
+        evictionCount.incrementAndGet();
+        cached.evicted = true;
+        if (!cached.lent) {
+            closeQuietly(cached.statement);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing cached statement: {0}", e.getMessage());
+        }
+    }
+
+    private static final class CachedStatement {
+
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean lent;
+        private boolean evicted;
+
+        private CachedStatement(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+
+    private final class StatementHandle implements InvocationHandler {
+
+        private final CachedStatement cached;
+        private final PreparedStatement proxy;
+        private boolean closed;
+        private boolean changedSettings;
+
+        private StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                giveBack(this);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxyInstance, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "getConnection":
+                    return logical;
+                case "equals":
+                    return proxyInstance == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxyInstance);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement has already been closed.");
+            }
+            if (SETTINGS_METHODS.contains(name)) {
+                changedSettings = true;
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -3,19 +3,18 @@ package ispw.project.movietime.connection;
 import ispw.project.movietime.exception.DatabaseException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
 import java.util.Properties;
 
 public class SingletonDatabase {
 
-    private Connection connection;
+    private ConnectionPool pool;
+    private final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
 
     private SingletonDatabase() {
-        initializeConnection();
+        initializePool();
     }
 
-    private void initializeConnection() {
+    private void initializePool() {
         Properties properties = new Properties();
         try (InputStream input = getClass().getClassLoader().getResourceAsStream("database.properties")) {
             if (input == null) {
@@ -33,17 +32,29 @@ public class SingletonDatabase {
 
             Class.forName("com.mysql.cj.jdbc.Driver");
 
-            connection = DriverManager.getConnection(url, user, password);
+            pool = new ConnectionPool(url, user, password, readPoolSettings(properties));
 
         } catch (ClassNotFoundException e) {
             throw new DatabaseException("MySQL JDBC Driver not found! Please ensure it's in your classpath.", e);
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to establish database connection. Check database server status, credentials, and URL.", e);
+        } catch (DatabaseException e) {
+            throw e;
         } catch (Exception e) {
             throw new DatabaseException("An unexpected error occurred during database connection setup.", e);
         }
     }
 
+    private static ConnectionPool.PoolSettings readPoolSettings(Properties properties) {
+        ConnectionPool.PoolSettings defaults = ConnectionPool.PoolSettings.defaults();
+        return new ConnectionPool.PoolSettings(
+                Integer.parseInt(properties.getProperty("POOL_MIN_SIZE", String.valueOf(defaults.minSize()))),
+                Integer.parseInt(properties.getProperty("POOL_MAX_SIZE", String.valueOf(defaults.maxSize()))),
+                Long.parseLong(properties.getProperty("POOL_BORROW_TIMEOUT_MS", String.valueOf(defaults.borrowTimeoutMillis()))),
+                Long.parseLong(properties.getProperty("POOL_VALIDATION_INTERVAL_MS", String.valueOf(defaults.validationIntervalMillis()))),
+                Long.parseLong(properties.getProperty("POOL_LEAK_THRESHOLD_MS", String.valueOf(defaults.leakThresholdMillis()))),
+                Integer.parseInt(properties.getProperty("POOL_STATEMENT_CACHE_SIZE", String.valueOf(defaults.statementCacheSize())))
+        );
+    }
+
     private static class SingletonHolder {
         private static final SingletonDatabase INSTANCE = new SingletonDatabase();
     }
@@ -52,28 +63,31 @@ public class SingletonDatabase {
         return SingletonHolder.INSTANCE;
     }
 
+    /**
+     * @return the connection bound to the current thread if there is one, otherwise one borrowed from the pool
+     */
     public Connection getConnection() throws DatabaseException {
-        try {
-            if (connection == null || connection.isClosed() || !connection.isValid(5)) {
-                closeConnection();
-                initializeConnection();
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Error checking database connection validity or re-establishing it.", e);
-        }
-        return connection;
+        Connection bound = boundConnection.get();
+        return bound != null ? bound : pool.borrow();
+    }
+
+    /**
+     * Makes {@link #getConnection()} return {@code connection} on the current thread until
+     * {@link #unbindConnection()}, so every DAO call of a transaction runs on it.
+     */
+    public void bindConnection(Connection connection) {
+        boundConnection.set(connection);
+    }
+
+    public void unbindConnection() {
+        boundConnection.remove();
+    }
+
+    public ConnectionPool.PoolMetrics getPoolMetrics() {
+        return pool.getMetrics();
     }
 
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-
-            } catch (SQLException e) {
-                throw new DatabaseException("Failed to close database connection gracefully.", e);
-            } finally {
-                connection = null;
-            }
-        }
+        pool.shutdown();
     }
 }
@@ -1,6 +1,10 @@
 package ispw.project.movietime.connection;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -10,79 +14,192 @@ import ispw.project.movietime.exception.ApiException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class TmdbApiClient {
 
-    private static final String BASE_MOVIE_URL = "https://api.themoviedb.org/3/movie/";
-    private static final String SEARCH_MOVIE_URL = "https://api.themoviedb.org/3/search/movie";
+    private static final HttpUrl DEFAULT_BASE_URL = HttpUrl.get("https://api.themoviedb.org/3/");
+    private static final String API_KEY_PARAMETER = "api_key";
+    static final int MAX_CONCURRENT_REQUESTS = 16;
 
-    private static final OkHttpClient client = new OkHttpClient.Builder()
-            .connectTimeout(10, TimeUnit.SECONDS)
-            .readTimeout(30, TimeUnit.SECONDS)
-            .writeTimeout(30, TimeUnit.SECONDS)
-            .build();
+    private final HttpUrl baseUrl;
+    private final String apiKey;
+    private final OkHttpClient client;
+    private final TmdbHttpCache httpCache;
+    private final TmdbRequestScheduler scheduler;
 
-    private static String apiKey;
+    public TmdbApiClient(HttpUrl baseUrl, String apiKey) {
+        this(baseUrl, apiKey, defaultHttpClientBuilder(), null, null);
+    }
+
+    public TmdbApiClient(HttpUrl baseUrl, String apiKey, TmdbHttpCache httpCache) {
+        this(baseUrl, apiKey, defaultHttpClientBuilder(), httpCache, null);
+    }
+
+    public TmdbApiClient(HttpUrl baseUrl, String apiKey, TmdbHttpCache httpCache, TmdbRequestScheduler scheduler) {
+        this(baseUrl, apiKey, defaultHttpClientBuilder(), httpCache, scheduler);
+    }
+
+    public TmdbApiClient(HttpUrl baseUrl, String apiKey, OkHttpClient client) {
+        this(baseUrl, apiKey, client.newBuilder(), null, null);
+    }
+
+    private TmdbApiClient(HttpUrl baseUrl, String apiKey, OkHttpClient.Builder clientBuilder,
+                          TmdbHttpCache httpCache, TmdbRequestScheduler scheduler) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.httpCache = httpCache;
+        this.scheduler = scheduler;
+        if (httpCache != null) {
+            httpCache.install(clientBuilder);
+        }
+        if (scheduler != null) {
+            scheduler.install(clientBuilder);
+        }
+        this.client = clientBuilder.addNetworkInterceptor(this::addApiKey).build();
+    }
+
+    /**
+     * OkHttp allows only 5 concurrent calls per host by default, which would cap batch lookups well below
+     * the rate limit; allow {@link #MAX_CONCURRENT_REQUESTS} instead.
+     */
+    private static OkHttpClient.Builder defaultHttpClientBuilder() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_CONCURRENT_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_CONCURRENT_REQUESTS);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS);
+    }
+
+    private static volatile TmdbApiClient defaultInstance;
+
+    public static TmdbApiClient getDefault() throws ApiException {
+        TmdbApiClient instance = defaultInstance;
+        if (instance == null) {
+            synchronized (TmdbApiClient.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = createDefault();
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static TmdbApiClient createDefault() {
+        Properties properties = loadApiProperties();
+        return new TmdbApiClient(DEFAULT_BASE_URL, readApiKey(properties),
+                TmdbHttpCache.fromProperties(properties), TmdbRequestScheduler.fromProperties(properties));
+    }
 
-    static {
+    static Properties loadApiProperties() throws ApiException {
         try (InputStream input = TmdbApiClient.class.getClassLoader().getResourceAsStream("api.properties")) {
             Properties prop = new Properties();
-            if (input != null) {
-                prop.load(input);
-                apiKey = prop.getProperty("TMDB_API_KEY");
-                if (apiKey == null || apiKey.trim().isEmpty()) {
-                    throw new ApiException("TMDB_API_KEY not found or is empty in api.properties! Please ensure it's configured.");
-                }
-            } else {
+            if (input == null) {
                 throw new ApiException("api.properties file not found in resources! Please ensure it's in the classpath.");
             }
+            prop.load(input);
+            return prop;
         } catch (IOException e) {
             throw new ApiException("Failed to load TMDB API key from properties file due to an I/O error.", e);
         }
     }
 
-    private TmdbApiClient() {
-        // This constructor is intentionally empty to prevent instantiation.
+    private static String readApiKey(Properties properties) throws ApiException {
+        String apiKey = properties.getProperty("TMDB_API_KEY");
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new ApiException("TMDB_API_KEY not found or is empty in api.properties! Please ensure it's configured.");
+        }
+        return apiKey.trim();
+    }
+
+    /**
+     * Runs as the innermost network interceptor, after the HTTP cache has looked the request up, so the key
+     * never becomes part of a cache entry's URL. The response is handed back with the key-less request.
+     */
+    private Response addApiKey(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        Request authenticated = request.newBuilder()
+                .url(request.url().newBuilder().setQueryParameter(API_KEY_PARAMETER, apiKey).build())
+                .build();
+        return chain.proceed(authenticated).newBuilder().request(request).build();
+    }
+
+    public TmdbHttpCache getHttpCache() {
+        return httpCache;
     }
 
-    private static String executeHttpRequest(String url) throws ApiException {
+    public TmdbRequestScheduler getScheduler() {
+        return scheduler;
+    }
+
+    private CompletableFuture<String> executeHttpRequest(HttpUrl url) {
         Request request = new Request.Builder()
                 .url(url)
                 .get()
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            String responseBody = response.body().string();
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call c, Response response) {
+                try (response) {
+                    String responseBody = response.body().string();
+                    if (!response.isSuccessful()) {
+                        result.completeExceptionally(new ApiException(
+                                "HTTP error: " + response.code() + ", Body: " + responseBody + " for URL: " + url));
+                        return;
+                    }
+                    result.complete(responseBody);
+                } catch (IOException e) {
+                    onFailure(c, e);
+                }
+            }
 
-            if (!response.isSuccessful()) {
-                throw new ApiException(
-                        "HTTP error: " + response.code() + ", Body: " + responseBody + " for URL: " + url
-                );
+            @Override
+            public void onFailure(Call c, IOException e) {
+                result.completeExceptionally(new ApiException("Network error during HTTP request to " + url + ": " + e.getMessage(), e));
             }
-            return responseBody;
-        } catch (IOException e) {
-            throw new ApiException("Network error during HTTP request to " + url + ": " + e.getMessage(), e);
-        }
+        });
+        result.whenComplete((body, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return result;
+    }
+
+    HttpUrl movieUrl(int movieId) {
+        return baseUrl.newBuilder()
+                .addPathSegment("movie")
+                .addPathSegment(String.valueOf(movieId))
+                .build();
+    }
+
+    HttpUrl searchUrl(String query, int page) {
+        return baseUrl.newBuilder()
+                .addPathSegment("search")
+                .addPathSegment("movie")
+                .addQueryParameter("query", query)
+                .addQueryParameter("page", String.valueOf(page))
+                .build();
     }
 
-    public static String getMovieJsonById(int movieId) throws ApiException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(BASE_MOVIE_URL + movieId).newBuilder();
-        urlBuilder.addQueryParameter("api_key", apiKey);
-        String url = urlBuilder.build().toString();
-        return executeHttpRequest(url);
+    public CompletableFuture<String> getMovieJsonById(int movieId) {
+        return executeHttpRequest(movieUrl(movieId));
     }
 
-    public static String searchMoviesJson(String query) throws ApiException {
+    public CompletableFuture<String> searchMoviesJson(String query) {
         return searchMoviesJson(query, 1); // Default to page 1
     }
 
-    public static String searchMoviesJson(String query, int page) throws ApiException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(SEARCH_MOVIE_URL).newBuilder();
-        urlBuilder.addQueryParameter("api_key", apiKey);
-        urlBuilder.addQueryParameter("query", query);
-        urlBuilder.addQueryParameter("page", String.valueOf(page));
-        String url = urlBuilder.build().toString();
-        return executeHttpRequest(url);
+    public CompletableFuture<String> searchMoviesJson(String query, int page) {
+        return executeHttpRequest(searchUrl(query, page));
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,27 @@ package ispw.project.movietime.connection;
 
 import ispw.project.movietime.exception.ApiException;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSearchPage;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
 
 public class TmdbApiFacade {
 
+    private static final int BATCH_PARALLELISM = TmdbApiClient.MAX_CONCURRENT_REQUESTS;
+
     private TmdbApiFacade() {
     }
     public static MovieModel getMovieById(int movieId) throws ApiException {
-        String jsonResponse = TmdbApiClient.getMovieJsonById(movieId);
+        return await(getMovieByIdAsync(movieId));
+    }
 
-        return MovieJsonParser.parseMovie(jsonResponse);
+    public static CompletableFuture<MovieModel> getMovieByIdAsync(int movieId) throws ApiException {
+        return CachingTmdbClient.getDefault().getMovieById(movieId);
     }
 
     public static List<MovieModel> searchMovies(String query) throws ApiException {
@@ -21,8 +31,44 @@ public class TmdbApiFacade {
 
 
     public static List<MovieModel> searchMovies(String query, int page) throws ApiException {
-        String jsonResponse = TmdbApiClient.searchMoviesJson(query, page);
+        return await(searchMoviesAsync(query, page));
+    }
+
+    public static CompletableFuture<List<MovieModel>> searchMoviesAsync(String query, int page) throws ApiException {
+        return CachingTmdbClient.getDefault().searchMovies(query, page);
+    }
+
+    public static MovieSearchPage searchMoviePage(String query, int page) throws ApiException {
+        return await(searchMoviePageAsync(query, page));
+    }
+
+    public static CompletableFuture<MovieSearchPage> searchMoviePageAsync(String query, int page) throws ApiException {
+        return CachingTmdbClient.getDefault().searchMoviePage(query, page);
+    }
+
+    /**
+     * Fetches full details for many movies concurrently. Movies that could not be loaded are reported in
+     * {@link CachingTmdbClient.BatchResult#failures()} instead of failing the whole batch.
+     */
+    public static CachingTmdbClient.BatchResult getMoviesByIds(Collection<Integer> movieIds) throws ApiException {
+        return await(getMoviesByIdsAsync(movieIds, null));
+    }
+
+    public static CompletableFuture<CachingTmdbClient.BatchResult> getMoviesByIdsAsync(
+            Collection<Integer> movieIds, BiConsumer<Integer, MovieModel> onLoaded) throws ApiException {
+        return CachingTmdbClient.getDefault().getMoviesByIds(movieIds, BATCH_PARALLELISM, onLoaded);
+    }
 
-        return MovieJsonParser.parseMovieSearchResults(jsonResponse);
+    static <T> T await(CompletableFuture<T> future) throws ApiException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            throw new ApiException("TMDB request failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (CancellationException e) {
+            throw new ApiException("TMDB request was cancelled.", e);
+        }
     }
 }
@@ -0,0 +1,120 @@
+package ispw.project.movietime.connection;
+
+import ispw.project.movietime.exception.ApiException;
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Disk-backed HTTP cache for TMDB responses, so details and search pages survive application restarts.
+ * Built on OkHttp's {@link Cache}: entries are evicted least-recently-used once the size cap is reached and
+ * stale entries carrying an ETag are revalidated with a conditional request. Because the API key is only
+ * added by a network interceptor, cache entries are keyed by the TMDB URL without {@code api_key}.
+ */
+public class TmdbHttpCache {
+
+    private static final Logger LOGGER = Logger.getLogger(TmdbHttpCache.class.getName());
+
+    private static final String DEFAULT_DIRECTORY = ".movietime/tmdb-cache";
+    private static final long DEFAULT_MAX_SIZE_MB = 50;
+    private static final long DEFAULT_MAX_AGE_SECONDS = Duration.ofHours(24).toSeconds();
+
+    public record CacheStats(int requests, int hits, int misses, long sizeBytes, long maxSizeBytes) {
+    }
+
+    private final Cache cache;
+    private final Duration maxAge;
+
+    public TmdbHttpCache(Path directory, long maxSizeBytes, Duration maxAge) {
+        this.cache = new Cache(directory.toFile(), maxSizeBytes);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Reads {@code HTTP_CACHE_DIRECTORY}, {@code HTTP_CACHE_MAX_SIZE_MB} and {@code HTTP_CACHE_MAX_AGE_SECONDS}
+     * from api.properties; the directory defaults to {@code ~/.movietime/tmdb-cache}.
+     */
+    static TmdbHttpCache fromProperties(Properties properties) throws ApiException {
+        try {
+            Path directory = Paths.get(properties.getProperty("HTTP_CACHE_DIRECTORY",
+                    Paths.get(System.getProperty("user.home"), DEFAULT_DIRECTORY).toString()).trim());
+            long maxSizeMb = Long.parseLong(properties.getProperty("HTTP_CACHE_MAX_SIZE_MB", String.valueOf(DEFAULT_MAX_SIZE_MB)).trim());
+            long maxAgeSeconds = Long.parseLong(properties.getProperty("HTTP_CACHE_MAX_AGE_SECONDS", String.valueOf(DEFAULT_MAX_AGE_SECONDS)).trim());
+            LOGGER.log(Level.INFO, "TMDB HTTP cache at {0} (max {1} MB, max age {2} s).", new Object[]{directory, maxSizeMb, maxAgeSeconds});
+            return new TmdbHttpCache(directory, maxSizeMb * 1024 * 1024, Duration.ofSeconds(maxAgeSeconds));
+        } catch (NumberFormatException e) {
+            throw new ApiException("Invalid HTTP cache setting in api.properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Installs the cache and the network interceptor that caps how long responses are considered fresh.
+     * Must be called before any interceptor that adds credentials to the request URL.
+     */
+    public OkHttpClient.Builder install(OkHttpClient.Builder builder) {
+        return builder.cache(cache).addNetworkInterceptor(this::applyMaxAge);
+    }
+
+    /**
+     * Only successful responses and revalidations get the capped freshness; errors and rate-limit responses
+     * keep the server's own headers, so a transient failure is not served from disk.
+     */
+    private Response applyMaxAge(Interceptor.Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        if (!response.isSuccessful() && response.code() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+            return response;
+        }
+        CacheControl serverPolicy = response.cacheControl();
+        if (serverPolicy.noStore() || serverPolicy.noCache() || serverPolicy.isPrivate()) {
+            return response;
+        }
+        long maxAgeSeconds = maxAge.toSeconds();
+        if (serverPolicy.maxAgeSeconds() >= 0) {
+            maxAgeSeconds = Math.min(maxAgeSeconds, serverPolicy.maxAgeSeconds());
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .header("Cache-Control", "public, max-age=" + maxAgeSeconds)
+                .build();
+    }
+
+    public CacheStats getStats() {
+        long size;
+        try {
+            size = cache.size();
+        } catch (IOException e) {
+            size = -1;
+        }
+        int requests = cache.requestCount();
+        int hits = cache.hitCount();
+        return new CacheStats(requests, hits, requests - hits, size, cache.maxSize());
+    }
+
+    public void evictAll() throws ApiException {
+        try {
+            cache.evictAll();
+        } catch (IOException e) {
+            throw new ApiException("Failed to clear the TMDB HTTP cache.", e);
+        }
+    }
+
+    public void close() {
+        try {
+            cache.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to close the TMDB HTTP cache: {0}", e.getMessage());
+        }
+    }
+}
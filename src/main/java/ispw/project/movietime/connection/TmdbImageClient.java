@@ -0,0 +1,158 @@
+package ispw.project.movietime.connection;
+
+import ispw.project.movietime.exception.ApiException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Downloads poster and backdrop images from the TMDB image CDN. The encoded bytes go through their own
+ * on-disk HTTP cache, separate from the API response cache, so an image is downloaded once per size.
+ */
+public class TmdbImageClient {
+
+    private static final Logger LOGGER = Logger.getLogger(TmdbImageClient.class.getName());
+
+    private static final HttpUrl DEFAULT_BASE_URL = HttpUrl.get("https://image.tmdb.org/t/p/");
+    private static final String DEFAULT_CACHE_DIRECTORY = ".movietime/image-cache";
+    private static final long DEFAULT_CACHE_MAX_SIZE_MB = 100;
+    private static final Duration CACHE_MAX_AGE = Duration.ofDays(30);
+
+    /**
+     * Poster widths served by TMDB; {@link #forWidth(double)} picks the smallest one that still covers the
+     * view, so thumbnails never download the full-size poster.
+     */
+    public enum PosterSize {
+        W92(92), W185(185), W500(500);
+
+        private final int width;
+
+        PosterSize(int width) {
+            this.width = width;
+        }
+
+        public int width() {
+            return width;
+        }
+
+        public String pathSegment() {
+            return "w" + width;
+        }
+
+        public static PosterSize forWidth(double targetWidth) {
+            for (PosterSize size : values()) {
+                if (targetWidth <= size.width) {
+                    return size;
+                }
+            }
+            return W500;
+        }
+    }
+
+    private final HttpUrl baseUrl;
+    private final OkHttpClient client;
+    private final TmdbHttpCache httpCache;
+
+    public TmdbImageClient(HttpUrl baseUrl, TmdbHttpCache httpCache) {
+        this.baseUrl = baseUrl;
+        this.httpCache = httpCache;
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS);
+        if (httpCache != null) {
+            httpCache.install(builder);
+        }
+        this.client = builder.build();
+    }
+
+    private static volatile TmdbImageClient defaultInstance;
+
+    public static TmdbImageClient getDefault() throws ApiException {
+        TmdbImageClient instance = defaultInstance;
+        if (instance == null) {
+            synchronized (TmdbImageClient.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = createDefault();
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads {@code IMAGE_CACHE_DIRECTORY} and {@code IMAGE_CACHE_MAX_SIZE_MB} from api.properties; the
+     * directory defaults to {@code ~/.movietime/image-cache}.
+     */
+    private static TmdbImageClient createDefault() {
+        Properties properties = TmdbApiClient.loadApiProperties();
+        try {
+            Path directory = Paths.get(properties.getProperty("IMAGE_CACHE_DIRECTORY",
+                    Paths.get(System.getProperty("user.home"), DEFAULT_CACHE_DIRECTORY).toString()).trim());
+            long maxSizeMb = Long.parseLong(properties.getProperty("IMAGE_CACHE_MAX_SIZE_MB", String.valueOf(DEFAULT_CACHE_MAX_SIZE_MB)).trim());
+            LOGGER.log(Level.INFO, "TMDB image cache at {0} (max {1} MB).", new Object[]{directory, maxSizeMb});
+            return new TmdbImageClient(DEFAULT_BASE_URL, new TmdbHttpCache(directory, maxSizeMb * 1024 * 1024, CACHE_MAX_AGE));
+        } catch (NumberFormatException e) {
+            throw new ApiException("Invalid image cache setting in api.properties: " + e.getMessage(), e);
+        }
+    }
+
+    public TmdbHttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    HttpUrl imageUrl(String imagePath, PosterSize size) {
+        String path = imagePath.startsWith("/") ? imagePath.substring(1) : imagePath;
+        return baseUrl.newBuilder()
+                .addPathSegment(size.pathSegment())
+                .addPathSegment(path)
+                .build();
+    }
+
+    public CompletableFuture<byte[]> fetchImage(String imagePath, PosterSize size) {
+        HttpUrl url = imageUrl(imagePath, size);
+        Request request = new Request.Builder().url(url).get().build();
+
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call c, Response response) {
+                try (response) {
+                    if (!response.isSuccessful()) {
+                        result.completeExceptionally(new ApiException("HTTP error: " + response.code() + " for image URL: " + url));
+                        return;
+                    }
+                    result.complete(response.body().bytes());
+                } catch (IOException e) {
+                    onFailure(c, e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call c, IOException e) {
+                result.completeExceptionally(new ApiException("Network error while downloading " + url + ": " + e.getMessage(), e));
+            }
+        });
+        result.whenComplete((bytes, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,275 @@
+package ispw.project.movietime.connection;
+
+import ispw.project.movietime.exception.ApiException;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Throttles and retries TMDB calls for every caller sharing one client. A token bucket spaces out requests
+ * that actually reach the network (cache hits are free); callers over the rate wait in line up to a bounded
+ * time instead of failing. Responses with 429 or a 5xx status are retried with exponential backoff and full
+ * jitter, or after the server's Retry-After when it sends one.
+ */
+public class TmdbRequestScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(TmdbRequestScheduler.class.getName());
+
+    public record Settings(double requestsPerSecond, int burst, Duration maxQueueWait,
+                           int maxRetries, Duration baseBackoff, Duration maxBackoff) {
+
+        public static Settings defaults() {
+            return new Settings(40, 40, Duration.ofSeconds(10), 3, Duration.ofMillis(500), Duration.ofSeconds(10));
+        }
+    }
+
+    public record EndpointMetrics(String endpoint, long requests, long retries, long throttledResponses,
+                                  int queueDepth, int maxQueueDepth, long averageQueueWaitMillis,
+                                  long maxQueueWaitMillis, long rejected) {
+    }
+
+    private final Settings settings;
+    private final TokenBucket bucket;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public TmdbRequestScheduler(Settings settings) {
+        if (settings.requestsPerSecond() <= 0 || settings.burst() <= 0 || settings.maxRetries() < 0) {
+            throw new IllegalArgumentException("Invalid scheduler settings: " + settings);
+        }
+        this.settings = settings;
+        this.bucket = new TokenBucket(settings.requestsPerSecond(), settings.burst());
+    }
+
+    /**
+     * Reads {@code RATE_LIMIT_PER_SECOND}, {@code RATE_LIMIT_BURST}, {@code RATE_LIMIT_MAX_WAIT_MS},
+     * {@code RETRY_MAX_ATTEMPTS} and {@code RETRY_BASE_DELAY_MS} from api.properties.
+     */
+    static TmdbRequestScheduler fromProperties(Properties properties) throws ApiException {
+        Settings defaults = Settings.defaults();
+        try {
+            return new TmdbRequestScheduler(new Settings(
+                    Double.parseDouble(properties.getProperty("RATE_LIMIT_PER_SECOND", String.valueOf(defaults.requestsPerSecond())).trim()),
+                    Integer.parseInt(properties.getProperty("RATE_LIMIT_BURST", String.valueOf(defaults.burst())).trim()),
+                    Duration.ofMillis(Long.parseLong(properties.getProperty("RATE_LIMIT_MAX_WAIT_MS", String.valueOf(defaults.maxQueueWait().toMillis())).trim())),
+                    Integer.parseInt(properties.getProperty("RETRY_MAX_ATTEMPTS", String.valueOf(defaults.maxRetries())).trim()),
+                    Duration.ofMillis(Long.parseLong(properties.getProperty("RETRY_BASE_DELAY_MS", String.valueOf(defaults.baseBackoff().toMillis())).trim())),
+                    defaults.maxBackoff()));
+        } catch (NumberFormatException e) {
+            throw new ApiException("Invalid rate limit setting in api.properties: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retries wrap the whole call (application interceptor), while the rate limit only applies to requests
+     * that go to the network (network interceptor), so retries are throttled too but cache hits are not.
+     */
+    public OkHttpClient.Builder install(OkHttpClient.Builder builder) {
+        return builder.addInterceptor(this::retry).addNetworkInterceptor(this::throttle);
+    }
+
+    private Response throttle(Interceptor.Chain chain) throws IOException {
+        EndpointStats stats = statsFor(chain.request().url());
+        long waitNanos = bucket.reserve(settings.maxQueueWait().toNanos());
+        if (waitNanos < 0) {
+            stats.rejected.incrementAndGet();
+            throw new IOException("TMDB rate limit queue is full: no slot within " + settings.maxQueueWait().toMillis() + " ms.");
+        }
+        if (waitNanos > 0) {
+            stats.enterQueue();
+            try {
+                sleep(waitNanos);
+            } finally {
+                stats.queueDepth.decrementAndGet();
+            }
+        }
+        stats.recordWait(waitNanos);
+        return chain.proceed(chain.request());
+    }
+
+    private Response retry(Interceptor.Chain chain) throws IOException {
+        EndpointStats stats = statsFor(chain.request().url());
+        stats.requests.incrementAndGet();
+        int attempt = 0;
+        while (true) {
+            Response response = chain.proceed(chain.request());
+            int code = response.code();
+            boolean retryable = code == 429 || code >= 500;
+            if (code == 429) {
+                stats.throttledResponses.incrementAndGet();
+            }
+            if (!retryable || attempt >= settings.maxRetries()) {
+                return response;
+            }
+
+            long delayNanos = retryAfterNanos(response.header("Retry-After"));
+            if (delayNanos < 0) {
+                delayNanos = backoffNanos(attempt);
+            }
+            response.close();
+            attempt++;
+            stats.retries.incrementAndGet();
+            LOGGER.log(Level.INFO, "TMDB returned {0} for {1}; retry {2}/{3} in {4} ms.",
+                    new Object[]{code, stats.endpoint, attempt, settings.maxRetries(), TimeUnit.NANOSECONDS.toMillis(delayNanos)});
+            sleep(delayNanos);
+        }
+    }
+
+    private long backoffNanos(int attempt) {
+        long ceiling = Math.min(settings.maxBackoff().toNanos(), settings.baseBackoff().toNanos() << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private long retryAfterNanos(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+        long delayNanos;
+        try {
+            delayNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                delayNanos = Duration.between(Instant.now(), at).toNanos();
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+        return Math.clamp(delayNanos, 0, settings.maxBackoff().toNanos());
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to call TMDB.");
+        }
+    }
+
+    private EndpointStats statsFor(HttpUrl url) {
+        return endpoints.computeIfAbsent(endpointOf(url), EndpointStats::new);
+    }
+
+    /**
+     * Groups URLs by path with numeric segments replaced, e.g. {@code movie/{id}} and {@code search/movie}.
+     */
+    static String endpointOf(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        StringBuilder endpoint = new StringBuilder();
+        for (int i = 1; i < segments.size(); i++) {
+            if (!endpoint.isEmpty()) {
+                endpoint.append('/');
+            }
+            String segment = segments.get(i);
+            endpoint.append(!segment.isEmpty() && segment.chars().allMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return endpoint.toString();
+    }
+
+    public List<EndpointMetrics> getMetrics() {
+        List<EndpointMetrics> metrics = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            metrics.add(stats.snapshot());
+        }
+        return metrics;
+    }
+
+    public EndpointMetrics getMetrics(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? new EndpointStats(endpoint).snapshot() : stats.snapshot();
+    }
+
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong throttledResponses = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger queueDepth = new AtomicInteger();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void enterQueue() {
+            maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+        }
+
+        private void recordWait(long waitNanos) {
+            admitted.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        private EndpointMetrics snapshot() {
+            long count = admitted.get();
+            return new EndpointMetrics(endpoint, requests.get(), retries.get(), throttledResponses.get(),
+                    queueDepth.get(), maxQueueDepth.get(),
+                    count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / count),
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()), rejected.get());
+        }
+    }
+
+    /**
+     * Tokens may go negative: each caller reserves the next free slot and then sleeps until it comes up,
+     * which keeps callers in arrival order without a separate queue.
+     */
+    private static final class TokenBucket {
+
+        private final double nanosPerToken;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double requestsPerSecond, int burst) {
+            this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+            this.capacity = burst;
+            this.tokens = burst;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * @return how long the caller must wait for its slot, or -1 if that would exceed {@code maxWaitNanos}
+         */
+        private synchronized long reserve(long maxWaitNanos) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            long waitNanos = (long) Math.ceil((1 - tokens) * nanosPerToken);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            tokens -= 1;
+            return waitNanos;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ispw.project.movietime.controller;
 
 import ispw.project.movietime.dao.DaoType;
 import ispw.project.movietime.dao.*;
+import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.session.SessionManager;
 import ispw.project.movietime.state.DemoModeState;
 import ispw.project.movietime.state.FullModeState;
@@ -19,13 +20,15 @@ public class ApplicationControllerProvider {
     private final ListDao listDao;
     private final MovieDao movieDao;
     private final ListMovie listMovie;
+    private final PersistenceModeState persistenceModeState;
     private final SessionManager sessionManager;
 
-    private ApplicationControllerProvider(UserDao userDao, ListDao listDao, MovieDao movieDao, ListMovie listMovie) {
-        this.userDao = userDao;
-        this.listDao = listDao;
-        this.movieDao = movieDao;
-        this.listMovie = listMovie;
+    private ApplicationControllerProvider(PersistenceModeState persistenceModeState) {
+        this.userDao = persistenceModeState.getUserDao();
+        this.listDao = persistenceModeState.getListDao();
+        this.movieDao = persistenceModeState.getMovieDao();
+        this.listMovie = persistenceModeState.getListMovieDao();
+        this.persistenceModeState = persistenceModeState;
         this.sessionManager = SessionManager.getInstance();
 
         if (userDao == null || listDao == null || movieDao == null || listMovie == null) {
@@ -57,12 +60,7 @@ public class ApplicationControllerProvider {
                 throw new IllegalArgumentException("Unsupported PersistenceType: " + type);
         }
 
-        instance = new ApplicationControllerProvider(
-                persistenceModeState.getUserDao(),
-                persistenceModeState.getListDao(),
-                persistenceModeState.getMovieDao(),
-                persistenceModeState.getListMovieDao()
-        );
+        instance = new ApplicationControllerProvider(persistenceModeState);
     }
 
     public static synchronized ApplicationControllerProvider getInstance() {
@@ -77,4 +75,5 @@ public class ApplicationControllerProvider {
     public ListDao getListDao() { return listDao; }
     public MovieDao getMovieDao() { return movieDao; }
     public ListMovie getListMovieDao() { return listMovie; }
+    public UnitOfWork beginUnitOfWork() throws DaoException { return persistenceModeState.beginUnitOfWork(); }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import ispw.project.movietime.controller.ApplicationControllerProvider;
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.UserModel;
 import ispw.project.movietime.dao.ListDao;
+import ispw.project.movietime.dao.UnitOfWork;
 import ispw.project.movietime.exception.DaoException;
 
 import java.util.logging.Level;
@@ -33,9 +34,9 @@ public class DeleteListController {
             throw new DaoException("Invalid list selected for deletion. Please try again.");
         }
 
-        try {
+        try (UnitOfWork unitOfWork = applicationControllerProvider.beginUnitOfWork()) {
             UserModel currentUserModel = new UserModel(currentUserBean.getUsername(), null);
-            ListModel listModelFromDb = listDao.retrieveById(listToDeleteBean.getId());
+            ListModel listModelFromDb = listDao.retrieveListRowById(listToDeleteBean.getId());
 
             if (listModelFromDb == null) {
                 LOGGER.log(Level.WARNING, "DeleteListController: List with ID {0} (Name: {1}) not found in DB for deletion.",
@@ -48,6 +49,7 @@ public class DeleteListController {
             }
 
             listDao.deleteList(listModelFromDb);
+            unitOfWork.commit();
 
             LOGGER.log(Level.INFO, "List successfully deleted.");
 
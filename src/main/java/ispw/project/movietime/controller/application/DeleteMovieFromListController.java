@@ -49,7 +49,7 @@ public class DeleteMovieFromListController {
         }
 
         try {
-            ListModel targetList = listDao.retrieveById(listId);
+            ListModel targetList = listDao.retrieveListRowById(listId);
             MovieModel movieToRemove = movieDao.retrieveById(movieId);
 
             if (targetList == null) {
@@ -67,7 +67,7 @@ public class DeleteMovieFromListController {
                 throw new DaoException("You are not authorized to modify this list.");
             }
 
-            if (!targetList.containsMovie(movieToRemove)) {
+            if (!listMovieDao.containsMovie(targetList, movieId)) {
                 LOGGER.log(Level.INFO, "Movie ''{0}'' (TMDB ID: {1}) is not in list ''{2}'' (ID: {3}). No action needed.",
                         new Object[]{movieToRemove.getTitle(), movieId, targetList.getName(), listId});
                 return false;
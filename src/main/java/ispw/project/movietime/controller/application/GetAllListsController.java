@@ -3,7 +3,7 @@ package ispw.project.movietime.controller.application;
 import ispw.project.movietime.bean.ListBean;
 import ispw.project.movietime.bean.UserBean;
 import ispw.project.movietime.controller.ApplicationControllerProvider;
-import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
 import ispw.project.movietime.model.UserModel;
 import ispw.project.movietime.dao.ListDao;
 import ispw.project.movietime.exception.DaoException;
@@ -32,7 +32,7 @@ public class GetAllListsController {
         try {
             UserModel currentUserModel = new UserModel(currentUserBean.getUsername(), null);
 
-            List<ListModel> userListsModels = listDao.retrieveAllListsOfUsername(currentUserModel.getUsername());
+            List<ListSummary> userListsModels = listDao.retrieveListSummariesOfUsername(currentUserModel.getUsername());
 
             if (userListsModels == null || userListsModels.isEmpty()) {
                 return Collections.emptyList();
@@ -5,7 +5,7 @@ import ispw.project.movietime.bean.UserBean;
 
 import ispw.project.movietime.controller.ApplicationControllerProvider;
 import ispw.project.movietime.model.ListModel;
-import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.RuntimeStats;
 import ispw.project.movietime.model.UserModel;
 
 import ispw.project.movietime.dao.ListDao;
@@ -13,7 +13,6 @@ import ispw.project.movietime.dao.ListMovie;
 
 import ispw.project.movietime.exception.DaoException;
 
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,7 +40,7 @@ public class ListStatsController {
 
         try {
             UserModel currentUserModel = new UserModel(currentUserBean.getUsername(), null);
-            ListModel listModel = listDao.retrieveById(listBean.getId());
+            ListModel listModel = listDao.retrieveListRowById(listBean.getId());
 
             if (listModel == null) {
                 LOGGER.log(Level.WARNING, "ListStatsController: List with ID {0} not found for user {1}",
@@ -53,22 +52,10 @@ public class ListStatsController {
                 throw new DaoException("You are not authorized to view statistics for this list.");
             }
 
-            List<MovieModel> moviesInList = listMovieDao.getAllMoviesInList(listModel);
+            RuntimeStats listRuntime = listMovieDao.getRuntimeStats(listModel);
+            RuntimeStats userRuntime = listDao.getRuntimeStatsOfUser(currentUserModel.getUsername());
 
-            int totalMovieRuntime = 0;
-            int movieCount = 0;
-
-            for (MovieModel movie : moviesInList) {
-                totalMovieRuntime += movie.getRuntime();
-                movieCount++;
-            }
-
-            return new ListStatsResult(
-                    listModel.getId(),
-                    listModel.getName(),
-                    movieCount,
-                    totalMovieRuntime
-            );
+            return new ListStatsResult(listModel.getId(), listModel.getName(), listRuntime, userRuntime);
 
         } catch (DaoException e) {
             throw new DaoException("Failed to retrieve list statistics due to a system error.", e);
@@ -80,27 +67,43 @@ public class ListStatsController {
     public static class ListStatsResult {
         private final int listId;
         private final String listName;
-        private final int numberOfMovies;
-        private final int totalRuntimeMinutes;
+        private final RuntimeStats listRuntime;
+        private final RuntimeStats userRuntime;
 
-        public ListStatsResult(int listId, String listName, int numberOfMovies, int totalRuntimeMinutes) {
+        public ListStatsResult(int listId, String listName, RuntimeStats listRuntime, RuntimeStats userRuntime) {
             this.listId = listId;
             this.listName = listName;
-            this.numberOfMovies = numberOfMovies;
-            this.totalRuntimeMinutes = totalRuntimeMinutes;
+            this.listRuntime = listRuntime;
+            this.userRuntime = userRuntime;
         }
 
         public int getListId() { return listId; }
         public String getListName() { return listName; }
-        public int getNumberOfMovies() { return numberOfMovies; }
-        public int getTotalRuntimeMinutes() { return totalRuntimeMinutes; }
+        public int getNumberOfMovies() { return listRuntime.count(); }
+        public int getTotalRuntimeMinutes() { return (int) listRuntime.totalMinutes(); }
+        public double getAverageRuntimeMinutes() { return listRuntime.averageMinutes(); }
+        public int getShortestRuntimeMinutes() { return listRuntime.shortestMinutes(); }
+        public int getLongestRuntimeMinutes() { return listRuntime.longestMinutes(); }
+        public int getUserNumberOfMovies() { return userRuntime.count(); }
 
         public String getFormattedTotalRuntime() {
-            if (totalRuntimeMinutes <= 0) {
+            return formatRuntime(listRuntime.totalMinutes());
+        }
+
+        public String getFormattedAverageRuntime() {
+            return formatRuntime(Math.round(listRuntime.averageMinutes()));
+        }
+
+        public String getFormattedUserTotalRuntime() {
+            return formatRuntime(userRuntime.totalMinutes());
+        }
+
+        public static String formatRuntime(long totalMinutes) {
+            if (totalMinutes <= 0) {
                 return "0h 00m";
             }
-            int hours = totalRuntimeMinutes / 60;
-            int minutes = totalRuntimeMinutes % 60;
+            long hours = totalMinutes / 60;
+            long minutes = totalMinutes % 60;
             return String.format("%dh %02dm", hours, minutes);
         }
 
@@ -109,8 +112,8 @@ public class ListStatsController {
             return "ListStatsResult{" +
                     "listId=" + listId +
                     ", listName='" + listName + '\'' +
-                    ", numberOfMovies=" + numberOfMovies +
-                    ", totalRuntimeMinutes=" + totalRuntimeMinutes +
+                    ", listRuntime=" + listRuntime +
+                    ", userRuntime=" + userRuntime +
                     '}';
         }
     }
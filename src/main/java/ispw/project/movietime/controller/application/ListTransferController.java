@@ -0,0 +1,369 @@
+package ispw.project.movietime.controller.application;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import ispw.project.movietime.bean.UserBean;
+import ispw.project.movietime.controller.ApplicationControllerProvider;
+import ispw.project.movietime.dao.ListDao;
+import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.Page;
+import ispw.project.movietime.exception.CrudQueriesException;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.UserModel;
+import ispw.project.movietime.state.PersistenceModeState;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exports a user's lists to a JSON Lines file and imports such a file back, into whichever persistence
+ * backend the DAOs belong to. Each line holds one record: a header, a list, a movie or a list_movie row.
+ * A list is followed by its movies and rows, and a movie is written only the first time any list refers to
+ * it:
+ * <pre>
+ * {"type":"header","format":"movietime-lists","version":1}
+ * {"type":"list","id":1,"name":"Favourites"}
+ * {"type":"movie","id":27205,"runtime":148,"title":"Inception"}
+ * {"type":"list_movie","list":1,"movie":27205}
+ * </pre>
+ * Both directions stream the file; imports write movies and rows through the batch DAO operations.
+ */
+public class ListTransferController {
+
+    private static final Logger LOGGER = Logger.getLogger(ListTransferController.class.getName());
+
+    static final int BATCH_SIZE = 500;
+    private static final int MAX_RECENT_MOVIES = 10_000;
+
+    private static final String FORMAT = "movietime-lists";
+    private static final int VERSION = 1;
+
+    private static final String TYPE = "type";
+    private static final String TYPE_HEADER = "header";
+    private static final String TYPE_LIST = "list";
+    private static final String TYPE_MOVIE = "movie";
+    private static final String TYPE_LIST_MOVIE = "list_movie";
+
+    /**
+     * Counts of what has been transferred so far; {@code fraction} is the completed share between 0 and 1.
+     * For imports the counts only include records that were new to the target.
+     */
+    public record TransferProgress(int lists, int movies, int entries, double fraction) {
+    }
+
+    private final ListDao listDao;
+    private final MovieDao movieDao;
+    private final ListMovie listMovieDao;
+
+    public ListTransferController() {
+        ApplicationControllerProvider provider = ApplicationControllerProvider.getInstance();
+        this.listDao = provider.getListDao();
+        this.movieDao = provider.getMovieDao();
+        this.listMovieDao = provider.getListMovieDao();
+    }
+
+    /**
+     * Transfers against an explicit backend instead of the one the application runs on, e.g. to copy data
+     * between {@code DaoType}s from a tool.
+     */
+    public ListTransferController(PersistenceModeState state) {
+        this.listDao = state.getListDao();
+        this.movieDao = state.getMovieDao();
+        this.listMovieDao = state.getListMovieDao();
+    }
+
+    public TransferProgress exportLists(UserBean userBean, Path file, Consumer<TransferProgress> progress) throws DaoException {
+        String username = requireUsername(userBean);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            JsonObject header = new JsonObject();
+            header.addProperty(TYPE, TYPE_HEADER);
+            header.addProperty("format", FORMAT);
+            header.addProperty("version", VERSION);
+            writeLine(writer, header);
+
+            List<ListSummary> lists = listDao.retrieveListSummariesOfUsername(username);
+            Set<Integer> writtenMovies = new HashSet<>();
+            int listCount = 0;
+            int entryCount = 0;
+            for (ListSummary summary : lists) {
+                ListModel list = new ListModel(summary.id(), summary.name(), summary.username());
+                writeLine(writer, listRecord(list));
+                entryCount += (int) Page.forEachPage((afterMovieId, limit) -> listMovieDao.getMovieSummariesPage(list, afterMovieId, limit),
+                        BATCH_SIZE, movies -> writeEntries(writer, list.getId(), movies, writtenMovies));
+                listCount++;
+                progress.accept(new TransferProgress(listCount, writtenMovies.size(), entryCount, (double) listCount / lists.size()));
+            }
+
+            TransferProgress result = new TransferProgress(listCount, writtenMovies.size(), entryCount, 1.0);
+            LOGGER.log(Level.INFO, "Exported {0} lists, {1} movies and {2} list entries of ''{3}'' to {4}.",
+                    new Object[]{listCount, writtenMovies.size(), entryCount, username, file});
+            return result;
+        } catch (IOException e) {
+            throw new DaoException("Could not write export file " + file + ": " + e.getMessage(), e);
+        } catch (UncheckedIOException e) {
+            throw new DaoException("Could not write export file " + file + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (DaoException | CrudQueriesException e) {
+            throw new DaoException("Failed to export lists due to a system error.", e);
+        } catch (Exception e) {
+            throw new DaoException("An unexpected system error occurred while exporting lists.", e);
+        }
+    }
+
+    /**
+     * Imports every list of the file as a new list of the user; list ids are reassigned by the target.
+     * Movies already stored in the target are kept as they are.
+     */
+    public TransferProgress importLists(UserBean userBean, Path file, Consumer<TransferProgress> progress) throws DaoException {
+        String username = requireUsername(userBean);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Importer importer = new Importer(new UserModel(username, null), Files.size(file), progress);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                importer.bytesRead += line.length() + 1L;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    importer.accept(lineNumber, JsonParser.parseString(line).getAsJsonObject());
+                } catch (JsonParseException | IllegalStateException | UnsupportedOperationException | NumberFormatException e) {
+                    throw new DaoException("Malformed record on line " + lineNumber + " of " + file + ".", e);
+                }
+            }
+            TransferProgress result = importer.finish();
+            LOGGER.log(Level.INFO, "Imported {0} lists, {1} new movies and {2} list entries for ''{3}'' from {4}.",
+                    new Object[]{result.lists(), result.movies(), result.entries(), username, file});
+            return result;
+        } catch (IOException e) {
+            throw new DaoException("Could not read import file " + file + ": " + e.getMessage(), e);
+        } catch (DaoException | CrudQueriesException e) {
+            throw new DaoException("Failed to import lists: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new DaoException("An unexpected system error occurred while importing lists.", e);
+        }
+    }
+
+    private static String requireUsername(UserBean userBean) throws DaoException {
+        if (userBean == null || userBean.getUsername() == null || userBean.getUsername().trim().isEmpty()) {
+            throw new DaoException("User not authenticated or invalid user data. Cannot transfer lists.");
+        }
+        return userBean.getUsername();
+    }
+
+    private static void writeLine(BufferedWriter writer, JsonObject entry) throws IOException {
+        writer.write(entry.toString());
+        writer.newLine();
+    }
+
+    private static void writeEntries(BufferedWriter writer, int listId, List<MovieSummary> movies, Set<Integer> writtenMovies) {
+        try {
+            for (MovieSummary movie : movies) {
+                if (writtenMovies.add(movie.id())) {
+                    writeLine(writer, movieRecord(movie));
+                }
+                writeLine(writer, listMovieRecord(listId, movie.id()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonObject listRecord(ListModel list) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty(TYPE, TYPE_LIST);
+        entry.addProperty("id", list.getId());
+        entry.addProperty("name", list.getName());
+        return entry;
+    }
+
+    private static JsonObject movieRecord(MovieSummary movie) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty(TYPE, TYPE_MOVIE);
+        entry.addProperty("id", movie.id());
+        entry.addProperty("runtime", movie.runtime());
+        entry.addProperty("title", movie.title());
+        return entry;
+    }
+
+    private static JsonObject listMovieRecord(int listId, int movieId) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty(TYPE, TYPE_LIST_MOVIE);
+        entry.addProperty(TYPE_LIST, listId);
+        entry.addProperty(TYPE_MOVIE, movieId);
+        return entry;
+    }
+
+    /**
+     * Holds the import state between lines. Movies and rows are buffered up to {@link #BATCH_SIZE} and
+     * written in batches, movies first so rows never refer to a movie the target does not have yet. Rows are
+     * resolved to movies through a bounded map of recently read movies, falling back to the target DAO for
+     * movies that were written long before.
+     */
+    private final class Importer {
+
+        private final UserModel user;
+        private final long totalBytes;
+        private final Consumer<TransferProgress> progress;
+
+        private final Map<Integer, ListModel> importedLists = new LinkedHashMap<>();
+        private final Map<Integer, MovieModel> recentMovies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MovieModel> eldest) {
+                return size() > MAX_RECENT_MOVIES;
+            }
+        };
+        private final List<MovieModel> pendingMovies = new ArrayList<>();
+        private final List<Integer> pendingMovieIds = new ArrayList<>();
+        private ListModel pendingList;
+
+        private int lineNumber;
+        private boolean headerSeen;
+        private long bytesRead;
+        private int lists;
+        private int movies;
+        private int entries;
+        private int skippedEntries;
+
+        private Importer(UserModel user, long totalBytes, Consumer<TransferProgress> progress) {
+            this.user = user;
+            this.totalBytes = totalBytes;
+            this.progress = progress;
+        }
+
+        private void accept(int lineNumber, JsonObject entry) throws DaoException, CrudQueriesException {
+            this.lineNumber = lineNumber;
+            String type = stringField(entry, TYPE);
+            if (!headerSeen) {
+                if (!TYPE_HEADER.equals(type) || !FORMAT.equals(stringField(entry, "format"))) {
+                    throw new DaoException("Line " + lineNumber + " is not a " + FORMAT + " header.");
+                }
+                if (intField(entry, "version") > VERSION) {
+                    throw new DaoException("Unsupported " + FORMAT + " version " + intField(entry, "version") + ".");
+                }
+                headerSeen = true;
+                return;
+            }
+
+            switch (type) {
+                case TYPE_LIST -> {
+                    flushEntries();
+                    ListModel list = new ListModel(0, stringField(entry, "name"), user.getUsername());
+                    listDao.saveList(list, user);
+                    importedLists.put(intField(entry, "id"), list);
+                    lists++;
+                }
+                case TYPE_MOVIE -> {
+                    JsonElement title = entry.get("title");
+                    MovieModel movie = new MovieModel(intField(entry, "id"), intField(entry, "runtime"),
+                            title == null || title.isJsonNull() ? null : title.getAsString());
+                    recentMovies.put(movie.getId(), movie);
+                    pendingMovies.add(movie);
+                    if (pendingMovies.size() >= BATCH_SIZE) {
+                        flushMovies();
+                    }
+                }
+                case TYPE_LIST_MOVIE -> {
+                    ListModel list = importedLists.get(intField(entry, TYPE_LIST));
+                    if (list == null) {
+                        throw new DaoException("Line " + lineNumber + " refers to a list that is not in the file.");
+                    }
+                    if (list != pendingList) {
+                        flushEntries();
+                        pendingList = list;
+                    }
+                    pendingMovieIds.add(intField(entry, TYPE_MOVIE));
+                    if (pendingMovieIds.size() >= BATCH_SIZE) {
+                        flushEntries();
+                    }
+                }
+                default -> LOGGER.log(Level.FINE, "Ignoring record of unknown type ''{0}'' on line {1}.", new Object[]{type, lineNumber});
+            }
+        }
+
+        private JsonElement field(JsonObject entry, String name) throws DaoException {
+            JsonElement value = entry.get(name);
+            if (value == null || value.isJsonNull()) {
+                throw new DaoException("Line " + lineNumber + " has no '" + name + "' field.");
+            }
+            return value;
+        }
+
+        private int intField(JsonObject entry, String name) throws DaoException {
+            return field(entry, name).getAsInt();
+        }
+
+        private String stringField(JsonObject entry, String name) throws DaoException {
+            return field(entry, name).getAsString();
+        }
+
+        private void flushMovies() throws DaoException, CrudQueriesException {
+            if (!pendingMovies.isEmpty()) {
+                movies += movieDao.saveMovies(pendingMovies);
+                pendingMovies.clear();
+                reportProgress();
+            }
+        }
+
+        private void flushEntries() throws DaoException, CrudQueriesException {
+            flushMovies();
+            if (pendingMovieIds.isEmpty()) {
+                return;
+            }
+            List<MovieModel> batch = new ArrayList<>(pendingMovieIds.size());
+            for (Integer movieId : pendingMovieIds) {
+                MovieModel movie = recentMovies.get(movieId);
+                if (movie == null) {
+                    movie = movieDao.retrieveById(movieId);
+                }
+                if (movie != null) {
+                    batch.add(movie);
+                } else {
+                    skippedEntries++;
+                }
+            }
+            entries += listMovieDao.addMoviesToList(pendingList, batch);
+            pendingMovieIds.clear();
+            reportProgress();
+        }
+
+        private void reportProgress() {
+            double fraction = totalBytes > 0 ? Math.min(1.0, (double) bytesRead / totalBytes) : 0.0;
+            progress.accept(new TransferProgress(lists, movies, entries, fraction));
+        }
+
+        private TransferProgress finish() throws DaoException, CrudQueriesException {
+            if (!headerSeen) {
+                throw new DaoException("The file is empty.");
+            }
+            flushEntries();
+            if (skippedEntries > 0) {
+                LOGGER.log(Level.WARNING, "Skipped {0} list entries whose movie is neither in the file nor stored.", skippedEntries);
+            }
+            TransferProgress result = new TransferProgress(lists, movies, entries, 1.0);
+            progress.accept(result);
+            return result;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import ispw.project.movietime.model.UserModel;
 import ispw.project.movietime.dao.ListDao;
 import ispw.project.movietime.dao.MovieDao;
 import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.UnitOfWork;
 import ispw.project.movietime.exception.DaoException;
 
 import java.util.List;
@@ -67,20 +68,16 @@ public class SaveMovieToListController {
     public boolean saveMovieToList(ListBean targetListBean, MovieBean movieBeanToAdd, UserBean currentUserBean) throws DaoException {
         validateSaveMovieToListInputs(targetListBean, movieBeanToAdd, currentUserBean);
 
-        try {
+        try (UnitOfWork unitOfWork = applicationControllerProvider.beginUnitOfWork()) {
             UserModel currentUserModel = new UserModel(currentUserBean.getUsername(), null);
             ListModel targetListModel = retrieveAndValidateList(targetListBean, currentUserModel);
 
-            MovieModel movieToAddModel = ensureMovieExistsInPersistence(movieBeanToAdd);
-
-
-            if (targetListModel.containsMovie(movieToAddModel)) {
-               return false;
-            }
+            MovieModel movieToAddModel = toPersistableMovie(movieBeanToAdd);
 
-            listMovieDao.addMovieToList(targetListModel, movieToAddModel);
+            boolean added = listMovieDao.ensureMovieInList(targetListModel, movieToAddModel);
 
-            return true;
+            unitOfWork.commit();
+            return added;
 
         } catch (DaoException e) {
             throw new DaoException("Failed to add movie to list due to a system error: " + e.getMessage(), e);
@@ -107,7 +104,7 @@ public class SaveMovieToListController {
     }
 
     private ListModel retrieveAndValidateList(ListBean targetListBean, UserModel currentUserModel) throws DaoException, CrudQueriesException {
-        ListModel targetListModel = listDao.retrieveById(targetListBean.getId());
+        ListModel targetListModel = listDao.retrieveListRowById(targetListBean.getId());
 
         if (targetListModel == null) {
             LOGGER.log(Level.WARNING, "SaveMovieToListController: Target list with ID {0} not found.", targetListBean.getId());
@@ -120,24 +117,21 @@ public class SaveMovieToListController {
         return targetListModel;
     }
 
-    private MovieModel ensureMovieExistsInPersistence(MovieBean movieBeanToAdd) throws DaoException, CrudQueriesException {
-        MovieModel existingMovie = movieDao.retrieveById(movieBeanToAdd.getId());
+    /**
+     * Builds the movie from the bean so it can be stored and linked in one step. Only a bean without a usable
+     * runtime needs a lookup, since such a movie can only be linked if it is stored already.
+     */
+    private MovieModel toPersistableMovie(MovieBean movieBeanToAdd) throws DaoException, CrudQueriesException {
+        int runtime = parseRuntimeFromDisplay(movieBeanToAdd.getRuntimeDisplay());
+        if (runtime > 0) {
+            return new MovieModel(movieBeanToAdd.getId(), runtime, movieBeanToAdd.getTitle());
+        }
 
+        MovieModel existingMovie = movieDao.retrieveById(movieBeanToAdd.getId());
         if (existingMovie == null) {
-            LOGGER.log(Level.INFO, "Movie with ID {0} not found in local movie database. Saving it now.", movieBeanToAdd.getId());
-
-            int runtime = parseRuntimeFromDisplay(movieBeanToAdd.getRuntimeDisplay());
-            if (runtime <= 0) {
-                throw new DaoException("Invalid movie runtime provided. Cannot save movie to database.");
-            }
-
-            MovieModel movieToAddModel = new MovieModel(movieBeanToAdd.getId(), runtime, movieBeanToAdd.getTitle());
-            movieDao.saveMovie(movieToAddModel);
-
-            return movieToAddModel;
-        } else {
-            return existingMovie;
+            throw new DaoException("Invalid movie runtime provided. Cannot save movie to database.");
         }
+        return existingMovie;
     }
 
     private int parseRuntimeFromDisplay(String runtimeDisplay) {
@@ -1,16 +1,27 @@
 package ispw.project.movietime.controller.application;
 
 import ispw.project.movietime.bean.MovieBean;
+import ispw.project.movietime.connection.ExpiringLruCache;
 import ispw.project.movietime.connection.TmdbApiFacade;
 import ispw.project.movietime.exception.ApiException;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSearchPage;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 public class SearchMovieController {
 
+    // First result pages of recent queries, keyed by the normalized query, so that search-as-you-type
+    // answers a query typed moments ago (e.g. after backspacing) without a request. Models are kept rather
+    // than beans; every hit builds its own beans.
+    private static final ExpiringLruCache<String, MovieSearchPage> RECENT_FIRST_PAGES =
+            new ExpiringLruCache<>(64, Duration.ofMinutes(5));
+
     public SearchMovieController() {
         // Default constructor
     }
@@ -20,32 +31,93 @@ public class SearchMovieController {
     }
 
     public List<MovieBean> searchMovies(String query, int page) throws ApiException {
+        return searchMoviePage(query, page).movies();
+    }
+
+    /**
+     * Returns one page of results with the totals needed to page through the rest of the result set.
+     */
+    public SearchResultPage searchMoviePage(String query, int page) throws ApiException {
+        validate(query, page);
+        MovieSearchPage cached = recentFirstPage(query, page);
+        if (cached != null) {
+            return toResultPage(cached);
+        }
+        try {
+            MovieSearchPage searchPage = TmdbApiFacade.searchMoviePage(query.trim(), page);
+            remember(query, searchPage);
+            return toResultPage(searchPage);
+        } catch (ApiException e) {
+           throw e;
+        } catch (Exception e) {
+            throw new ApiException("An unexpected system error occurred during movie search. Please try again.", e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #searchMoviePage(String, int)}. Cancelling the returned future also
+     * cancels the underlying TMDB request unless another caller is waiting for the same page. A first page
+     * searched recently is returned already completed.
+     */
+    public CompletableFuture<SearchResultPage> searchMoviePageAsync(String query, int page) throws ApiException {
+        validate(query, page);
+        MovieSearchPage cached = recentFirstPage(query, page);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(toResultPage(cached));
+        }
+        CompletableFuture<MovieSearchPage> searchPage = TmdbApiFacade.searchMoviePageAsync(query.trim(), page);
+        CompletableFuture<SearchResultPage> resultPage = searchPage.thenApply(result -> {
+            remember(query, result);
+            return toResultPage(result);
+        });
+        resultPage.whenComplete((value, error) -> {
+            if (resultPage.isCancelled()) {
+                searchPage.cancel(true);
+            }
+        });
+        return resultPage;
+    }
+
+    private static void validate(String query, int page) throws ApiException {
         if (query == null || query.trim().isEmpty()) {
             throw new ApiException("Search query cannot be empty.");
         }
         if (page <= 0) {
             throw new ApiException("Page number must be positive.");
         }
+    }
 
-        List<MovieBean> movieBeans = new ArrayList<>();
-        try {
-            List<MovieModel> searchResultsModels = TmdbApiFacade.searchMovies(query, page);
-
+    /**
+     * Only exact matches of the normalized query are reused. TMDB ranks results fuzzily and pages them, so
+     * the first page of a shorter query is not a superset of a longer query's results.
+     */
+    private static MovieSearchPage recentFirstPage(String query, int page) {
+        return page == 1 ? RECENT_FIRST_PAGES.get(normalizeQuery(query)) : null;
+    }
 
-            if (searchResultsModels != null && !searchResultsModels.isEmpty()) {
-                for (MovieModel model : searchResultsModels) {
-                    movieBeans.add(new MovieBean(model));
-                }
-            } else {
-                return Collections.emptyList();
-            }
+    private static void remember(String query, MovieSearchPage searchPage) {
+        if (searchPage.page() == 1) {
+            RECENT_FIRST_PAGES.put(normalizeQuery(query), searchPage);
+        }
+    }
 
-            return movieBeans;
+    /**
+     * The form under which two queries count as the same search: trimmed, inner whitespace collapsed and lower
+     * case. A {@code null} query normalizes to the empty string.
+     */
+    public static String normalizeQuery(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 
-        } catch (ApiException e) {
-           throw e;
-        } catch (Exception e) {
-            throw new ApiException("An unexpected system error occurred during movie search. Please try again.", e);
+    private static SearchResultPage toResultPage(MovieSearchPage searchPage) {
+        List<MovieBean> movieBeans = new ArrayList<>(searchPage.results().size());
+        for (MovieModel model : searchPage.results()) {
+            movieBeans.add(new MovieBean(model));
         }
+        return new SearchResultPage(searchPage.page(), searchPage.totalPages(), searchPage.totalResults(),
+                Collections.unmodifiableList(movieBeans));
+    }
+
+    public record SearchResultPage(int page, int totalPages, int totalResults, List<MovieBean> movies) {
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,14 @@
 package ispw.project.movietime.controller.application;
 
+import ispw.project.movietime.connection.CachingTmdbClient;
+import ispw.project.movietime.connection.TmdbApiFacade;
 import ispw.project.movietime.controller.ApplicationControllerProvider;
 import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.exception.ApiException;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
 import ispw.project.movietime.model.UserModel;
 import ispw.project.movietime.bean.UserBean;
 import ispw.project.movietime.dao.ListDao;
@@ -46,7 +50,7 @@ public class SeeAllElementsListController {
             throw new DaoException("Invalid list ID provided.");
         }
 
-        ListModel list = listDao.retrieveById(listId);
+        ListModel list = listDao.retrieveListRowById(listId);
 
         if (list == null) {
             LOGGER.log(Level.WARNING, "List with ID {0} not found for user {1}", new Object[]{listId, currentUserModel.getUsername()});
@@ -73,6 +77,35 @@ public class SeeAllElementsListController {
         }
     }
 
+    /**
+     * The persisted rows only carry id, runtime and title; fetch the full TMDB details for all of them in one
+     * concurrent batch. A movie whose lookup fails (or all of them, when TMDB is unreachable) keeps its
+     * persisted row so the list still renders.
+     */
+    private List<MovieModel> hydrateMovieDetails(List<MovieSummary> persistedMovies) {
+        if (persistedMovies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> movieIds = persistedMovies.stream().map(MovieSummary::id).toList();
+        CachingTmdbClient.BatchResult details;
+        try {
+            details = TmdbApiFacade.getMoviesByIds(movieIds);
+        } catch (ApiException e) {
+            LOGGER.log(Level.WARNING, "SeeAllElementsListController: Could not load movie details from TMDB, showing persisted data. Error: {0}", e.getMessage());
+            return persistedMovies.stream().map(MovieSummary::toMovieModel).toList();
+        }
+        if (!details.failures().isEmpty()) {
+            LOGGER.log(Level.WARNING, "SeeAllElementsListController: {0} of {1} movie lookups failed, showing persisted data for movie IDs {2}",
+                    new Object[]{details.failures().size(), movieIds.size(), details.failures().keySet()});
+        }
+        return persistedMovies.stream()
+                .map(persisted -> {
+                    MovieModel detailed = details.movies().get(persisted.id());
+                    return detailed != null ? detailed : persisted.toMovieModel();
+                })
+                .toList();
+    }
+
     public List<MovieBean> seeAllMoviesInList(int listId, UserBean currentUserBean) throws DaoException {
         UserModel currentUserModel = convertUserBeanToModel(currentUserBean);
 
@@ -81,16 +114,16 @@ public class SeeAllElementsListController {
 
             LOGGER.log(Level.INFO, "SeeAllElementsListController: Getting movies for list ID {0} ({1}) via ListMovieDao",
                     new Object[]{list.getId(), list.getName()});
-            List<MovieModel> movieModels = listMovieDao.getAllMoviesInList(list);
+            List<MovieSummary> movieSummaries = listMovieDao.getMovieSummariesInList(list);
 
-            if (movieModels != null) {
+            if (movieSummaries != null) {
                 LOGGER.log(Level.INFO, "SeeAllElementsListController: Found {0} movies for list ID {1}",
-                        new Object[]{movieModels.size(), list.getId()});
-                return movieModels.stream()
+                        new Object[]{movieSummaries.size(), list.getId()});
+                return hydrateMovieDetails(movieSummaries).stream()
                         .map(MovieBean::new)
                         .toList();
             } else {
-                LOGGER.log(Level.WARNING, "SeeAllElementsListController: getAllMoviesInList returned null for list ID {0}", list.getId());
+                LOGGER.log(Level.WARNING, "SeeAllElementsListController: getMovieSummariesInList returned null for list ID {0}", list.getId());
                 return Collections.emptyList();
             }
         } catch (DaoException e) {
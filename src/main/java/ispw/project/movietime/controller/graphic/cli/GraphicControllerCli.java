@@ -49,6 +49,8 @@ public class GraphicControllerCli implements GraphicController {
         commands.put("seemoviedetails", new SeeMovieDetailsCommand());
         commands.put("seeallelementslist", new SeeAllElementsListCommand());
         commands.put("liststats", new ListStatsCommand());
+        commands.put("exportlists", new ExportListsCommand());
+        commands.put("importlists", new ImportListsCommand());
     }
 
     @Override
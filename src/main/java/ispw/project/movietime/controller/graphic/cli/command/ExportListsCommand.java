@@ -0,0 +1,58 @@
+package ispw.project.movietime.controller.graphic.cli.command;
+
+import ispw.project.movietime.bean.UserBean;
+import ispw.project.movietime.controller.application.ListTransferController;
+import ispw.project.movietime.controller.application.ListTransferController.TransferProgress;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.exception.UserException;
+import ispw.project.movietime.session.SessionManager;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ExportListsCommand implements CliCommand {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportListsCommand.class.getName());
+
+    private final ListTransferController listTransferController;
+
+    public ExportListsCommand() {
+        this.listTransferController = new ListTransferController();
+    }
+
+    @Override
+    public String execute(String args) throws UserException {
+        UserBean currentUser = SessionManager.getInstance().getCurrentUserBean();
+
+        if (currentUser == null) {
+            LOGGER.log(Level.WARNING, "ExportListsCommand: Attempted to export lists without being logged in.");
+            throw new UserException("You must be logged in to export your lists.");
+        }
+
+        Path file = parseFile(args, "Usage: exportlists <file>");
+
+        try {
+            TransferProgress result = listTransferController.exportLists(currentUser, file, ImportListsCommand.progressLogger("Export"));
+            return "Exported " + result.lists() + " lists with " + result.entries() + " entries (" + result.movies()
+                    + " distinct movies) to " + file.toAbsolutePath() + ".";
+        } catch (DaoException e) {
+            throw new UserException("Failed to export lists: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new UserException("An unexpected error occurred while exporting lists. Please try again.", e);
+        }
+    }
+
+    static Path parseFile(String args, String usage) throws UserException {
+        String fileName = args.trim();
+        if (fileName.isEmpty()) {
+            throw new UserException(usage);
+        }
+        try {
+            return Path.of(fileName);
+        } catch (InvalidPathException e) {
+            throw new UserException("Invalid file name: " + fileName, e);
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class GetAllListsCommand implements CliCommand {
             } else {
                 StringBuilder sb = new StringBuilder("Your Lists:\n");
                 for (ListBean list : lists) {
-                    sb.append("  ID: ").append(list.getId()).append(", Name: '").append(list.getListName()).append("'\n"); // Corrected to getListName()
+                    sb.append("  ID: ").append(list.getId()).append(", Name: '").append(list.getListName()).append("', Movies: ").append(list.getMovieCount()).append("\n"); // Corrected to getListName()
                 }
                 return sb.toString().trim();
             }
@@ -10,7 +10,8 @@ public class HelpCommand implements CliCommand {
 
         String loggedInCommands = "logout, searchmovie, seemoviedetails," +
                 "createlist <list_name>, deletelist <list_id>, getalllists, " +
-                "savemovietolist <list_id> <movie_id>, deletemoviefromlist <list_id> <movie_id>, ";
+                "savemovietolist <list_id> <movie_id>, deletemoviefromlist <list_id> <movie_id>, " +
+                "exportlists <file>, importlists <file>";
 
         String loggedOutCommands = "login <username> <password>, signup <username> <password>, " +
                 "searchmovie <title>" + "seemoviedetails <movie_id>";
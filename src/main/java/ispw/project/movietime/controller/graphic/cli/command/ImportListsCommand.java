@@ -0,0 +1,65 @@
+package ispw.project.movietime.controller.graphic.cli.command;
+
+import ispw.project.movietime.bean.UserBean;
+import ispw.project.movietime.controller.application.ListTransferController;
+import ispw.project.movietime.controller.application.ListTransferController.TransferProgress;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.exception.UserException;
+import ispw.project.movietime.session.SessionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ImportListsCommand implements CliCommand {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportListsCommand.class.getName());
+
+    private final ListTransferController listTransferController;
+
+    public ImportListsCommand() {
+        this.listTransferController = new ListTransferController();
+    }
+
+    @Override
+    public String execute(String args) throws UserException {
+        UserBean currentUser = SessionManager.getInstance().getCurrentUserBean();
+
+        if (currentUser == null) {
+            LOGGER.log(Level.WARNING, "ImportListsCommand: Attempted to import lists without being logged in.");
+            throw new UserException("You must be logged in to import lists.");
+        }
+
+        Path file = ExportListsCommand.parseFile(args, "Usage: importlists <file>");
+        if (!Files.isRegularFile(file)) {
+            throw new UserException("File not found: " + file.toAbsolutePath());
+        }
+
+        try {
+            TransferProgress result = listTransferController.importLists(currentUser, file, progressLogger("Import"));
+            return "Imported " + result.lists() + " lists with " + result.entries() + " entries (" + result.movies()
+                    + " new movies) from " + file.toAbsolutePath() + ".";
+        } catch (DaoException e) {
+            throw new UserException("Failed to import lists: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new UserException("An unexpected error occurred while importing lists. Please try again.", e);
+        }
+    }
+
+    /**
+     * Logs the progress of a transfer every ten percent, as the CLI only prints the final result.
+     */
+    static Consumer<TransferProgress> progressLogger(String operation) {
+        int[] lastDecile = {-1};
+        return progress -> {
+            int decile = (int) (progress.fraction() * 10);
+            if (decile > lastDecile[0]) {
+                lastDecile[0] = decile;
+                LOGGER.log(Level.INFO, "{0} {1}% done: {2} lists, {3} movies, {4} entries.",
+                        new Object[]{operation, decile * 10, progress.lists(), progress.movies(), progress.entries()});
+            }
+        };
+    }
+}
@@ -62,13 +62,18 @@ public class ListStatsCommand implements CliCommand {
             if (statsResult.getNumberOfMovies() > 0) {
                 sb.append("--- Movies ---\n");
                 sb.append("Total Movies: ").append(statsResult.getNumberOfMovies()).append("\n");
-                sb.append("Total movie runtime: ").append(statsResult.getFormattedTotalRuntime()).append(".\n\n");
+                sb.append("Total movie runtime: ").append(statsResult.getFormattedTotalRuntime()).append(".\n");
+                sb.append("Average runtime: ").append(statsResult.getFormattedAverageRuntime())
+                        .append(" (shortest ").append(statsResult.getShortestRuntimeMinutes())
+                        .append(" min, longest ").append(statsResult.getLongestRuntimeMinutes()).append(" min).\n\n");
             } else {
                 sb.append("--- No Movies in this list ---\n\n");
             }
 
             sb.append("Overall Total Runtime for list '").append(statsResult.getListName())
                     .append("': ").append(statsResult.getFormattedTotalRuntime()).append(".\n");
+            sb.append("Across all your lists: ").append(statsResult.getUserNumberOfMovies())
+                    .append(" entries, ").append(statsResult.getFormattedUserTotalRuntime()).append(".\n");
 
             sb.append("-------------------------------------------------------");
             return sb.toString();
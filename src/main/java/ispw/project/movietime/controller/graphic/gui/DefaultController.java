@@ -1,35 +1,56 @@
 package ispw.project.movietime.controller.graphic.gui;
 
 import ispw.project.movietime.controller.application.SearchMovieController;
+import ispw.project.movietime.controller.application.SearchMovieController.SearchResultPage;
 import ispw.project.movietime.exception.ApiException;
-import ispw.project.movietime.bean.MovieBean;
 import ispw.project.movietime.bean.MovieSearchBean;
 import ispw.project.movietime.session.SessionManager;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.StringBinding;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class DefaultController implements NavigableController {
 
+    private static final Logger LOGGER = Logger.getLogger(DefaultController.class.getName());
+
     @FXML private Button backButton;
     @FXML private Button homeButton;
     @FXML private Button searchButton;
     @FXML private Button userButton;
     @FXML private TextField searchBar;
     @FXML private Label searchErrorLabel;
+    @FXML private ProgressIndicator busyIndicator;
 
     private GraphicControllerGui graphicControllerGui;
 
     private MovieSearchBean movieSearchBean;
 
     private static final String SEARCH_SCREEN_NAME = "search";
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(300);
+    private static final int MIN_INCREMENTAL_QUERY_LENGTH = 2;
+
+    private final SearchMovieController searchMovieController = new SearchMovieController();
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private GraphicControllerGui.HasSearchResults inlineResults;
+    private boolean updatingQuery;
+    private String lastSearchKey;
+    private long searchGeneration;
+    private CompletableFuture<SearchResultPage> pendingSearch;
+    private Task<SearchResultPage> pendingSearchTask;
 
     @Override
     public void setGraphicController(GraphicControllerGui graphicController) {
@@ -54,6 +75,48 @@ public class DefaultController implements NavigableController {
         }, SessionManager.getInstance().currentUserBeanProperty());
 
         userButton.textProperty().bind(userButtonTextBinding);
+
+        busyIndicator.visibleProperty().bind(GuiTaskRunner.getInstance().busyProperty());
+        busyIndicator.managedProperty().bind(busyIndicator.visibleProperty());
+
+        movieSearchBean.searchQueryProperty().addListener((observable, oldQuery, newQuery) -> {
+            if (!updatingQuery) {
+                searchDebounce.playFromStart();
+            }
+        });
+        searchDebounce.setOnFinished(event -> {
+            // The header of a screen that has since been replaced must not search any more
+            if (searchBar.getScene() != null) {
+                runSearch(movieSearchBean.getSearchQuery(), false);
+            }
+        });
+    }
+
+    /**
+     * Makes the header deliver results straight to {@code target} instead of navigating to the search screen,
+     * so typing on the search screen updates the list in place.
+     */
+    void showResultsIn(GraphicControllerGui.HasSearchResults target) {
+        this.inlineResults = target;
+    }
+
+    /**
+     * Puts {@code query} in the search bar without starting a new search, e.g. after the search screen has
+     * been opened by typing in another screen's header.
+     */
+    void showQuery(String query) {
+        if (query == null || query.equals(searchBar.getText())) {
+            return;
+        }
+        updatingQuery = true;
+        try {
+            movieSearchBean.setSearchQuery(query);
+        } finally {
+            updatingQuery = false;
+        }
+        lastSearchKey = SearchMovieController.normalizeQuery(query);
+        searchBar.requestFocus();
+        searchBar.positionCaret(query.length());
     }
 
     @FXML
@@ -71,18 +134,90 @@ public class DefaultController implements NavigableController {
         if (!movieSearchBean.isValid()) {
             return;
         }
+        searchDebounce.stop();
+        runSearch(movieSearchBean.getSearchQuery(), true);
+    }
 
-        String searchText = movieSearchBean.getSearchQuery();
+    /**
+     * Starts a search for {@code rawQuery}, superseding any search still in flight: its request is cancelled
+     * and, should its result arrive anyway, it is dropped because its generation is no longer current.
+     */
+    private void runSearch(String rawQuery, boolean explicit) {
+        String key = SearchMovieController.normalizeQuery(rawQuery);
+        if (key.length() < (explicit ? 1 : MIN_INCREMENTAL_QUERY_LENGTH)) {
+            cancelPendingSearch();
+            lastSearchKey = null;
+            return;
+        }
+        if (!explicit && key.equals(lastSearchKey)) {
+            return;
+        }
+        cancelPendingSearch();
+        lastSearchKey = key;
+        long generation = ++searchGeneration;
+        String displayQuery = rawQuery.trim();
 
-        SearchMovieController searchMovieController = new SearchMovieController();
         try {
-            List<MovieBean> searchResults = searchMovieController.searchMovies(searchText);
-            graphicControllerGui.setScreen(SEARCH_SCREEN_NAME, new SearchResultData(searchResults, searchText));
-
+            pendingSearch = searchMovieController.searchMoviePageAsync(displayQuery, 1);
+            if (pendingSearch.isDone() && !pendingSearch.isCompletedExceptionally()) {
+                showResults(pendingSearch.join(), displayQuery);
+                return;
+            }
         } catch (ApiException e) {
-            showAlert(Alert.AlertType.ERROR, "Search Error", "Failed to search movies: " + e.getMessage());
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "System Error", "An unexpected error occurred during search: " + e.getMessage());
+            showSearchError(e, explicit);
+            return;
+        }
+        CompletableFuture<SearchResultPage> request = pendingSearch;
+        pendingSearchTask = GuiTaskRunner.getInstance().run("search " + key,
+                request::get,
+                firstPage -> {
+                    if (generation != searchGeneration) {
+                        return;
+                    }
+                    showResults(firstPage, displayQuery);
+                },
+                error -> {
+                    if (generation != searchGeneration) {
+                        return;
+                    }
+                    showSearchError(error instanceof ExecutionException && error.getCause() != null ? error.getCause() : error, explicit);
+                });
+    }
+
+    private void cancelPendingSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+            pendingSearch = null;
+        }
+        if (pendingSearchTask != null) {
+            pendingSearchTask.cancel(true);
+            pendingSearchTask = null;
+        }
+    }
+
+    private void showResults(SearchResultPage firstPage, String query) {
+        pendingSearch = null;
+        pendingSearchTask = null;
+        SearchResultData searchResultData = new SearchResultData(firstPage, query);
+        if (inlineResults != null) {
+            inlineResults.setSearchResults(firstPage, query);
+            graphicControllerGui.rememberSearchResults(searchResultData);
+        } else {
+            graphicControllerGui.setScreen(SEARCH_SCREEN_NAME, searchResultData);
+        }
+    }
+
+    private void showSearchError(Throwable error, boolean explicit) {
+        pendingSearch = null;
+        pendingSearchTask = null;
+        LOGGER.log(Level.WARNING, "Search failed: {0}", error.getMessage());
+        if (!explicit) {
+            // No dialogs while the user is typing; the next keystroke retries anyway
+            movieSearchBean.searchErrorProperty().set("Search failed.");
+        } else if (error instanceof ApiException) {
+            showAlert(Alert.AlertType.ERROR, "Search Error", "Failed to search movies: " + error.getMessage());
+        } else {
+            showAlert(Alert.AlertType.ERROR, "System Error", "An unexpected error occurred during search: " + error.getMessage());
         }
     }
 
@@ -105,16 +240,16 @@ public class DefaultController implements NavigableController {
     }
 
     public static class SearchResultData {
-        private final List<MovieBean> results;
+        private final SearchResultPage firstPage;
         private final String query;
 
-        public SearchResultData(List<MovieBean> results, String query) {
-            this.results = results;
+        public SearchResultData(SearchResultPage firstPage, String query) {
+            this.firstPage = firstPage;
             this.query = query;
         }
 
-        public List<MovieBean> getResults() {
-            return results;
+        public SearchResultPage getFirstPage() {
+            return firstPage;
         }
 
         public String getQuery() {
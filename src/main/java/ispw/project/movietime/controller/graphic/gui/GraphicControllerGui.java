@@ -5,6 +5,7 @@ import ispw.project.movietime.bean.ListBean;
 import ispw.project.movietime.controller.graphic.GraphicController;
 import ispw.project.movietime.session.SessionManager;
 import ispw.project.movietime.bean.MovieBean;
+import ispw.project.movietime.controller.application.SearchMovieController;
 import ispw.project.movietime.controller.application.SeeMovieDetailsController;
 
 import javafx.beans.property.ObjectProperty;
@@ -18,7 +19,6 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -104,6 +104,9 @@ public class GraphicControllerGui implements GraphicController {
             return;
         }
 
+        // Results of the screen being left are no longer wanted
+        GuiTaskRunner.getInstance().cancelScreenTasks();
+
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource(screenPaths.get(name)));
             Parent root = loader.load();
@@ -160,16 +163,29 @@ public class GraphicControllerGui implements GraphicController {
 
     private void applySearchResults(NavigableController controller, DefaultController.SearchResultData searchResultData) {
         if (controller instanceof HasSearchResults hasResultsController) {
-            hasResultsController.setSearchResults(searchResultData.getResults(), searchResultData.getQuery());
+            hasResultsController.setSearchResults(searchResultData.getFirstPage(), searchResultData.getQuery());
             this.lastSearchResults = searchResultData;
         } else {
             LOGGER.log(Level.WARNING, "Controller {0} received SearchResultData but does not implement HasSearchResults. Data might not be displayed.", controller.getClass().getName());
         }
     }
 
+    /**
+     * Records results that a header showed in place on the search screen, so that returning to that screen
+     * (or going back to it) shows them rather than the results it was first opened with.
+     */
+    void rememberSearchResults(DefaultController.SearchResultData searchResultData) {
+        this.lastSearchResults = searchResultData;
+        ScreenHistoryEntry current = screenHistory.peekLast();
+        if (current != null && current.name().equals("search")) {
+            screenHistory.pollLast();
+            screenHistory.offerLast(new ScreenHistoryEntry("search", searchResultData));
+        }
+    }
+
     private void restoreCachedSearchResults(NavigableController controller) {
         if (controller instanceof HasSearchResults hasResultsController) {
-            hasResultsController.setSearchResults(this.lastSearchResults.getResults(), this.lastSearchResults.getQuery());
+            hasResultsController.setSearchResults(this.lastSearchResults.getFirstPage(), this.lastSearchResults.getQuery());
             LOGGER.log(Level.INFO, "Restored previous search results for screen.");
         } else {
             LOGGER.log(Level.WARNING, "Search screen controller does not implement HasSearchResults. Cached data will not be displayed.");
@@ -281,7 +297,8 @@ public class GraphicControllerGui implements GraphicController {
 
     /**
      * Navigates to the "show" screen to display detailed information for a specific movie.
-     * This method fetches the full MovieBean via the application layer and passes it to the ShowController.
+     * The full MovieBean is fetched via the application layer on a background task; the screen is shown
+     * once it arrives, unless the user has navigated elsewhere in the meantime.
      *
      * @param movieId The ID of the movie whose details are to be displayed.
      */
@@ -292,58 +309,22 @@ public class GraphicControllerGui implements GraphicController {
             return;
         }
 
-        try {
-            SeeMovieDetailsController movieDetailsAppController = new SeeMovieDetailsController();
-            MovieBean movieDetailsBean = movieDetailsAppController.seeMovieDetails(movieId);
-
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(screenPaths.get("show")));
-            Parent root = loader.load();
-            NavigableController controller = loader.getController();
-
-            if (controller == null) {
-                LOGGER.log(Level.SEVERE, "FXMLLoader did not provide a controller for show.fxml");
-                throw new IOException("Controller not found for FXML: show");
-            }
-
-            controller.setGraphicController(this);
-
-            if (controller instanceof NeedsSessionUser needsSessionController) {
-                needsSessionController.setSessionUserProperty(SessionManager.getInstance().currentUserBeanProperty());
-            }
-
-            if (controller instanceof ShowController showController) {
-                showController.setItemDetails(movieId, movieDetailsBean);
-                LOGGER.log(Level.INFO, "Navigated to show screen for movie ID: {0}, Title: {1}",
-                        new Object[]{movieId, movieDetailsBean != null ? movieDetailsBean.getTitle() : "N/A"});
-            } else {
-                LOGGER.log(Level.WARNING, "Show screen controller is not an instance of ShowController. Movie details might not be displayed.");
-                showAlert(Alert.AlertType.WARNING, "Display Error", "Cannot display movie details. Controller type mismatch.");
-            }
-
-            Scene scene = primaryStage.getScene();
-            if (scene == null) {
-                scene = new Scene(root);
-                primaryStage.setScene(scene);
-            } else {
-                scene.setRoot(root);
-            }
-            primaryStage.show();
-
-            // Always treat navigateToShowMovieDetails as a forward navigation (not from back)
-            // This ensures history is correctly managed via the setScreen method's history logic.
-            // The previous history management code here is now redundant.
-            setScreen("show", new MovieDetailsData(movieId, movieDetailsBean), false); // Call the new setScreen to manage history
-
-        } catch (ApiException e) {
-            showAlert(Alert.AlertType.ERROR, "Movie Details Error", "Could not retrieve movie details from API: " + e.getMessage());
-            LOGGER.log(Level.SEVERE, e, () -> "Failed to get movie details from API for ID: " + movieId);
-        } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "Navigation Error", "Could not load show screen.\n" + e.getMessage());
-            LOGGER.log(Level.SEVERE, e, () -> "Failed to load FXML for show screen.");
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred during show screen transition: " + e.getMessage());
-            LOGGER.log(Level.SEVERE, e, () -> "An unexpected error occurred during show screen transition to show screen.");
-        }
+        GuiTaskRunner.getInstance().run("movie details " + movieId,
+                () -> new SeeMovieDetailsController().seeMovieDetails(movieId),
+                movieDetailsBean -> {
+                    LOGGER.log(Level.INFO, "Navigating to show screen for movie ID: {0}, Title: {1}",
+                            new Object[]{movieId, movieDetailsBean != null ? movieDetailsBean.getTitle() : "N/A"});
+                    setScreen("show", new MovieDetailsData(movieId, movieDetailsBean), false);
+                },
+                error -> {
+                    if (error instanceof ApiException) {
+                        showAlert(Alert.AlertType.ERROR, "Movie Details Error", "Could not retrieve movie details from API: " + error.getMessage());
+                        LOGGER.log(Level.SEVERE, error, () -> "Failed to get movie details from API for ID: " + movieId);
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred during show screen transition: " + error.getMessage());
+                        LOGGER.log(Level.SEVERE, error, () -> "An unexpected error occurred during show screen transition to show screen.");
+                    }
+                });
     }
 
 
@@ -421,10 +402,10 @@ public class GraphicControllerGui implements GraphicController {
     public interface HasSearchResults {
         /**
          * Sets the search results and the original search query for this controller to display.
-         * @param results A list of MovieBean objects representing the search results.
+         * @param firstPage The first page of results, with the totals needed to page through the rest.
          * @param searchQuery The original query string used for the search.
          */
-        void setSearchResults(List<MovieBean> results, String searchQuery);
+        void setSearchResults(SearchMovieController.SearchResultPage firstPage, String searchQuery);
     }
 
     /**
@@ -0,0 +1,107 @@
+package ispw.project.movietime.controller.graphic.gui;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs application-controller calls off the JavaFX application thread. Work executes on a virtual thread and
+ * its outcome is handed back on the FX thread; tasks belong to the current screen and are cancelled when the
+ * user navigates away, so a late result never lands on a screen that is no longer shown.
+ */
+public final class GuiTaskRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(GuiTaskRunner.class.getName());
+
+    private static final GuiTaskRunner INSTANCE = new GuiTaskRunner();
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("gui-task-", 0).factory());
+    private final Set<Task<?>> screenTasks = ConcurrentHashMap.newKeySet();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+
+    private GuiTaskRunner() {
+    }
+
+    public static GuiTaskRunner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs {@code work} in the background. Must be called on the FX thread; {@code onSuccess} and
+     * {@code onFailure} are invoked there too, and neither is invoked once the task has been cancelled.
+     */
+    public <T> Task<T> run(String description, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(event -> {
+            if (finish(task)) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            if (finish(task)) {
+                LOGGER.log(Level.FINE, task.getException(), () -> "Background task failed: " + description);
+                onFailure.accept(task.getException());
+            }
+        });
+        task.setOnCancelled(event -> finish(task));
+
+        screenTasks.add(task);
+        busy.set(true);
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels every task started for the current screen. Called by {@link GraphicControllerGui} before a new
+     * screen is shown.
+     */
+    public void cancelScreenTasks() {
+        if (screenTasks.isEmpty()) {
+            return;
+        }
+        LOGGER.log(Level.FINE, "Cancelling {0} background task(s) of the previous screen.", screenTasks.size());
+        for (Task<?> task : screenTasks) {
+            task.cancel(true);
+        }
+        screenTasks.clear();
+        updateBusy();
+    }
+
+    /**
+     * True while at least one task of the current screen is in flight; the header binds its loading
+     * indicator to this.
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    private boolean finish(Task<?> task) {
+        boolean current = screenTasks.remove(task);
+        updateBusy();
+        return current;
+    }
+
+    private void updateBusy() {
+        if (Platform.isFxApplicationThread()) {
+            busy.set(!screenTasks.isEmpty());
+        } else {
+            Platform.runLater(() -> busy.set(!screenTasks.isEmpty()));
+        }
+    }
+}
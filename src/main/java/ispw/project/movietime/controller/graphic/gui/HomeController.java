@@ -6,8 +6,12 @@ import ispw.project.movietime.bean.UserBean;
 import ispw.project.movietime.controller.application.GetAllListsController;
 import ispw.project.movietime.controller.application.CreateListController;
 import ispw.project.movietime.controller.application.DeleteListController;
+import ispw.project.movietime.controller.application.ListTransferController;
+import ispw.project.movietime.controller.application.ListTransferController.TransferProgress;
 
 import ispw.project.movietime.exception.DaoException;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
@@ -18,8 +22,11 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 
-import java.util.List;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,6 +47,18 @@ public class HomeController implements NavigableController, GraphicControllerGui
     @FXML
     private Button createButton;
 
+    @FXML
+    private Button exportButton;
+
+    @FXML
+    private Button importButton;
+
+    @FXML
+    private ProgressBar transferProgress;
+
+    @FXML
+    private Label transferStatus;
+
     private final ObservableList<ListBean> items = FXCollections.observableArrayList();
 
     private GraphicControllerGui graphicControllerGui;
@@ -54,11 +73,13 @@ public class HomeController implements NavigableController, GraphicControllerGui
     private GetAllListsController getAllListsController;
     private CreateListController createListController;
     private DeleteListController deleteListController;
+    private ListTransferController listTransferController;
 
     public HomeController() {
         this.getAllListsController = new GetAllListsController();
         this.createListController = new CreateListController();
         this.deleteListController = new DeleteListController();
+        this.listTransferController = new ListTransferController();
     }
 
     @FXML
@@ -125,18 +146,21 @@ public class HomeController implements NavigableController, GraphicControllerGui
             return;
         }
 
-        try {
-            List<ListBean> lists = getAllListsController.getAllListsForUser(currentUser);
-
-            items.setAll(lists);
-            LOGGER.log(Level.INFO, "loadUserLists: Successfully loaded {0} lists.", items.size());
-        } catch (DaoException e) {
-            LOGGER.log(Level.SEVERE, "Error loading lists: {0}", e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Error Loading Lists", e.getMessage());
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "An unexpected error occurred while loading lists: {0}", e.getMessage());
-            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while loading lists: " + e.getMessage());
-        }
+        GuiTaskRunner.getInstance().run("lists of " + currentUser.getUsername(),
+                () -> getAllListsController.getAllListsForUser(currentUser),
+                lists -> {
+                    items.setAll(lists);
+                    LOGGER.log(Level.INFO, "loadUserLists: Successfully loaded {0} lists.", items.size());
+                },
+                error -> {
+                    if (error instanceof DaoException) {
+                        LOGGER.log(Level.SEVERE, "Error loading lists: {0}", error.getMessage());
+                        showAlert(Alert.AlertType.ERROR, "Error Loading Lists", error.getMessage());
+                    } else {
+                        LOGGER.log(Level.SEVERE, "An unexpected error occurred while loading lists: {0}", error.getMessage());
+                        showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while loading lists: " + error.getMessage());
+                    }
+                });
     }
 
     @FXML
@@ -154,16 +178,129 @@ public class HomeController implements NavigableController, GraphicControllerGui
             return;
         }
 
-        try {
-            ListBean newlyCreatedList = createListController.createNewList(newItemName, currentUser);
-            textField.clear();
-            items.add(newlyCreatedList);
-            showAlert(Alert.AlertType.INFORMATION, "Success", "List '" + newlyCreatedList.getListName() + "' created.");
-        } catch (DaoException e) {
-            showAlert(Alert.AlertType.ERROR, "List Creation Failed", e.getMessage());
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "An unexpected error occurred while creating the list: {0}", e.getMessage());
-            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while creating the list: " + e.getMessage());
+        createButton.setDisable(true);
+        GuiTaskRunner.getInstance().run("create list " + newItemName,
+                () -> createListController.createNewList(newItemName, currentUser),
+                newlyCreatedList -> {
+                    createButton.setDisable(false);
+                    textField.clear();
+                    items.add(newlyCreatedList);
+                    showAlert(Alert.AlertType.INFORMATION, "Success", "List '" + newlyCreatedList.getListName() + "' created.");
+                },
+                error -> {
+                    createButton.setDisable(false);
+                    if (error instanceof DaoException) {
+                        showAlert(Alert.AlertType.ERROR, "List Creation Failed", error.getMessage());
+                    } else {
+                        LOGGER.log(Level.SEVERE, "An unexpected error occurred while creating the list: {0}", error.getMessage());
+                        showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while creating the list: " + error.getMessage());
+                    }
+                });
+    }
+
+    @FXML
+    private void handleExportButton() {
+        UserBean currentUser = sessionUserProperty.get();
+        if (currentUser == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "You must be logged in to export your lists.");
+            graphicControllerGui.setScreen(SCREEN_LOGIN);
+            return;
+        }
+
+        FileChooser chooser = transferFileChooser("Export Lists");
+        chooser.setInitialFileName(currentUser.getUsername() + "-lists.jsonl");
+        File file = chooser.showSaveDialog(listView.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        Path path = file.toPath();
+        startTransfer("Exporting");
+        GuiTaskRunner.getInstance().run("export lists to " + path,
+                () -> listTransferController.exportLists(currentUser, path, transferProgressUpdater()),
+                result -> {
+                    endTransfer();
+                    showAlert(Alert.AlertType.INFORMATION, "Export Complete", "Exported " + result.lists() + " lists with "
+                            + result.entries() + " entries to " + path + ".");
+                },
+                error -> {
+                    endTransfer();
+                    showTransferError("Export Failed", error);
+                });
+    }
+
+    @FXML
+    private void handleImportButton() {
+        UserBean currentUser = sessionUserProperty.get();
+        if (currentUser == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "You must be logged in to import lists.");
+            graphicControllerGui.setScreen(SCREEN_LOGIN);
+            return;
+        }
+
+        File file = transferFileChooser("Import Lists").showOpenDialog(listView.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        Path path = file.toPath();
+        startTransfer("Importing");
+        GuiTaskRunner.getInstance().run("import lists from " + path,
+                () -> listTransferController.importLists(currentUser, path, transferProgressUpdater()),
+                result -> {
+                    endTransfer();
+                    loadUserLists(currentUser);
+                    showAlert(Alert.AlertType.INFORMATION, "Import Complete", "Imported " + result.lists() + " lists with "
+                            + result.entries() + " entries (" + result.movies() + " new movies).");
+                },
+                error -> {
+                    endTransfer();
+                    loadUserLists(currentUser);
+                    showTransferError("Import Failed", error);
+                });
+    }
+
+    private static FileChooser transferFileChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("MovieTime lists (*.jsonl)", "*.jsonl"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        return chooser;
+    }
+
+    private void startTransfer(String operation) {
+        exportButton.setDisable(true);
+        importButton.setDisable(true);
+        transferProgress.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
+        transferProgress.setVisible(true);
+        transferStatus.setText(operation + "...");
+        transferStatus.setVisible(true);
+    }
+
+    private void endTransfer() {
+        exportButton.setDisable(false);
+        importButton.setDisable(false);
+        transferProgress.setVisible(false);
+        transferStatus.setVisible(false);
+    }
+
+    /**
+     * Progress arrives on the worker thread; the bar and label are updated on the FX thread.
+     */
+    private Consumer<TransferProgress> transferProgressUpdater() {
+        return progress -> Platform.runLater(() -> {
+            transferProgress.setProgress(progress.fraction());
+            transferStatus.setText(progress.lists() + " lists, " + progress.entries() + " entries");
+        });
+    }
+
+    private void showTransferError(String title, Throwable error) {
+        if (error instanceof DaoException) {
+            showAlert(Alert.AlertType.ERROR, title, error.getMessage());
+        } else {
+            LOGGER.log(Level.SEVERE, "An unexpected error occurred during the transfer: {0}", error.getMessage());
+            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred: " + error.getMessage());
         }
     }
 
@@ -195,7 +332,7 @@ public class HomeController implements NavigableController, GraphicControllerGui
             if (empty || item == null) {
                 setGraphic(null);
             } else {
-                text.textProperty().bind(item.listNameProperty());
+                text.textProperty().bind(Bindings.concat(item.listNameProperty(), " (", item.movieCountProperty(), ")"));
                 setGraphic(hbox);
             }
         }
@@ -240,16 +377,22 @@ public class HomeController implements NavigableController, GraphicControllerGui
             confirmationAlert.setContentText("Are you sure you want to delete this list? This action cannot be undone.");
             confirmationAlert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
-                    try {
-                        deleteListController.deleteList(listToDeleteBean, currentUser);
-
-                        items.remove(listToDeleteBean);
-                        showAlert(Alert.AlertType.INFORMATION, "Success", "List '" + listToDeleteBean.getListName() + "' deleted.");
-                    } catch (DaoException e) {
-                        showAlert(Alert.AlertType.ERROR, "Deletion Failed", e.getMessage());
-                    } catch (Exception e) {
-                        showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while deleting the list: " + e.getMessage());
-                    }
+                    GuiTaskRunner.getInstance().run("delete list " + listToDeleteBean.getListName(),
+                            () -> {
+                                deleteListController.deleteList(listToDeleteBean, currentUser);
+                                return null;
+                            },
+                            ignored -> {
+                                items.remove(listToDeleteBean);
+                                showAlert(Alert.AlertType.INFORMATION, "Success", "List '" + listToDeleteBean.getListName() + "' deleted.");
+                            },
+                            error -> {
+                                if (error instanceof DaoException) {
+                                    showAlert(Alert.AlertType.ERROR, "Deletion Failed", error.getMessage());
+                                } else {
+                                    showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while deleting the list: " + error.getMessage());
+                                }
+                            });
                 }
             });
         }
@@ -0,0 +1,142 @@
+package ispw.project.movietime.controller.graphic.gui;
+
+import ispw.project.movietime.connection.TmdbImageClient;
+import ispw.project.movietime.connection.TmdbImageClient.PosterSize;
+import ispw.project.movietime.exception.ApiException;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads TMDB posters into image views without blocking the FX thread. Encoded bytes come from
+ * {@link TmdbImageClient} (and its disk cache); decoding happens on a virtual thread and decoded images are
+ * kept in a memory cache bounded by their pixel bytes. Concurrent requests for the same image share one
+ * download.
+ */
+public final class ImageLoaderService {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageLoaderService.class.getName());
+
+    private static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L * 1024 * 1024;
+    private static final String REQUEST_PROPERTY = ImageLoaderService.class.getName() + ".request";
+
+    private final TmdbImageClient imageClient;
+    private final SoftLruCache<String, Image> decodedImages;
+    private final Map<String, CompletableFuture<Image>> requestsInFlight = new ConcurrentHashMap<>();
+    private final ExecutorService decoder = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("image-decoder-", 0).factory());
+
+    public ImageLoaderService(TmdbImageClient imageClient, long memoryBudgetBytes) {
+        this.imageClient = imageClient;
+        this.decodedImages = new SoftLruCache<>(memoryBudgetBytes, ImageLoaderService::pixelBytes);
+    }
+
+    private static volatile ImageLoaderService defaultInstance;
+
+    public static ImageLoaderService getDefault() throws ApiException {
+        ImageLoaderService instance = defaultInstance;
+        if (instance == null) {
+            synchronized (ImageLoaderService.class) {
+                instance = defaultInstance;
+                if (instance == null) {
+                    instance = new ImageLoaderService(TmdbImageClient.getDefault(), DEFAULT_MEMORY_BUDGET_BYTES);
+                    defaultInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static long pixelBytes(Image image) {
+        return (long) (image.getWidth() * image.getHeight() * 4);
+    }
+
+    /**
+     * Loads the poster at the smallest TMDB size that covers {@code targetWidth} (in pixels).
+     */
+    public CompletableFuture<Image> load(String posterPath, double targetWidth) {
+        PosterSize size = PosterSize.forWidth(targetWidth);
+        String key = size.pathSegment() + posterPath;
+
+        Image cached = decodedImages.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Image> request = new CompletableFuture<>();
+        CompletableFuture<Image> existing = requestsInFlight.putIfAbsent(key, request);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        imageClient.fetchImage(posterPath, size)
+                .thenApplyAsync(ImageLoaderService::decode, decoder)
+                .whenComplete((image, error) -> {
+                    if (error == null) {
+                        decodedImages.put(key, image);
+                    }
+                    requestsInFlight.remove(key, request);
+                    if (error == null) {
+                        request.complete(image);
+                    } else {
+                        request.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                    }
+                });
+        return request.copy();
+    }
+
+    private static Image decode(byte[] bytes) {
+        Image image = new Image(new ByteArrayInputStream(bytes));
+        if (image.isError()) {
+            throw new ApiException("Could not decode image: " + image.getException().getMessage(), image.getException());
+        }
+        return image;
+    }
+
+    /**
+     * Shows the poster in {@code view}, sized after its fit width. Must be called on the FX thread. The view
+     * is cleared while the image loads; a view that has been given another poster in the meantime (e.g. a
+     * recycled list cell) ignores the late result.
+     */
+    public void loadInto(ImageView view, String posterPath) {
+        view.getProperties().put(REQUEST_PROPERTY, posterPath);
+        if (posterPath == null || posterPath.isEmpty()) {
+            view.setImage(null);
+            return;
+        }
+
+        double targetWidth = view.getFitWidth() > 0 ? view.getFitWidth() : PosterSize.W500.width();
+        if (view.getScene() != null && view.getScene().getWindow() != null) {
+            targetWidth *= view.getScene().getWindow().getOutputScaleX();
+        }
+
+        CompletableFuture<Image> image = load(posterPath, targetWidth);
+        if (image.isDone() && !image.isCompletedExceptionally()) {
+            view.setImage(image.join());
+            return;
+        }
+        view.setImage(null);
+        image.whenComplete((loaded, error) -> {
+            if (error != null) {
+                LOGGER.log(Level.FINE, "Poster {0} could not be loaded: {1}", new Object[]{posterPath, error.getMessage()});
+                return;
+            }
+            Platform.runLater(() -> {
+                if (posterPath.equals(view.getProperties().get(REQUEST_PROPERTY))) {
+                    view.setImage(loaded);
+                }
+            });
+        });
+    }
+}
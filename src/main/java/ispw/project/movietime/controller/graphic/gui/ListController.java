@@ -2,6 +2,7 @@ package ispw.project.movietime.controller.graphic.gui;
 
 import ispw.project.movietime.bean.ListBean;
 import ispw.project.movietime.bean.MovieBean;
+import ispw.project.movietime.exception.ApiException;
 import ispw.project.movietime.bean.UserBean;
 import ispw.project.movietime.controller.application.SeeAllElementsListController;
 import ispw.project.movietime.controller.application.DeleteMovieFromListController;
@@ -12,6 +13,8 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.geometry.Pos;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -29,6 +32,7 @@ public class ListController implements NavigableController, GraphicControllerGui
     private static final String ID_STRING_SUFFIX = " (ID: ";
     private static final String SCREEN_LOGIN = "logIn";
     private static final String SYSTEM_ERROR_TITLE = "System Error";
+    private static final double THUMBNAIL_WIDTH = 46;
 
     @FXML
     private ListView<String> listView;
@@ -101,41 +105,48 @@ public class ListController implements NavigableController, GraphicControllerGui
             return;
         }
 
-        try {
-            List<MovieBean> movieBeans = seeAllElementsListController.seeAllMoviesInList(selectedListBean.getId(), currentUserBean);
-
-            if (movieBeans == null) {
-                LOGGER.log(Level.SEVERE, "loadListItems: seeAllMoviesInList returned NULL for list ID: {0}", selectedListBean.getId());
-                showAlert(Alert.AlertType.ERROR, "Loading Error", "Movie list retrieval returned an unexpected null value.");
-                return; // Stop processing if the list itself is null
-            }
-
-            LOGGER.log(Level.INFO, "loadListItems: Received {0} movie beans from controller.", movieBeans.size());
-            if (movieBeans.isEmpty()) {
-                LOGGER.log(Level.INFO, "loadListItems: Movie list is empty. No movies to display.");
-            }
+        int listId = selectedListBean.getId();
+        String listName = selectedListBean.getListName();
+        GuiTaskRunner.getInstance().run("movies of list " + listId,
+                () -> seeAllElementsListController.seeAllMoviesInList(listId, currentUserBean),
+                this::displayListItems,
+                error -> {
+                    if (error instanceof DaoException) {
+                        LOGGER.log(Level.SEVERE, "Error loading list items for list ''{0}'': {1}", new Object[]{listName, error.getMessage()});
+                        showAlert(Alert.AlertType.ERROR, "Error Loading List Items", error.getMessage());
+                    } else {
+                        LOGGER.log(Level.SEVERE, "An unexpected error occurred while loading list items for list ''{0}'': {1}", new Object[]{listName, error.getMessage()});
+                        showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while loading list items: " + error.getMessage());
+                    }
+                });
+    }
 
-            for (MovieBean movieBean : movieBeans) {
-                String key = "Movie: " + movieBean.getTitle() + ID_STRING_SUFFIX + movieBean.getId() + ")";
-                items.add(key);
-                itemBeanMap.put(key, movieBean);
-                LOGGER.log(Level.FINE, "loadListItems: Added movie to display: {0} (ID: {1})", new Object[]{movieBean.getTitle(), movieBean.getId()});
-            }
+    private void displayListItems(List<MovieBean> movieBeans) {
+        if (movieBeans == null) {
+            LOGGER.log(Level.SEVERE, "loadListItems: seeAllMoviesInList returned NULL for list ID: {0}", selectedListBean.getId());
+            showAlert(Alert.AlertType.ERROR, "Loading Error", "Movie list retrieval returned an unexpected null value.");
+            return;
+        }
 
-            LOGGER.log(Level.INFO, "loadListItems: Finished populating ListView. Total items in list view: {0}", items.size());
+        LOGGER.log(Level.INFO, "loadListItems: Received {0} movie beans from controller.", movieBeans.size());
+        if (movieBeans.isEmpty()) {
+            LOGGER.log(Level.INFO, "loadListItems: Movie list is empty. No movies to display.");
+        }
 
-        } catch (DaoException e) {
-            LOGGER.log(Level.SEVERE, "Error loading list items for list ''{0}'': {1}", new Object[]{selectedListBean.getListName(), e.getMessage()});
-            showAlert(Alert.AlertType.ERROR, "Error Loading List Items", e.getMessage());
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "An unexpected error occurred while loading list items for list ''{0}'': {1}", new Object[]{selectedListBean.getListName(), e.getMessage()});
-            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while loading list items: " + e.getMessage());
+        for (MovieBean movieBean : movieBeans) {
+            String key = "Movie: " + movieBean.getTitle() + ID_STRING_SUFFIX + movieBean.getId() + ")";
+            items.add(key);
+            itemBeanMap.put(key, movieBean);
+            LOGGER.log(Level.FINE, "loadListItems: Added movie to display: {0} (ID: {1})", new Object[]{movieBean.getTitle(), movieBean.getId()});
         }
+
+        LOGGER.log(Level.INFO, "loadListItems: Finished populating ListView. Total items in list view: {0}", items.size());
     }
 
     private class CustomListCell extends ListCell<String> {
         private final HBox hbox;
         private final Text text;
+        private final ImageView thumbnail;
         private final Button seeButton;
         private final Button deleteButton;
         private final Region spacer;
@@ -143,12 +154,17 @@ public class ListController implements NavigableController, GraphicControllerGui
         public CustomListCell() {
             hbox = new HBox(10);
             text = new Text();
+            thumbnail = new ImageView();
+            thumbnail.setFitWidth(THUMBNAIL_WIDTH);
+            thumbnail.setFitHeight(THUMBNAIL_WIDTH * 1.5);
+            thumbnail.setPreserveRatio(true);
             seeButton = new Button("See Details");
             deleteButton = new Button("Remove");
             spacer = new Region();
 
             HBox.setHgrow(spacer, Priority.ALWAYS);
-            hbox.getChildren().addAll(text, spacer, seeButton, deleteButton);
+            hbox.setAlignment(Pos.CENTER_LEFT);
+            hbox.getChildren().addAll(thumbnail, text, spacer, seeButton, deleteButton);
 
             setupButtonActions();
         }
@@ -159,10 +175,21 @@ public class ListController implements NavigableController, GraphicControllerGui
                 setGraphic(null);
             } else {
                 text.setText(item);
+                showThumbnail(itemBeanMap.get(item));
                 setGraphic(hbox);
             }
         }
 
+        private void showThumbnail(Object itemBean) {
+            String posterPath = itemBean instanceof MovieBean movieBean ? movieBean.getPosterPath() : null;
+            try {
+                ImageLoaderService.getDefault().loadInto(thumbnail, posterPath);
+            } catch (ApiException e) {
+                LOGGER.log(Level.FINE, "Image loader unavailable: {0}", e.getMessage());
+                thumbnail.setImage(null);
+            }
+        }
+
         private void setupButtonActions() {
             seeButton.setOnAction(event -> handleSeeAction(getItem()));
             deleteButton.setOnAction(event -> handleDeleteAction(getItem()));
@@ -221,41 +248,42 @@ public class ListController implements NavigableController, GraphicControllerGui
                 return;
             }
 
-            try {
-                Object itemBean = itemBeanMap.get(itemString);
-                if (itemBean == null) {
-                    LOGGER.log(Level.WARNING, "handleDeleteAction: Item bean not found in map for string: {0}", itemString);
-                    showAlert(Alert.AlertType.ERROR, "Item Not Found", "Selected item could not be removed.");
-                    return;
-                }
-
-                boolean removed = false;
-                if (itemBean instanceof MovieBean movieBean) {
-                    removed = deleteMovieFromListController.deleteMovieFromList(
-                            selectedListBean.getId(), movieBean.getId(), currentUserBean);
-                    LOGGER.log(Level.INFO, "Attempted to remove Movie ''{0}'' from list ''{1}''. Result: {2}",
-                            new Object[]{itemString, selectedListBean.getListName(), removed ? "Success" : "Not Found/Failed"});
-                } else {
-                    LOGGER.log(Level.WARNING, "handleDeleteAction: Unsupported item type for removal: {0}", itemBean.getClass().getName());
-                    showAlert(Alert.AlertType.WARNING, "Feature Not Available", "Only movie removal is supported at this time.");
-                    return;
-                }
-
-                if (removed) {
-                    getListView().getItems().remove(itemString); // Remove from ObservableList
-                    itemBeanMap.remove(itemString); // Remove from map
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Item removed from list.");
-                } else {
-                    showAlert(Alert.AlertType.WARNING, "Removal Info", "Item was not removed. It might not be in the list, or the operation failed.");
-                }
-
-            } catch (DaoException e) {
-                LOGGER.log(Level.SEVERE, "Removal failed for item {0} from list ''{1}'': {2}", new Object[]{itemString, selectedListBean.getListName(), e.getMessage()});
-                showAlert(Alert.AlertType.ERROR, "Removal Failed", e.getMessage());
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "An unexpected error occurred during removal of item {0} from list ''{1}'': {2}", new Object[]{itemString, selectedListBean.getListName(), e.getMessage()});
-                showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred during removal: " + e.getMessage());
+            Object itemBean = itemBeanMap.get(itemString);
+            if (itemBean == null) {
+                LOGGER.log(Level.WARNING, "handleDeleteAction: Item bean not found in map for string: {0}", itemString);
+                showAlert(Alert.AlertType.ERROR, "Item Not Found", "Selected item could not be removed.");
+                return;
+            }
+            if (!(itemBean instanceof MovieBean movieBean)) {
+                LOGGER.log(Level.WARNING, "handleDeleteAction: Unsupported item type for removal: {0}", itemBean.getClass().getName());
+                showAlert(Alert.AlertType.WARNING, "Feature Not Available", "Only movie removal is supported at this time.");
+                return;
             }
+
+            int listId = selectedListBean.getId();
+            String listName = selectedListBean.getListName();
+            GuiTaskRunner.getInstance().run("remove movie " + movieBean.getId() + " from list " + listId,
+                    () -> deleteMovieFromListController.deleteMovieFromList(listId, movieBean.getId(), currentUserBean),
+                    removed -> {
+                        LOGGER.log(Level.INFO, "Attempted to remove Movie ''{0}'' from list ''{1}''. Result: {2}",
+                                new Object[]{itemString, listName, Boolean.TRUE.equals(removed) ? "Success" : "Not Found/Failed"});
+                        if (Boolean.TRUE.equals(removed)) {
+                            getListView().getItems().remove(itemString); // Remove from ObservableList
+                            itemBeanMap.remove(itemString); // Remove from map
+                            showAlert(Alert.AlertType.INFORMATION, "Success", "Item removed from list.");
+                        } else {
+                            showAlert(Alert.AlertType.WARNING, "Removal Info", "Item was not removed. It might not be in the list, or the operation failed.");
+                        }
+                    },
+                    error -> {
+                        if (error instanceof DaoException) {
+                            LOGGER.log(Level.SEVERE, "Removal failed for item {0} from list ''{1}'': {2}", new Object[]{itemString, listName, error.getMessage()});
+                            showAlert(Alert.AlertType.ERROR, "Removal Failed", error.getMessage());
+                        } else {
+                            LOGGER.log(Level.SEVERE, "An unexpected error occurred during removal of item {0} from list ''{1}'': {2}", new Object[]{itemString, listName, error.getMessage()});
+                            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred during removal: " + error.getMessage());
+                        }
+                    });
         }
     }
 
@@ -0,0 +1,121 @@
+package ispw.project.movietime.controller.graphic.gui;
+
+import ispw.project.movietime.bean.MovieBean;
+import ispw.project.movietime.controller.application.SearchMovieController;
+import ispw.project.movietime.controller.application.SearchMovieController.SearchResultPage;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Backs the search results list with TMDB pages that are fetched as the list scrolls. The list view only
+ * holds row indices; rows resolve to beans through {@link #get(int)}, which requests missing pages in the
+ * background and prefetches the next page once the user is halfway through the current one. Only the
+ * {@link #MAX_CACHED_PAGES} most recently used pages are kept; older ones are fetched again if needed, which
+ * the TMDB client usually serves from its caches.
+ * <p>
+ * Not thread-safe: used from the FX thread only.
+ */
+final class PagedSearchSource {
+
+    private static final Logger LOGGER = Logger.getLogger(PagedSearchSource.class.getName());
+
+    static final int PAGE_SIZE = 20;
+    static final int MAX_CACHED_PAGES = 10;
+    // TMDB rejects page numbers above 500
+    private static final int MAX_PAGE = 500;
+
+    private final SearchMovieController searchMovieController;
+    private final String query;
+    private final int totalPages;
+    private final int size;
+    private final Runnable onPageLoaded;
+
+    private final Map<Integer, List<MovieBean>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<MovieBean>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> pagesLoading = new HashSet<>();
+
+    PagedSearchSource(SearchMovieController searchMovieController, String query, SearchResultPage firstPage,
+                      Runnable onPageLoaded) {
+        this.searchMovieController = searchMovieController;
+        this.query = query;
+        this.totalPages = Math.min(firstPage.totalPages(), MAX_PAGE);
+        this.size = Math.min(firstPage.totalResults(), totalPages * PAGE_SIZE);
+        this.onPageLoaded = onPageLoaded;
+        pages.put(firstPage.page(), firstPage.movies());
+    }
+
+    int size() {
+        return size;
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    /**
+     * A list of the row indices {@code 0..size-1} that is computed on access rather than stored.
+     */
+    ObservableList<Integer> indices() {
+        return FXCollections.observableList(new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        });
+    }
+
+    /**
+     * Returns the movie at {@code index}, or null while its page is still being fetched.
+     */
+    MovieBean get(int index) {
+        int page = index / PAGE_SIZE + 1;
+        int offset = index % PAGE_SIZE;
+
+        List<MovieBean> movies = pages.get(page);
+        if (movies == null) {
+            requestPage(page);
+            return null;
+        }
+        if (offset >= PAGE_SIZE / 2) {
+            requestPage(page + 1);
+        }
+        return offset < movies.size() ? movies.get(offset) : null;
+    }
+
+    private void requestPage(int page) {
+        if (page > totalPages || pages.containsKey(page) || !pagesLoading.add(page)) {
+            return;
+        }
+        GuiTaskRunner.getInstance().run("search page " + page + " of " + query,
+                () -> searchMovieController.searchMoviePage(query, page),
+                result -> {
+                    pagesLoading.remove(page);
+                    pages.put(page, result.movies());
+                    onPageLoaded.run();
+                },
+                error -> {
+                    pagesLoading.remove(page);
+                    LOGGER.log(Level.WARNING, "Could not load page {0} of the results for ''{1}'': {2}",
+                            new Object[]{page, query, error.getMessage()});
+                });
+    }
+}
@@ -1,18 +1,20 @@
 package ispw.project.movietime.controller.graphic.gui;
 
 import ispw.project.movietime.bean.MovieBean;
+import ispw.project.movietime.controller.application.SearchMovieController;
+import ispw.project.movietime.controller.application.SearchMovieController.SearchResultPage;
+import ispw.project.movietime.exception.ApiException;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.geometry.Pos;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.text.Text;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,14 +24,16 @@ public class SearchController implements NavigableController, GraphicControllerG
 
     private static final Logger LOGGER = Logger.getLogger(SearchController.class.getName());
     private static final String SYSTEM_ERROR_TITLE = "System Error";
+    private static final double THUMBNAIL_WIDTH = 46;
 
-    @FXML private ListView<String> listView;
+    @FXML private ListView<Integer> listView;
     @FXML private Label searchResultsLabel;
 
-    private ObservableList<String> items = FXCollections.observableArrayList();
+    private final ObservableList<Integer> noItems = FXCollections.emptyObservableList();
     private GraphicControllerGui graphicControllerGui;
 
-    private final Map<String, MovieBean> searchResultBeanMap = new HashMap<>();
+    private final SearchMovieController searchMovieController = new SearchMovieController();
+    private PagedSearchSource searchSource;
 
     @FXML private HBox headerBar;
     @FXML private DefaultController headerBarController;
@@ -40,14 +44,15 @@ public class SearchController implements NavigableController, GraphicControllerG
 
         if (headerBarController != null) {
             headerBarController.setGraphicController(this.graphicControllerGui);
+            headerBarController.showResultsIn(this);
         } else {
             LOGGER.log(Level.SEVERE, "Error: headerBarController is null in SearchController. Cannot set GraphicController for header.");
         }
 
         SessionManager.getInstance().currentUserBeanProperty().addListener((obs, oldUser, newUser) -> {
             if (newUser == null) {
-                items.clear();
-                searchResultBeanMap.clear();
+                searchSource = null;
+                listView.setItems(noItems);
                 searchResultsLabel.setText("Please log in to perform searches.");
             }
         });
@@ -55,63 +60,87 @@ public class SearchController implements NavigableController, GraphicControllerG
 
     @FXML
     private void initialize() {
-        listView.setItems(items);
+        listView.setItems(noItems);
         listView.setCellFactory(param -> new CustomListCell());
 
         searchResultsLabel.setText("Enter a search query in the search bar.");
     }
 
     @Override
-    public void setSearchResults(List<MovieBean> results, String searchQuery) {
-        LOGGER.log(Level.INFO, "setSearchResults called. Results size: {0}, Query: {1}",
-                new Object[]{results != null ? results.size() : "null", searchQuery});
+    public void setSearchResults(SearchResultPage firstPage, String searchQuery) {
+        LOGGER.log(Level.INFO, "setSearchResults called. Total results: {0}, Query: {1}",
+                new Object[]{firstPage != null ? firstPage.totalResults() : "null", searchQuery});
 
-        items.clear();
-        searchResultBeanMap.clear();
+        if (headerBarController != null) {
+            headerBarController.showQuery(searchQuery);
+        }
 
-        if (results == null || results.isEmpty()) {
-            items.add("No results found for '" + searchQuery + "'.");
+        if (firstPage == null || firstPage.movies().isEmpty()) {
+            searchSource = null;
+            listView.setItems(noItems);
+            listView.setPlaceholder(new Label("No results found for '" + searchQuery + "'."));
             searchResultsLabel.setText("No search results found for '" + searchQuery + "'.");
             return;
         }
 
-        for (MovieBean movieBean : results) {
-            String itemString = "Movie: " + movieBean.getTitle();
-            String key = itemString + " (ID: " + movieBean.getId() + ")";
-            items.add(key);
-            searchResultBeanMap.put(key, movieBean);
-        }
+        searchSource = new PagedSearchSource(searchMovieController, searchQuery, firstPage, listView::refresh);
+        listView.setItems(searchSource.indices());
+        listView.scrollTo(0);
 
-        searchResultsLabel.setText("Search Results for '" + searchQuery + "' (" + results.size() + " movies)");
+        searchResultsLabel.setText("Search Results for '" + searchQuery + "' (" + searchSource.size() + " movies)");
     }
 
-    private class CustomListCell extends ListCell<String> {
+    private class CustomListCell extends ListCell<Integer> {
         private final HBox hbox;
         private final Text text;
+        private final ImageView thumbnail;
         private final Button seeButton;
         private final Region spacer;
 
         public CustomListCell() {
             hbox = new HBox(10);
             text = new Text();
+            thumbnail = new ImageView();
+            thumbnail.setFitWidth(THUMBNAIL_WIDTH);
+            thumbnail.setFitHeight(THUMBNAIL_WIDTH * 1.5);
+            thumbnail.setPreserveRatio(true);
             seeButton = new Button("See Details");
             spacer = new Region();
 
             HBox.setHgrow(spacer, Priority.ALWAYS);
-            hbox.getChildren().addAll(text, spacer, seeButton);
+            hbox.setAlignment(Pos.CENTER_LEFT);
+            hbox.getChildren().addAll(thumbnail, text, spacer, seeButton);
 
             setupButtonActions();
         }
 
         @Override
-        protected void updateItem(String item, boolean empty) {
-            super.updateItem(item, empty);
-            if (empty || item == null) {
+        protected void updateItem(Integer index, boolean empty) {
+            super.updateItem(index, empty);
+            if (empty || index == null || searchSource == null) {
                 setGraphic(null);
+                return;
+            }
+            MovieBean movieBean = searchSource.get(index);
+            if (movieBean == null) {
+                text.setText("Loading...");
+                showThumbnail(null);
+                seeButton.setVisible(false);
             } else {
-                text.setText(item);
-                setGraphic(hbox);
-                seeButton.setVisible(!item.startsWith("No results found"));
+                text.setText("Movie: " + movieBean.getTitle() + " (ID: " + movieBean.getId() + ")");
+                showThumbnail(movieBean);
+                seeButton.setVisible(true);
+            }
+            setGraphic(hbox);
+        }
+
+        private void showThumbnail(MovieBean movieBean) {
+            String posterPath = movieBean != null ? movieBean.getPosterPath() : null;
+            try {
+                ImageLoaderService.getDefault().loadInto(thumbnail, posterPath);
+            } catch (ApiException e) {
+                LOGGER.log(Level.FINE, "Image loader unavailable: {0}", e.getMessage());
+                thumbnail.setImage(null);
             }
         }
 
@@ -119,15 +148,15 @@ public class SearchController implements NavigableController, GraphicControllerG
             seeButton.setOnAction(event -> handleSeeDetailsAction(getItem()));
         }
 
-        private void handleSeeDetailsAction(String itemString) {
-            if (itemString == null || graphicControllerGui == null) {
+        private void handleSeeDetailsAction(Integer index) {
+            if (index == null || searchSource == null || graphicControllerGui == null) {
                 return;
             }
 
-            MovieBean selectedMovieBean = searchResultBeanMap.get(itemString);
+            MovieBean selectedMovieBean = searchSource.get(index);
             if (selectedMovieBean == null) {
                 showAlert(Alert.AlertType.ERROR, "Item Not Found", "Selected movie details could not be retrieved.");
-                LOGGER.log(Level.WARNING, "Attempted to retrieve details for unknown itemString: {0}", itemString);
+                LOGGER.log(Level.WARNING, "Attempted to retrieve details for a result that is not loaded: {0}", index);
                 return;
             }
 
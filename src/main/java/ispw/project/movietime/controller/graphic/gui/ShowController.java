@@ -4,6 +4,7 @@ import ispw.project.movietime.bean.ListBean;
 import ispw.project.movietime.bean.UserBean;
 import ispw.project.movietime.bean.MovieBean;
 import ispw.project.movietime.controller.application.SaveMovieToListController;
+import ispw.project.movietime.exception.ApiException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.session.SessionManager;
 
@@ -14,7 +15,6 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
@@ -129,7 +129,6 @@ public class ShowController implements NavigableController, GraphicControllerGui
         }
 
         StringBuilder detailsText = new StringBuilder();
-        String imageUrl = null;
 
         detailsText.append(TITLE_PREFIX).append(currentMovieBean.getTitle()).append("\n");
         detailsText.append("Overview: ").append(currentMovieBean.getOverview()).append("\n\n");
@@ -145,20 +144,12 @@ public class ShowController implements NavigableController, GraphicControllerGui
         detailsText.append("Production Countries: ").append(currentMovieBean.getProductionCountriesDisplay()).append("\n");
         detailsText.append("Spoken Languages: ").append(currentMovieBean.getSpokenLanguagesDisplay()).append("\n");
 
-        imageUrl = currentMovieBean.getFullPosterUrl();
-
         descriptionArea.setText(detailsText.toString());
 
-        if (imageUrl != null && !imageUrl.isEmpty() && !imageUrl.contains("default_no_poster.png")) {
-            try {
-                Image image = new Image(imageUrl);
-                photoView.setImage(image);
-            } catch (IllegalArgumentException e) {
-                String finalImageUrl = imageUrl;
-                LOGGER.log(Level.WARNING, e, () -> "Failed to load image from URL: " + finalImageUrl);
-                photoView.setImage(null);
-            }
-        } else {
+        try {
+            ImageLoaderService.getDefault().loadInto(photoView, currentMovieBean.getPosterPath());
+        } catch (ApiException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Image loader unavailable, poster not shown for movie ID: " + currentId);
             photoView.setImage(null);
         }
     }
@@ -177,43 +168,51 @@ public class ShowController implements NavigableController, GraphicControllerGui
             return;
         }
 
-        try {
-            String listName = listNameField.getText().trim();
-            if (listName.isEmpty()) {
-                showAlert(Alert.AlertType.WARNING, "Input Required", "Please enter a list name.");
-                return;
-            }
-
-            ListBean targetListBean = saveMovieToListController.findListForUserByName(currentUserBean, listName);
-
-            if (targetListBean == null) {
-                showAlert(Alert.AlertType.ERROR, "List Not Found", "List '" + listName + "' not found for current user. Please create it first.");
-                return;
-            }
-
-            boolean success = false;
-            if (currentMovieBean != null) {
-                success = saveMovieToListController.saveMovieToList(targetListBean, currentMovieBean, currentUserBean);
-            } else {
-                showAlert(Alert.AlertType.ERROR, "No Movie Selected", "Cannot add to list, no movie details are displayed.");
-                return;
-            }
-
-            if (success) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Movie added to list '" + listName + "'.");
-                listNameField.clear();
-            } else {
-                showAlert(Alert.AlertType.WARNING, "Add Failed", "Could not add movie to list. It might already be there.");
-            }
-
-        } catch (DaoException e) {
-            showAlert(Alert.AlertType.ERROR, "Error Adding to List", e.getMessage());
-            LOGGER.log(Level.WARNING, "Application error adding to list: {0}", e.getMessage());
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, e, () -> "Unexpected error in addToUserList for movie ID: " + currentId);
+        String listName = listNameField.getText().trim();
+        if (listName.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Input Required", "Please enter a list name.");
+            return;
         }
+        if (currentMovieBean == null) {
+            showAlert(Alert.AlertType.ERROR, "No Movie Selected", "Cannot add to list, no movie details are displayed.");
+            return;
+        }
+
+        MovieBean movieToSave = currentMovieBean;
+        addToListButton.setDisable(true);
+        GuiTaskRunner.getInstance().run("add movie " + currentId + " to " + listName,
+                () -> {
+                    ListBean targetListBean = saveMovieToListController.findListForUserByName(currentUserBean, listName);
+                    if (targetListBean == null) {
+                        return SaveOutcome.LIST_NOT_FOUND;
+                    }
+                    return saveMovieToListController.saveMovieToList(targetListBean, movieToSave, currentUserBean)
+                            ? SaveOutcome.SAVED : SaveOutcome.NOT_SAVED;
+                },
+                outcome -> {
+                    addToListButton.setDisable(false);
+                    switch (outcome) {
+                        case SAVED -> {
+                            showAlert(Alert.AlertType.INFORMATION, "Success", "Movie added to list '" + listName + "'.");
+                            listNameField.clear();
+                        }
+                        case LIST_NOT_FOUND -> showAlert(Alert.AlertType.ERROR, "List Not Found", "List '" + listName + "' not found for current user. Please create it first.");
+                        case NOT_SAVED -> showAlert(Alert.AlertType.WARNING, "Add Failed", "Could not add movie to list. It might already be there.");
+                    }
+                },
+                error -> {
+                    addToListButton.setDisable(false);
+                    if (error instanceof DaoException) {
+                        showAlert(Alert.AlertType.ERROR, "Error Adding to List", error.getMessage());
+                        LOGGER.log(Level.WARNING, "Application error adding to list: {0}", error.getMessage());
+                    } else {
+                        LOGGER.log(Level.SEVERE, error, () -> "Unexpected error in addToUserList for movie ID: " + currentId);
+                    }
+                });
     }
 
+    private enum SaveOutcome { SAVED, NOT_SAVED, LIST_NOT_FOUND }
+
     private void showAlert(Alert.AlertType alertType, String title, String message) {
         Alert alert = new Alert(alertType);
         alert.setTitle(title);
@@ -78,29 +78,31 @@ public class SignInController implements NavigableController {
     private void registerUserWithApplicationController() {
         SignupController signupController = new SignupController();
 
-        try {
-            String username = userBean.getUsername();
-            String password = userBean.getPassword();
-
-            String outcome = signupController.signup(username, password);
-
-            if (outcome.startsWith(REDIRECT_PREFIX)) {
-                String screenToRedirect = outcome.substring(REDIRECT_PREFIX.length());
-                graphicControllerGui.setScreen(screenToRedirect);
-                clearFields();
-            } else if (outcome.startsWith(SIGNUP_FORM_PREFIX)) {
-                String appErrorMessage = outcome.substring(SIGNUP_FORM_PREFIX.length());
-                errorMessageLabel.setText(appErrorMessage);
-                showAlert(Alert.AlertType.WARNING, "Signup Failed", appErrorMessage);
-            } else {
-                LOGGER.log(Level.SEVERE, "Unexpected outcome from SignupController: {0}", outcome);
-                showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected system error occurred during signup.");
-            }
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "An unexpected error occurred during signup process.", e);
-            errorMessageLabel.setText("An unexpected system error occurred.");
-            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred during signup: " + e.getMessage());
+        String username = userBean.getUsername();
+        String password = userBean.getPassword();
+
+        GuiTaskRunner.getInstance().run("signup " + username,
+                () -> signupController.signup(username, password),
+                this::handleSignupOutcome,
+                error -> {
+                    LOGGER.log(Level.SEVERE, "An unexpected error occurred during signup process.", error);
+                    errorMessageLabel.setText("An unexpected system error occurred.");
+                    showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred during signup: " + error.getMessage());
+                });
+    }
+
+    private void handleSignupOutcome(String outcome) {
+        if (outcome.startsWith(REDIRECT_PREFIX)) {
+            String screenToRedirect = outcome.substring(REDIRECT_PREFIX.length());
+            graphicControllerGui.setScreen(screenToRedirect);
+            clearFields();
+        } else if (outcome.startsWith(SIGNUP_FORM_PREFIX)) {
+            String appErrorMessage = outcome.substring(SIGNUP_FORM_PREFIX.length());
+            errorMessageLabel.setText(appErrorMessage);
+            showAlert(Alert.AlertType.WARNING, "Signup Failed", appErrorMessage);
+        } else {
+            LOGGER.log(Level.SEVERE, "Unexpected outcome from SignupController: {0}", outcome);
+            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected system error occurred during signup.");
         }
     }
 
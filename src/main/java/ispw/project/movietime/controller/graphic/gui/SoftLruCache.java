@@ -0,0 +1,113 @@
+package ispw.project.movietime.controller.graphic.gui;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe cache bounded by the total weight of its entries rather than their count. Entries pushed out
+ * of the least-recently-used tier are not dropped outright but kept behind soft references, so they can be
+ * revived for free until the garbage collector actually needs the memory.
+ */
+public class SoftLruCache<K, V> {
+
+    private static final class SoftEntry<K, V> extends SoftReference<V> {
+        private final K key;
+
+        private SoftEntry(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> strongEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, SoftEntry<K, V>> softEntries = new HashMap<>();
+    private final ReferenceQueue<V> clearedEntries = new ReferenceQueue<>();
+    private long weight;
+
+    public SoftLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache weight must be positive: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        purgeClearedEntries();
+        V value = strongEntries.get(key);
+        if (value != null) {
+            return value;
+        }
+        SoftEntry<K, V> softEntry = softEntries.remove(key);
+        if (softEntry == null) {
+            return null;
+        }
+        value = softEntry.get();
+        if (value != null) {
+            putStrong(key, value);
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        purgeClearedEntries();
+        softEntries.remove(key);
+        putStrong(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        V removed = strongEntries.remove(key);
+        if (removed != null) {
+            weight -= weigher.applyAsLong(removed);
+        }
+        softEntries.remove(key);
+    }
+
+    public synchronized void clear() {
+        strongEntries.clear();
+        softEntries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Total weight of the entries that are strongly held; softly held entries do not count against the cap.
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return strongEntries.size();
+    }
+
+    private void putStrong(K key, V value) {
+        V previous = strongEntries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += weigher.applyAsLong(value);
+
+        Iterator<Map.Entry<K, V>> eldest = strongEntries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<K, V> entry = eldest.next();
+            eldest.remove();
+            weight -= weigher.applyAsLong(entry.getValue());
+            softEntries.put(entry.getKey(), new SoftEntry<>(entry.getKey(), entry.getValue(), clearedEntries));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void purgeClearedEntries() {
+        SoftEntry<K, V> cleared;
+        while ((cleared = (SoftEntry<K, V>) clearedEntries.poll()) != null) {
+            softEntries.remove(cleared.key, cleared);
+        }
+    }
+}
@@ -151,34 +151,44 @@ public class StatsController implements NavigableController, GraphicControllerGu
             return;
         }
 
-        try {
-            ListStatsResult statsResult = listStatsController.getStatsForList(currentListBean, currentUser);
-
-            StringBuilder details = new StringBuilder();
-            details.append("Details for list '").append(statsResult.getListName()).append("':\n\n");
-
-            if (statsResult.getNumberOfMovies() > 0) {
-                details.append("--- Movies ---\n");
-                details.append("Total Movies: ").append(statsResult.getNumberOfMovies()).append("\n");
-                details.append("Total movie runtime: ").append(statsResult.getFormattedTotalRuntime()).append(".\n\n");
-            } else {
-                details.append("--- No Movies in this list ---\n\n");
-            }
+        statsTextArea.setText("Calculating statistics...");
+        GuiTaskRunner.getInstance().run("stats of " + currentListBean.getListName(),
+                () -> listStatsController.getStatsForList(currentListBean, currentUser),
+                this::displayStats,
+                error -> {
+                    if (error instanceof DaoException) {
+                        statsTextArea.setText("Error calculating stats: " + error.getMessage());
+                        showAlert(Alert.AlertType.ERROR, "Stats Error", "Could not calculate statistics for this list: " + error.getMessage());
+                    } else {
+                        statsTextArea.setText("An unexpected error occurred: " + error.getMessage());
+                        showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while calculating statistics: " + error.getMessage());
+                    }
+                });
+    }
 
-            details.append("Overall Total Runtime for list '").append(statsResult.getListName())
-                    .append("': ").append(statsResult.getFormattedTotalRuntime()).append(".");
+    private void displayStats(ListStatsResult statsResult) {
+        StringBuilder details = new StringBuilder();
+        details.append("Details for list '").append(statsResult.getListName()).append("':\n\n");
+
+        if (statsResult.getNumberOfMovies() > 0) {
+            details.append("--- Movies ---\n");
+            details.append("Total Movies: ").append(statsResult.getNumberOfMovies()).append("\n");
+            details.append("Total movie runtime: ").append(statsResult.getFormattedTotalRuntime()).append(".\n");
+            details.append("Average runtime: ").append(statsResult.getFormattedAverageRuntime())
+                    .append(" (shortest ").append(statsResult.getShortestRuntimeMinutes())
+                    .append(" min, longest ").append(statsResult.getLongestRuntimeMinutes()).append(" min).\n\n");
+        } else {
+            details.append("--- No Movies in this list ---\n\n");
+        }
 
-            statsTextArea.setText(details.toString());
-            LOGGER.log(Level.INFO, "Stats calculated for list ''{0}''. Overall total runtime: {1}",
-                    new Object[]{statsResult.getListName(), statsResult.getFormattedTotalRuntime()});
+        details.append("Overall Total Runtime for list '").append(statsResult.getListName())
+                .append("': ").append(statsResult.getFormattedTotalRuntime()).append(".\n");
+        details.append("Across all your lists: ").append(statsResult.getUserNumberOfMovies())
+                .append(" entries, ").append(statsResult.getFormattedUserTotalRuntime()).append(".");
 
-        } catch (DaoException e) {
-            statsTextArea.setText("Error calculating stats: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, "Stats Error", "Could not calculate statistics for this list: " + e.getMessage());
-        } catch (Exception e) {
-           statsTextArea.setText("An unexpected error occurred: " + e.getMessage());
-            showAlert(Alert.AlertType.ERROR, SYSTEM_ERROR_TITLE, "An unexpected error occurred while calculating statistics: " + e.getMessage());
-        }
+        statsTextArea.setText(details.toString());
+        LOGGER.log(Level.INFO, "Stats calculated for list ''{0}''. Overall total runtime: {1}",
+                new Object[]{statsResult.getListName(), statsResult.getFormattedTotalRuntime()});
     }
 
     private void showAlert(Alert.AlertType alertType, String title, String message) {
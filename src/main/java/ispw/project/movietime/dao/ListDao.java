@@ -3,6 +3,8 @@ package ispw.project.movietime.dao;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
+import ispw.project.movietime.model.RuntimeStats;
 import ispw.project.movietime.model.UserModel;
 
 import java.util.List;
@@ -11,9 +13,37 @@ public interface ListDao {
 
     ListModel retrieveById(int id) throws DaoException, CrudQueriesException;
 
+    /**
+     * The list row only (id, name and owner) without its movies, or {@code null} if there is no such list.
+     * Use this for existence and ownership checks; load the movies through {@link ListMovie} where they are shown.
+     */
+    ListModel retrieveListRowById(int id) throws DaoException, CrudQueriesException;
+
     void saveList(ListModel list, UserModel user) throws DaoException;
 
     void deleteList(ListModel list) throws DaoException, CrudQueriesException;
 
     List<ListModel> retrieveAllListsOfUsername(String username) throws DaoException, CrudQueriesException;
+
+    /**
+     * The user's lists with their movie counts only, for overviews that do not need the movies.
+     */
+    List<ListSummary> retrieveListSummariesOfUsername(String username) throws DaoException, CrudQueriesException;
+
+    /**
+     * Returns every list of every user, without loading their movies.
+     */
+    List<ListModel> retrieveAllLists() throws DaoException, CrudQueriesException;
+
+    /**
+     * Up to {@code limit} lists of every user with an id greater than {@code afterId}, in id order and without
+     * their movies. Start from {@link Page#FIRST}.
+     */
+    Page<ListModel> retrieveListsPage(int afterId, int limit) throws DaoException, CrudQueriesException;
+
+    /**
+     * Runtime aggregates over the entries of all the user's lists, computed by the backend without loading
+     * the movies.
+     */
+    RuntimeStats getRuntimeStatsOfUser(String username) throws DaoException, CrudQueriesException;
 }
@@ -5,15 +5,57 @@ import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ListMovie {
     void addMovieToList(ListModel list, MovieModel movie) throws DaoException, CrudQueriesException;
 
+    /**
+     * Adds all movies to the list in one operation. Movies already in the list are skipped rather than
+     * reported as errors.
+     *
+     * @return the number of movies that were added
+     */
+    int addMoviesToList(ListModel list, Collection<MovieModel> movies) throws DaoException, CrudQueriesException;
+
+    /**
+     * Stores the movie if it is not stored yet and links it to the list, as one atomic step. A movie that is
+     * already stored keeps its stored details.
+     *
+     * @return {@code true} if the link is new, {@code false} if the list already held the movie
+     */
+    boolean ensureMovieInList(ListModel list, MovieModel movie) throws DaoException, CrudQueriesException;
+
     void removeMovieFromList(ListModel list, MovieModel movie) throws DaoException, CrudQueriesException;
 
+    /**
+     * Whether the list holds the movie, answered by the backend without loading the list's movies.
+     */
+    boolean containsMovie(ListModel list, int movieId) throws DaoException, CrudQueriesException;
+
     List<MovieModel> getAllMoviesInList(ListModel list) throws DaoException, CrudQueriesException;
 
+    /**
+     * Same movies as {@link #getAllMoviesInList}, as the persisted id, runtime and title only. Prefer this
+     * wherever the full {@link MovieModel} is not shown.
+     */
+    List<MovieSummary> getMovieSummariesInList(ListModel list) throws DaoException, CrudQueriesException;
+
+    /**
+     * Up to {@code limit} movies of the list with an id greater than {@code afterMovieId}, in id order. Start
+     * from {@link Page#FIRST}; use this instead of {@link #getMovieSummariesInList} to walk or show a long list
+     * one page at a time.
+     */
+    Page<MovieSummary> getMovieSummariesPage(ListModel list, int afterMovieId, int limit) throws DaoException, CrudQueriesException;
+
     void removeAllMoviesFromList(ListModel list) throws DaoException, CrudQueriesException;
+
+    /**
+     * Runtime aggregates of the list, computed by the backend without loading the movies.
+     */
+    RuntimeStats getRuntimeStats(ListModel list) throws DaoException, CrudQueriesException;
 }
\ No newline at end of file
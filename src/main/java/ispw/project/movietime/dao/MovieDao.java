@@ -4,6 +4,7 @@ import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.model.MovieModel;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MovieDao {
@@ -12,5 +13,19 @@ public interface MovieDao {
 
     void saveMovie(MovieModel movie) throws DaoException, CrudQueriesException;
 
+    /**
+     * Saves all movies in one operation. Movies whose id is already stored are skipped rather than
+     * reported as errors.
+     *
+     * @return the number of movies that were saved
+     */
+    int saveMovies(Collection<MovieModel> movies) throws DaoException, CrudQueriesException;
+
     List<MovieModel> retrieveAllMovies() throws DaoException, CrudQueriesException;
+
+    /**
+     * Up to {@code limit} movies with an id greater than {@code afterId}, in id order. Start from
+     * {@link Page#FIRST}; {@link Page#forEachPage} walks every movie one page at a time.
+     */
+    Page<MovieModel> retrieveMoviesPage(int afterId, int limit) throws DaoException, CrudQueriesException;
 }
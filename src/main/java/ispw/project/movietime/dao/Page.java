@@ -0,0 +1,64 @@
+package ispw.project.movietime.dao;
+
+import ispw.project.movietime.exception.CrudQueriesException;
+import ispw.project.movietime.exception.DaoException;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of a keyset-paginated read: rows in ascending id order, all with an id greater than the cursor the
+ * page was read after. Pass {@link #nextAfterId()} to read the following page. Unlike an offset, the cursor
+ * stays correct while rows are inserted or deleted, and every page costs the same however deep it is.
+ */
+public record Page<T>(List<T> items, int nextAfterId, boolean hasMore) {
+
+    /**
+     * The cursor before every id, to read the first page.
+     */
+    public static final int FIRST = Integer.MIN_VALUE;
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        Page<T> read(int afterId, int limit) throws DaoException, CrudQueriesException;
+    }
+
+    @FunctionalInterface
+    public interface Visitor<T> {
+        void visit(List<T> items) throws DaoException, CrudQueriesException;
+    }
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows read in id order after {@code afterId}; the extra row is
+     * only read to tell whether another page follows.
+     */
+    public static <T> Page<T> of(List<T> rows, int limit, int afterId, ToIntFunction<T> idOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? List.copyOf(rows.subList(0, limit)) : List.copyOf(rows);
+        int nextAfterId = items.isEmpty() ? afterId : idOf.applyAsInt(items.get(items.size() - 1));
+        return new Page<>(items, nextAfterId, hasMore);
+    }
+
+    /**
+     * Reads every page in id order and hands each to {@code visitor}; only one page is held at a time.
+     *
+     * @return the number of rows visited
+     */
+    public static <T> long forEachPage(Reader<T> reader, int pageSize, Visitor<T> visitor) throws DaoException, CrudQueriesException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        long visited = 0;
+        int afterId = FIRST;
+        Page<T> page;
+        do {
+            page = reader.read(afterId, pageSize);
+            if (!page.items().isEmpty()) {
+                visitor.visit(page.items());
+                visited += page.items().size();
+            }
+            afterId = page.nextAfterId();
+        } while (page.hasMore());
+        return visited;
+    }
+}
@@ -0,0 +1,42 @@
+package ispw.project.movietime.dao;
+
+import ispw.project.movietime.exception.DaoException;
+
+/**
+ * A group of DAO calls that succeed or fail together. Open one per application operation, make the DAO calls
+ * on the same thread, then {@link #commit()}; closing without committing discards the work:
+ * <pre>
+ * try (UnitOfWork unitOfWork = provider.beginUnitOfWork()) {
+ *     ...
+ *     unitOfWork.commit();
+ * }
+ * </pre>
+ * In the JDBC backend every DAO call inside the unit shares one connection and one transaction. A unit opened
+ * while another one is open on the same thread joins it, and only the outermost commit ends the transaction.
+ * The CSV and in-memory backends apply each call immediately and use {@link #AUTO_COMMIT}.
+ */
+public interface UnitOfWork extends AutoCloseable {
+
+    /**
+     * A unit whose calls are already applied one by one; commit and close do nothing.
+     */
+    UnitOfWork AUTO_COMMIT = new UnitOfWork() {
+        @Override
+        public void commit() {
+            //Every call is applied immediately
+        }
+
+        @Override
+        public void close() {
+            //Nothing to release
+        }
+    };
+
+    void commit() throws DaoException;
+
+    /**
+     * Ends the unit, rolling it back if it was not committed.
+     */
+    @Override
+    void close() throws DaoException;
+}
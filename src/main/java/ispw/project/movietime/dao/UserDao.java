@@ -4,9 +4,13 @@ import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.model.UserModel;
 
+import java.util.List;
+
 public interface UserDao {
 
     UserModel retrieveByUsername(String username) throws DaoException, CrudQueriesException;
 
     void saveUser(UserModel user) throws DaoException, CrudQueriesException;
+
+    List<UserModel> retrieveAllUsers() throws DaoException, CrudQueriesException;
 }
@@ -0,0 +1,199 @@
+package ispw.project.movietime.dao.csv;
+
+import ispw.project.movietime.dao.index.ListMovieIndex;
+import ispw.project.movietime.dao.index.RuntimeHistogram;
+import ispw.project.movietime.exception.CsvException;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared in-memory view of the four CSV files used by the CSV DAOs. Movies are held as {@link MovieSummary}
+ * rows, so list reads hand out the stored rows themselves. Each file is read once and indexed by
+ * its primary key (movie id, list id, username, list/movie pair); lists are also indexed by username, and
+ * list-movie pairs are mirrored into a {@link ListMovieIndex} for lookups by list or by movie and into a
+ * {@link RuntimeHistogram} per list for runtime statistics.
+ */
+public class CsvStorageEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(CsvStorageEngine.class.getName());
+
+    record ListRow(int id, String name, String username) {
+    }
+
+    record UserRow(String username, String password) {
+    }
+
+    record ListMovieKey(int listId, int movieId) {
+    }
+
+    private final CsvTable<Integer, MovieSummary> movies;
+    private final CsvTable<Integer, ListRow> lists;
+    private final CsvTable<String, UserRow> users;
+    private final CsvTable<ListMovieKey, ListMovieKey> listMovies;
+
+    private final CsvTable<Integer, ListRow>.Index<String> listsByUsername;
+    private final ListMovieIndex listMovieIndex = new ListMovieIndex();
+    private final ConcurrentHashMap<Integer, RuntimeHistogram> runtimesByList = new ConcurrentHashMap<>();
+
+    private final AtomicInteger listIdSequence;
+
+    public CsvStorageEngine(Path movieFile, Path listFile, Path userFile, Path listMovieFile) {
+        this.movies = new CsvTable<>(movieFile, 3,
+                row -> new MovieSummary(Integer.parseInt(row[0]), Integer.parseInt(row[1]), row[2]),
+                movie -> new String[]{String.valueOf(movie.id()), String.valueOf(movie.runtime()), movie.title()},
+                MovieSummary::id);
+        this.lists = new CsvTable<>(listFile, 3,
+                row -> new ListRow(Integer.parseInt(row[0]), row[1], row[2]),
+                list -> new String[]{String.valueOf(list.id()), list.name(), list.username()},
+                ListRow::id);
+        this.users = new CsvTable<>(userFile, 2,
+                row -> new UserRow(row[0], row[1]),
+                user -> new String[]{user.username(), user.password()},
+                UserRow::username);
+        this.listMovies = new CsvTable<>(listMovieFile, 2,
+                row -> new ListMovieKey(Integer.parseInt(row[0]), Integer.parseInt(row[1])),
+                pair -> new String[]{String.valueOf(pair.listId()), String.valueOf(pair.movieId())},
+                pair -> pair);
+
+        this.listsByUsername = lists.addIndex(ListRow::username);
+        listMovies.addListener(new CsvTable.RowListener<>() {
+            @Override
+            public void added(Collection<ListMovieKey> pairs) {
+                groupByList(pairs).forEach(listMovieIndex::addAll);
+                for (ListMovieKey pair : pairs) {
+                    runtimesByList.computeIfAbsent(pair.listId(), listId -> new RuntimeHistogram()).add(runtimeOf(pair.movieId()));
+                }
+            }
+
+            @Override
+            public void removed(Collection<ListMovieKey> pairs) {
+                for (ListMovieKey pair : pairs) {
+                    listMovieIndex.remove(pair.listId(), pair.movieId());
+                    runtimesByList.computeIfPresent(pair.listId(), (listId, histogram) -> {
+                        histogram.remove(runtimeOf(pair.movieId()));
+                        return histogram.isEmpty() ? null : histogram;
+                    });
+                }
+            }
+        });
+
+        int maxListId = 0;
+        for (ListRow list : lists.values()) {
+            maxListId = Math.max(maxListId, list.id());
+        }
+        this.listIdSequence = new AtomicInteger(maxListId);
+    }
+
+    private static class DefaultHolder {
+        private static final CsvStorageEngine INSTANCE = createDefault();
+    }
+
+    public static CsvStorageEngine getDefault() throws CsvException {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static CsvStorageEngine createDefault() {
+        Properties properties = new Properties();
+        try (InputStream input = CsvStorageEngine.class.getClassLoader().getResourceAsStream("csv.properties")) {
+            if (input != null) {
+                properties.load(input);
+            } else {
+                LOGGER.log(Level.WARNING, "csv.properties file not found. Using default CSV filenames.");
+            }
+        } catch (IOException e) {
+            throw new CsvException("Initialization failed: Error loading csv.properties.", e);
+        }
+        return new CsvStorageEngine(
+                Paths.get(properties.getProperty("FILE_MOVIE", "movie.csv").trim()),
+                Paths.get(properties.getProperty("FILE_LIST", "list.csv").trim()),
+                Paths.get(properties.getProperty("FILE_USER", "user.csv").trim()),
+                Paths.get(properties.getProperty("FILE_LIST_MOVIE", "listmovie.csv").trim()));
+    }
+
+    CsvTable<Integer, MovieSummary> movies() {
+        return movies;
+    }
+
+    CsvTable<Integer, ListRow> lists() {
+        return lists;
+    }
+
+    CsvTable<String, UserRow> users() {
+        return users;
+    }
+
+    CsvTable<ListMovieKey, ListMovieKey> listMovies() {
+        return listMovies;
+    }
+
+    CsvTable<Integer, ListRow>.Index<String> listsByUsername() {
+        return listsByUsername;
+    }
+
+    /**
+     * The list/movie pairs of {@link #listMovies()}; read-only for callers, it follows the table.
+     */
+    ListMovieIndex listMovieIndex() {
+        return listMovieIndex;
+    }
+
+    /**
+     * Runtime aggregates of a list, maintained as its pairs are added and removed. A pair whose movie row was
+     * missing when it was added counts with runtime 0.
+     */
+    RuntimeStats runtimeStats(int listId) {
+        RuntimeHistogram histogram = runtimesByList.get(listId);
+        return histogram == null ? RuntimeStats.EMPTY : histogram.snapshot();
+    }
+
+    private int runtimeOf(int movieId) {
+        MovieSummary movie = movies.get(movieId);
+        return movie == null ? 0 : movie.runtime();
+    }
+
+    private static Map<Integer, int[]> groupByList(Collection<ListMovieKey> pairs) {
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (ListMovieKey pair : pairs) {
+            sizes.merge(pair.listId(), 1, Integer::sum);
+        }
+        Map<Integer, int[]> movieIds = new HashMap<>();
+        Map<Integer, Integer> filled = new HashMap<>();
+        for (ListMovieKey pair : pairs) {
+            int[] ids = movieIds.computeIfAbsent(pair.listId(), listId -> new int[sizes.get(listId)]);
+            ids[filled.merge(pair.listId(), 1, Integer::sum) - 1] = pair.movieId();
+        }
+        return movieIds;
+    }
+
+    /**
+     * Rewrites every file without its tombstones. Compaction also runs on its own in the background once
+     * a file is mostly dead lines; this forces it, e.g. before copying the files elsewhere.
+     */
+    public void compact() throws CsvException {
+        movies.compact();
+        lists.compact();
+        users.compact();
+        listMovies.compact();
+    }
+
+    int nextListId() {
+        return listIdSequence.incrementAndGet();
+    }
+
+    void reserveListId(int id) {
+        listIdSequence.accumulateAndGet(id, Math::max);
+    }
+}
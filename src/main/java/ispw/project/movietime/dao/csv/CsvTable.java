@@ -0,0 +1,501 @@
+package ispw.project.movietime.dao.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import ispw.project.movietime.exception.CsvException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A CSV file loaded once into a primary-key hash index. Reads are answered from memory and the file is
+ * only ever appended to: inserts append the row, deletes append a tombstone row (the deleted row prefixed
+ * with {@link #TOMBSTONE}). Loading replays the file in order, so tombstones cancel earlier rows. Once
+ * dead lines make up more than {@link #COMPACTION_RATIO} of the file it is rewritten in the background.
+ */
+final class CsvTable<K, V> {
+
+    private static final Logger LOGGER = Logger.getLogger(CsvTable.class.getName());
+
+    static final String TOMBSTONE = "#deleted";
+    private static final double COMPACTION_RATIO = 0.5;
+    private static final int COMPACTION_MIN_LINES = 64;
+
+    private static final ExecutorService COMPACTION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "csv-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path file;
+    private final int minColumns;
+    private final Function<String[], V> decoder;
+    private final Function<V, String[]> encoder;
+    private final Function<V, K> keyOf;
+
+    private final Map<K, V> rows = new LinkedHashMap<>();
+    private final List<Index<?>> indexes = new ArrayList<>();
+    private final List<RowListener<V>> listeners = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int fileLines;
+    private boolean compactionScheduled;
+    private volatile SortedKeys<K> sortedKeys;
+
+    CsvTable(Path file, int minColumns, Function<String[], V> decoder, Function<V, String[]> encoder, Function<V, K> keyOf) {
+        this.file = file;
+        this.minColumns = minColumns;
+        this.decoder = decoder;
+        this.encoder = encoder;
+        this.keyOf = keyOf;
+        load();
+    }
+
+    private void load() {
+        Path tempPath = tempPath();
+        try {
+            if (Files.deleteIfExists(tempPath)) {
+                LOGGER.log(Level.WARNING, "Discarded unfinished compaction file {0}; {1} is intact.", new Object[]{tempPath, file});
+            }
+            if (!Files.exists(file)) {
+                Files.createFile(file);
+                LOGGER.log(Level.INFO, "Created new CSV file: {0}", file);
+            }
+            terminateLastLine();
+        } catch (IOException e) {
+            throw new CsvException("Initialization failed: Could not prepare CSV file " + file + ".", e);
+        }
+
+        int tombstones = 0;
+        try (CSVReader csvReader = new CSVReader(Files.newBufferedReader(file))) {
+            String[] recordRow;
+            while ((recordRow = csvReader.readNext()) != null) {
+                fileLines++;
+                if (isTombstone(recordRow)) {
+                    V value = decode(Arrays.copyOfRange(recordRow, 1, recordRow.length));
+                    if (value != null) {
+                        rows.remove(keyOf.apply(value));
+                        tombstones++;
+                    }
+                    continue;
+                }
+                V value = decode(recordRow);
+                if (value != null) {
+                    rows.put(keyOf.apply(value), value);
+                }
+            }
+        } catch (IOException | CsvValidationException e) {
+            throw new CsvException("Initialization failed: Could not load CSV file " + file + ".", e);
+        }
+        LOGGER.log(Level.INFO, "Loaded {0} records from {1} ({2} tombstones replayed).", new Object[]{rows.size(), file, tombstones});
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * A crash in the middle of an append can leave the last line without a line break; terminate it so
+     * the next append starts on its own line instead of being glued onto the partial row.
+     */
+    private void terminateLastLine() throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size == 0) {
+                return;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(size - 1).read(last);
+            if (last.get(0) != '\n') {
+                channel.position(size).write(ByteBuffer.wrap(System.lineSeparator().getBytes(StandardCharsets.UTF_8)));
+                LOGGER.log(Level.WARNING, "Terminated a partially written last line in {0}.", file);
+            }
+        }
+    }
+
+    private boolean isTombstone(String[] recordRow) {
+        return recordRow.length > minColumns && TOMBSTONE.equals(recordRow[0]);
+    }
+
+    private V decode(String[] recordRow) {
+        if (recordRow.length < minColumns) {
+            LOGGER.log(Level.WARNING, "Skipping malformed record in {0}: not enough columns. Record: {1}",
+                    new Object[]{file, Arrays.toString(recordRow)});
+            return null;
+        }
+        try {
+            return decoder.apply(recordRow);
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Skipping malformed record in {0} due to invalid number format. Record: {1}, Error: {2}",
+                    new Object[]{file, Arrays.toString(recordRow), e.getMessage()});
+            return null;
+        }
+    }
+
+    <G> Index<G> addIndex(Function<V, G> groupOf) {
+        lock.writeLock().lock();
+        try {
+            Index<G> index = new Index<>(groupOf);
+            rows.forEach(index::add);
+            indexes.add(index);
+            return index;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a listener for structures kept outside the table, replaying the current rows to it first.
+     */
+    void addListener(RowListener<V> listener) {
+        lock.writeLock().lock();
+        try {
+            listener.added(new ArrayList<>(rows.values()));
+            listeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    V get(K key) {
+        lock.readLock().lock();
+        try {
+            return rows.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean containsKey(K key) {
+        lock.readLock().lock();
+        try {
+            return rows.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves a batch of keys under a single read lock, preserving the order of {@code keys}.
+     * Keys without a row are left out of the result.
+     */
+    Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> resolved = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (K key : keys) {
+                V value = rows.get(key);
+                if (value != null) {
+                    resolved.put(key, value);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resolved;
+    }
+
+    List<V> values() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(rows.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} rows whose key sorts after {@code after}, in key order. The sorted keys are built on
+     * first use and kept until the next write, so walking an unchanged table page by page sorts it only once.
+     */
+    List<V> valuesAfter(K after, int limit, Comparator<? super K> order) {
+        lock.readLock().lock();
+        try {
+            SortedKeys<K> sorted = sortedKeys;
+            if (sorted == null || sorted.order() != order) {
+                List<K> keys = new ArrayList<>(rows.keySet());
+                keys.sort(order);
+                sorted = new SortedKeys<>(order, keys);
+                sortedKeys = sorted;
+            }
+
+            List<K> keys = sorted.keys();
+            int position = Collections.binarySearch(keys, after, order);
+            int from = position >= 0 ? position + 1 : -position - 1;
+            int to = Math.min(keys.size(), from + limit);
+            List<V> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(rows.get(keys.get(i)));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the value to the file and indexes it.
+     *
+     * @return {@code false} if a row with the same key already exists; nothing is written in that case
+     */
+    boolean insert(V value) {
+        return insertAll(Collections.singletonList(value)) > 0;
+    }
+
+    /**
+     * Appends all values whose key is not present yet in one write and indexes them. Values repeating a key
+     * already in the table, or earlier in {@code values}, are skipped.
+     *
+     * @return the number of rows that were written
+     */
+    int insertAll(Collection<V> values) {
+        lock.writeLock().lock();
+        try {
+            Map<K, V> added = new LinkedHashMap<>();
+            for (V value : values) {
+                K key = keyOf.apply(value);
+                if (!rows.containsKey(key)) {
+                    added.putIfAbsent(key, value);
+                }
+            }
+            if (added.isEmpty()) {
+                return 0;
+            }
+
+            try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(file, StandardOpenOption.APPEND))) {
+                for (V value : added.values()) {
+                    csvWriter.writeNext(encoder.apply(value));
+                }
+            } catch (IOException e) {
+                throw new CsvException("Failed to append records to " + file + ". I/O error.", e);
+            }
+
+            for (Map.Entry<K, V> entry : added.entrySet()) {
+                rows.put(entry.getKey(), entry.getValue());
+                for (Index<?> index : indexes) {
+                    index.add(entry.getKey(), entry.getValue());
+                }
+            }
+            for (RowListener<V> listener : listeners) {
+                listener.added(added.values());
+            }
+            sortedKeys = null;
+            fileLines += added.size();
+            return added.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean delete(K key) {
+        return deleteAll(Collections.singletonList(key)) > 0;
+    }
+
+    /**
+     * Removes the rows from memory and appends one tombstone per removed row.
+     *
+     * @return the number of rows that existed and were removed
+     */
+    int deleteAll(Collection<K> keys) {
+        lock.writeLock().lock();
+        try {
+            List<V> removed = new ArrayList<>();
+            for (K key : keys) {
+                V value = rows.get(key);
+                if (value != null) {
+                    removed.add(value);
+                }
+            }
+            if (removed.isEmpty()) {
+                return 0;
+            }
+
+            try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(file, StandardOpenOption.APPEND))) {
+                for (V value : removed) {
+                    csvWriter.writeNext(tombstoneOf(value));
+                }
+            } catch (IOException e) {
+                throw new CsvException("Failed to append tombstones to " + file + ". I/O error.", e);
+            }
+
+            for (V value : removed) {
+                K key = keyOf.apply(value);
+                rows.remove(key);
+                for (Index<?> index : indexes) {
+                    index.remove(key, value);
+                }
+            }
+            for (RowListener<V> listener : listeners) {
+                listener.removed(removed);
+            }
+            sortedKeys = null;
+            fileLines += removed.size();
+            scheduleCompactionIfNeeded();
+            return removed.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String[] tombstoneOf(V value) {
+        String[] columns = encoder.apply(value);
+        String[] tombstone = new String[columns.length + 1];
+        tombstone[0] = TOMBSTONE;
+        System.arraycopy(columns, 0, tombstone, 1, columns.length);
+        return tombstone;
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        int deadLines = fileLines - rows.size();
+        if (compactionScheduled || fileLines < COMPACTION_MIN_LINES || deadLines <= fileLines * COMPACTION_RATIO) {
+            return;
+        }
+        compactionScheduled = true;
+        COMPACTION_EXECUTOR.execute(() -> {
+            try {
+                compact();
+            } catch (CsvException e) {
+                LOGGER.log(Level.WARNING, e, () -> "Background compaction of " + file + " failed; tombstones remain in place.");
+            }
+        });
+    }
+
+    /**
+     * Rewrites the file with only the live rows. The new content goes to a temporary file that atomically
+     * replaces the original, so a crash at any point leaves either the old or the new file in place.
+     */
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            compactionScheduled = false;
+            if (fileLines == rows.size()) {
+                return;
+            }
+            Path tempPath = tempPath();
+            try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(tempPath))) {
+                for (V value : rows.values()) {
+                    csvWriter.writeNext(encoder.apply(value));
+                }
+            } catch (IOException e) {
+                throw new CsvException("Failed to write temporary CSV file for " + file + ". I/O error.", e);
+            }
+            try {
+                Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                moveNonAtomically(tempPath);
+            } catch (IOException e) {
+                throw new CsvException("Failed to replace original CSV file " + file + ". I/O error.", e);
+            }
+            LOGGER.log(Level.INFO, "Compacted {0}: {1} lines down to {2}.", new Object[]{file, fileLines, rows.size()});
+            fileLines = rows.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void moveNonAtomically(Path tempPath) {
+        try {
+            Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new CsvException("Failed to replace original CSV file " + file + ". I/O error.", e);
+        }
+    }
+
+    private Path tempPath() {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /**
+     * Told about every batch of rows added to or removed from the table, while the write lock is held.
+     */
+    interface RowListener<V> {
+
+        void added(Collection<V> values);
+
+        void removed(Collection<V> values);
+    }
+
+    /**
+     * A secondary index grouping the table's rows by a non-unique attribute, kept in step with the table.
+     */
+    final class Index<G> {
+
+        private final Function<V, G> groupOf;
+        private final Map<G, Map<K, V>> groups = new LinkedHashMap<>();
+
+        private Index(Function<V, G> groupOf) {
+            this.groupOf = groupOf;
+        }
+
+        private void add(K key, V value) {
+            groups.computeIfAbsent(groupOf.apply(value), g -> new LinkedHashMap<>()).put(key, value);
+        }
+
+        private void remove(K key, V value) {
+            G group = groupOf.apply(value);
+            Map<K, V> members = groups.get(group);
+            if (members != null) {
+                members.remove(key);
+                if (members.isEmpty()) {
+                    groups.remove(group);
+                }
+            }
+        }
+
+        List<V> get(G group) {
+            lock.readLock().lock();
+            try {
+                Map<K, V> members = groups.get(group);
+                return members == null ? new ArrayList<>() : new ArrayList<>(members.values());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<K> keys(G group) {
+            lock.readLock().lock();
+            try {
+                Map<K, V> members = groups.get(group);
+                return members == null ? new ArrayList<>() : new ArrayList<>(members.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private record SortedKeys<K>(Comparator<? super K> order, List<K> keys) {
+    }
+}
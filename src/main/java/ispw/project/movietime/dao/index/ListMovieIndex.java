@@ -0,0 +1,257 @@
+package ispw.project.movietime.dao.index;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * A compact, thread-safe index of list/movie associations. Each list maps to a sorted {@code int[]} of movie
+ * ids and each movie to a sorted {@code int[]} of the lists holding it, so an association costs two array
+ * slots instead of boxed keys and per-entry map nodes. Membership is a binary search, and set operations
+ * between lists are linear merges of the sorted arrays.
+ * <p>
+ * Arrays are never modified once published: writers build a new array inside
+ * {@link ConcurrentHashMap#compute} and swap it in, so readers iterate a consistent snapshot without locking.
+ * The reverse entry is updated while the list's entry is still locked, so both directions always agree.
+ */
+public final class ListMovieIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ConcurrentHashMap<Integer, int[]> moviesByList = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, int[]> listsByMovie = new ConcurrentHashMap<>();
+
+    /**
+     * @return {@code true} if the movie was not in the list yet
+     */
+    public boolean add(int listId, int movieId) {
+        return addAll(listId, new int[]{movieId}) > 0;
+    }
+
+    /**
+     * Adds the movies to the list in one copy of the list's array. Ids already present, or repeated in
+     * {@code movieIds}, are skipped.
+     *
+     * @return the number of movies added
+     */
+    public int addAll(int listId, int[] movieIds) {
+        int[] sorted = distinctSorted(movieIds);
+        int[] added = {0};
+        moviesByList.compute(listId, (k, current) -> {
+            int[] existing = current == null ? EMPTY : current;
+            int[] newIds = difference(sorted, existing);
+            if (newIds.length == 0) {
+                return current;
+            }
+            for (int movieId : newIds) {
+                listsByMovie.compute(movieId, (m, lists) -> insert(lists == null ? EMPTY : lists, listId));
+            }
+            added[0] = newIds.length;
+            return union(existing, newIds);
+        });
+        return added[0];
+    }
+
+    /**
+     * @return {@code true} if the movie was in the list
+     */
+    public boolean remove(int listId, int movieId) {
+        boolean[] removed = {false};
+        moviesByList.computeIfPresent(listId, (k, current) -> {
+            int position = Arrays.binarySearch(current, movieId);
+            if (position < 0) {
+                return current;
+            }
+            listsByMovie.computeIfPresent(movieId, (m, lists) -> nullIfEmpty(delete(lists, listId)));
+            removed[0] = true;
+            return nullIfEmpty(deleteAt(current, position));
+        });
+        return removed[0];
+    }
+
+    /**
+     * Drops every association of the list.
+     *
+     * @return the movie ids the list held, sorted
+     */
+    public int[] removeList(int listId) {
+        int[][] removed = {EMPTY};
+        moviesByList.computeIfPresent(listId, (k, current) -> {
+            for (int movieId : current) {
+                listsByMovie.computeIfPresent(movieId, (m, lists) -> nullIfEmpty(delete(lists, listId)));
+            }
+            removed[0] = current;
+            return null;
+        });
+        return removed[0];
+    }
+
+    public boolean contains(int listId, int movieId) {
+        int[] movies = moviesByList.get(listId);
+        return movies != null && Arrays.binarySearch(movies, movieId) >= 0;
+    }
+
+    /**
+     * @return the movie ids of the list in ascending order; the array is a copy the caller may keep
+     */
+    public int[] movieIds(int listId) {
+        return moviesByList.getOrDefault(listId, EMPTY).clone();
+    }
+
+    /**
+     * @return up to {@code limit} movie ids of the list greater than {@code afterId}, in ascending order
+     */
+    public int[] movieIdsAfter(int listId, int afterId, int limit) {
+        int[] movies = moviesByList.getOrDefault(listId, EMPTY);
+        int position = Arrays.binarySearch(movies, afterId);
+        int from = position >= 0 ? position + 1 : -position - 1;
+        return Arrays.copyOfRange(movies, from, from + Math.min(limit, movies.length - from));
+    }
+
+    /**
+     * @return the ids of the lists holding the movie in ascending order; the array is a copy
+     */
+    public int[] listIds(int movieId) {
+        return listsByMovie.getOrDefault(movieId, EMPTY).clone();
+    }
+
+    /**
+     * @return {@code true} if at least one list holds the movie
+     */
+    public boolean isReferenced(int movieId) {
+        return listsByMovie.containsKey(movieId);
+    }
+
+    public int size(int listId) {
+        return moviesByList.getOrDefault(listId, EMPTY).length;
+    }
+
+    /**
+     * Iterates the list's movie ids in ascending order over a snapshot, without copying it.
+     */
+    public void forEachMovie(int listId, IntConsumer action) {
+        for (int movieId : moviesByList.getOrDefault(listId, EMPTY)) {
+            action.accept(movieId);
+        }
+    }
+
+    /**
+     * @return the movies both lists hold
+     */
+    public int[] intersection(int listA, int listB) {
+        return intersect(moviesByList.getOrDefault(listA, EMPTY), moviesByList.getOrDefault(listB, EMPTY));
+    }
+
+    /**
+     * @return the movies either list holds
+     */
+    public int[] union(int listA, int listB) {
+        return union(moviesByList.getOrDefault(listA, EMPTY), moviesByList.getOrDefault(listB, EMPTY));
+    }
+
+    /**
+     * @return the movies of {@code listA} that {@code listB} does not hold
+     */
+    public int[] difference(int listA, int listB) {
+        return difference(moviesByList.getOrDefault(listA, EMPTY), moviesByList.getOrDefault(listB, EMPTY));
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[n++] = a[i++];
+        }
+        while (j < b.length) {
+            result[n++] = b[j++];
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    static int[] difference(int[] a, int[] b) {
+        int[] result = new int[a.length];
+        int j = 0;
+        int n = 0;
+        for (int value : a) {
+            while (j < b.length && b[j] < value) {
+                j++;
+            }
+            if (j == b.length || b[j] != value) {
+                result[n++] = value;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || sorted[n - 1] != sorted[i]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    private static int[] insert(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position >= 0) {
+            return sorted;
+        }
+        int insertAt = -position - 1;
+        int[] result = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    private static int[] delete(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        return position < 0 ? sorted : deleteAt(sorted, position);
+    }
+
+    private static int[] deleteAt(int[] sorted, int position) {
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        System.arraycopy(sorted, position + 1, result, position, sorted.length - position - 1);
+        return result;
+    }
+
+    private static int[] nullIfEmpty(int[] values) {
+        return values.length == 0 ? null : values;
+    }
+}
@@ -0,0 +1,56 @@
+package ispw.project.movietime.dao.index;
+
+import ispw.project.movietime.model.RuntimeStats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runtime aggregates of one list, maintained as entries come and go: a running count and total plus a
+ * runtime-to-occurrences map, so the shortest and longest runtime survive removals without rescanning the
+ * list. Updates cost O(log distinct runtimes) and {@link #snapshot()} does not depend on the list size.
+ */
+public final class RuntimeHistogram {
+
+    private final TreeMap<Integer, Integer> occurrences = new TreeMap<>();
+    private int count;
+    private long totalMinutes;
+
+    public synchronized void add(int runtime) {
+        occurrences.merge(runtime, 1, Integer::sum);
+        count++;
+        totalMinutes += runtime;
+    }
+
+    /**
+     * Removes one entry with the given runtime. An entry counted without a runtime (0) is removed instead when
+     * none with that runtime was counted, e.g. when the movie's details only arrived after it was added.
+     */
+    public synchronized void remove(int runtime) {
+        int counted = occurrences.containsKey(runtime) ? runtime : 0;
+        Integer left = occurrences.get(counted);
+        if (left == null) {
+            return;
+        }
+        if (left == 1) {
+            occurrences.remove(counted);
+        } else {
+            occurrences.put(counted, left - 1);
+        }
+        count--;
+        totalMinutes -= counted;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized RuntimeStats snapshot() {
+        if (count == 0) {
+            return RuntimeStats.EMPTY;
+        }
+        Map.Entry<Integer, Integer> shortest = occurrences.firstEntry();
+        Map.Entry<Integer, Integer> longest = occurrences.lastEntry();
+        return new RuntimeStats(count, totalMinutes, shortest.getKey(), longest.getKey());
+    }
+}
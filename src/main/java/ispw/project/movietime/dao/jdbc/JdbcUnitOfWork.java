@@ -0,0 +1,131 @@
+package ispw.project.movietime.dao.jdbc;
+
+import ispw.project.movietime.connection.SingletonDatabase;
+import ispw.project.movietime.dao.UnitOfWork;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.exception.DatabaseException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A database transaction on one pooled connection, bound to the current thread through
+ * {@link SingletonDatabase#bindConnection} so the JDBC DAOs pick it up without any change to their signatures.
+ * The DAOs still close the connection after each call; the bound handle ignores that, and the connection goes
+ * back to the pool when the outermost unit is closed.
+ */
+public final class JdbcUnitOfWork implements UnitOfWork {
+
+    private static final Logger LOGGER = Logger.getLogger(JdbcUnitOfWork.class.getName());
+    private static final ThreadLocal<JdbcUnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final JdbcUnitOfWork outer;
+    private final Connection connection;
+    private boolean committed;
+    private boolean closed;
+    private boolean rollbackOnly;
+
+    private JdbcUnitOfWork(JdbcUnitOfWork outer, Connection connection) {
+        this.outer = outer;
+        this.connection = connection;
+    }
+
+    /**
+     * Starts a transaction, or joins the one already open on this thread.
+     */
+    public static UnitOfWork begin() throws DaoException {
+        JdbcUnitOfWork current = CURRENT.get();
+        if (current != null) {
+            return new JdbcUnitOfWork(current, current.connection);
+        }
+
+        Connection connection = null;
+        try {
+            connection = SingletonDatabase.getInstance().getConnection();
+            connection.setAutoCommit(false);
+        } catch (SQLException | DatabaseException e) {
+            closeConnection(connection);
+            throw new DaoException("Could not start a database transaction: " + e.getMessage(), e);
+        }
+
+        JdbcUnitOfWork unitOfWork = new JdbcUnitOfWork(null, connection);
+        CURRENT.set(unitOfWork);
+        SingletonDatabase.getInstance().bindConnection(ignoringClose(connection));
+        return unitOfWork;
+    }
+
+    @Override
+    public void commit() throws DaoException {
+        if (closed) {
+            throw new DaoException("The unit of work has already been closed.");
+        }
+        if (outer != null) {
+            committed = true;
+            return;
+        }
+        if (rollbackOnly) {
+            throw new DaoException("The transaction was rolled back because a nested unit of work did not commit.");
+        }
+        try {
+            connection.commit();
+            committed = true;
+        } catch (SQLException e) {
+            throw new DaoException("Failed to commit the database transaction: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (outer != null) {
+            if (!committed) {
+                outer.rollbackOnly = true;
+            }
+            return;
+        }
+
+        CURRENT.remove();
+        SingletonDatabase.getInstance().unbindConnection();
+        try {
+            if (!committed) {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error rolling back the database transaction: {0}", e.getMessage());
+        } finally {
+            closeConnection(connection);
+        }
+    }
+
+    private static void closeConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error closing connection after the unit of work: {0}", e.getMessage());
+        }
+    }
+
+    private static Connection ignoringClose(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -2,17 +2,20 @@ package ispw.project.movietime.dao.jdbc;
 
 import ispw.project.movietime.connection.SingletonDatabase;
 import ispw.project.movietime.dao.ListDao;
-import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.Page;
+import ispw.project.movietime.dao.UnitOfWork;
 import ispw.project.movietime.dao.queries.CrudList;
+import ispw.project.movietime.dao.queries.CrudListMovie;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.RuntimeStats;
 import ispw.project.movietime.model.UserModel;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,12 +24,6 @@ public class ListDaoJdbc implements ListDao {
 
     private static final Logger LOGGER = Logger.getLogger(ListDaoJdbc.class.getName());
 
-    private final ListMovie listMovieDao;
-
-    public ListDaoJdbc() {
-        this.listMovieDao = new ListMovieDaoJdbc();
-    }
-
     @Override
     public ListModel retrieveById(int id) throws DaoException {
         Connection conn = null;
@@ -37,12 +34,13 @@ public class ListDaoJdbc implements ListDao {
             listModel = CrudList.getListById(conn, id);
 
             if (listModel != null) {
-                List<MovieModel> movies = listMovieDao.getAllMoviesInList(listModel);
+                // On the connection already held: borrowing a second one could exhaust the pool under load
+                List<MovieModel> movies = CrudListMovie.getMoviesFullDetailsByList(conn, listModel);
                 listModel.setMovies(movies);
             }
         } catch (CrudQueriesException e) {
             throw new DaoException("Error from database query: " + e.getMessage(), e);
-        } catch (RuntimeException | DaoException e) {
+        } catch (RuntimeException e) {
             throw new DaoException("An unexpected system error occurred during DAO operation.", e);
         } finally {
             if (conn != null) {
@@ -56,6 +54,25 @@ public class ListDaoJdbc implements ListDao {
         return listModel;
     }
 
+    @Override
+    public ListModel retrieveListRowById(int id) throws DaoException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudList.getListById(conn, id);
+        } catch (CrudQueriesException e) {
+            throw new DaoException("Error from database query: " + e.getMessage(), e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after retrieveListRowById for list ID {0}: {1}", new Object[]{id, e.getMessage()});
+                }
+            }
+        }
+    }
+
     @Override
     public void saveList(ListModel list, UserModel user) throws DaoException {
         Connection conn = null;
@@ -75,12 +92,18 @@ public class ListDaoJdbc implements ListDao {
         }
     }
 
+    /**
+     * Removes the list's movie entries and then the list in one transaction, since list_movie references
+     * the list row.
+     */
     @Override
     public void deleteList(ListModel list) throws DaoException {
         Connection conn = null;
-        try {
+        try (UnitOfWork unitOfWork = JdbcUnitOfWork.begin()) {
             conn = SingletonDatabase.getInstance().getConnection();
+            CrudListMovie.removeAllMoviesFromList(conn, list);
             CrudList.deleteList(conn, list.getId());
+            unitOfWork.commit();
         } catch (CrudQueriesException e) {
             throw new DaoException("Error from database query: " + e.getMessage(), e);
         } finally {
@@ -97,22 +120,14 @@ public class ListDaoJdbc implements ListDao {
     @Override
     public List<ListModel> retrieveAllListsOfUsername(String username) throws DaoException {
         Connection conn = null;
-        List<ListModel> lists = new ArrayList<>();
+        List<ListModel> lists;
 
         try {
             conn = SingletonDatabase.getInstance().getConnection();
-            List<ListModel> fetchedLists = CrudList.getListsByUsername(conn, username);
-
-            if (fetchedLists != null) {
-                for (ListModel listModel : fetchedLists) {
-                    List<MovieModel> movies = listMovieDao.getAllMoviesInList(listModel);
-                    listModel.setMovies(movies);
-                    lists.add(listModel);
-                }
-            }
+            lists = CrudList.getListsWithMoviesByUsername(conn, username);
         } catch (CrudQueriesException e) {
             throw new DaoException("Error from database query: " + e.getMessage(), e);
-        } catch (RuntimeException | DaoException e) {
+        } catch (RuntimeException e) {
             throw new DaoException("An unexpected system error occurred during DAO operation.", e);
         } finally {
             if (conn != null) {
@@ -125,4 +140,80 @@ public class ListDaoJdbc implements ListDao {
         }
         return lists;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<ListSummary> retrieveListSummariesOfUsername(String username) throws DaoException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudList.getListSummariesByUsername(conn, username);
+        } catch (CrudQueriesException e) {
+            throw new DaoException("Error from database query: " + e.getMessage(), e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after retrieveListSummariesOfUsername for user ''{0}'': {1}", new Object[]{username, e.getMessage()});
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<ListModel> retrieveAllLists() throws DaoException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudList.getAllLists(conn);
+        } catch (CrudQueriesException e) {
+            throw new DaoException("Error from database query: " + e.getMessage(), e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after retrieveAllLists: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Page<ListModel> retrieveListsPage(int afterId, int limit) throws DaoException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudList.getListsPage(conn, afterId, limit);
+        } catch (CrudQueriesException e) {
+            throw new DaoException("Error from database query: " + e.getMessage(), e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after retrieveListsPage: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public RuntimeStats getRuntimeStatsOfUser(String username) throws DaoException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.getRuntimeStatsOfUser(conn, username);
+        } catch (CrudQueriesException e) {
+            throw new DaoException("Error from database query: " + e.getMessage(), e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after getRuntimeStatsOfUser for user ''{0}'': {1}", new Object[]{username, e.getMessage()});
+                }
+            }
+        }
+    }
+}
@@ -2,15 +2,19 @@ package ispw.project.movietime.dao.jdbc;
 
 import ispw.project.movietime.connection.SingletonDatabase;
 import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.dao.queries.CrudListMovie;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.CsvException;
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,6 +42,47 @@ public class ListMovieDaoJdbc implements ListMovie {
         }
     }
 
+    @Override
+    public int addMoviesToList(ListModel list, Collection<MovieModel> movies) throws CsvException, CrudQueriesException {
+        if (movies.isEmpty()) {
+            return 0;
+        }
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.addMoviesToList(conn, list, movies);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in addMoviesToList.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after addMoviesToList: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean ensureMovieInList(ListModel list, MovieModel movie) throws CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.ensureMovieInList(conn, list, movie);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in ensureMovieInList.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after ensureMovieInList: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
     @Override
     public void removeMovieFromList(ListModel list, MovieModel movie) throws CsvException, CrudQueriesException {
         Connection conn = null;
@@ -57,6 +102,25 @@ public class ListMovieDaoJdbc implements ListMovie {
         }
     }
 
+    @Override
+    public boolean containsMovie(ListModel list, int movieId) throws CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.containsMovie(conn, list, movieId);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in containsMovie.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after containsMovie: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
     @Override
     public List<MovieModel> getAllMoviesInList(ListModel list) throws CsvException, CrudQueriesException {
         Connection conn = null;
@@ -82,6 +146,44 @@ public class ListMovieDaoJdbc implements ListMovie {
         return movies;
     }
 
+    @Override
+    public List<MovieSummary> getMovieSummariesInList(ListModel list) throws CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.getMovieSummariesByList(conn, list);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to retrieve movie summaries for list ID " + list.getId() + ".", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after getMovieSummariesInList: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Page<MovieSummary> getMovieSummariesPage(ListModel list, int afterMovieId, int limit) throws CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.getMovieSummariesPageByList(conn, list, afterMovieId, limit);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in getMovieSummariesPage.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after getMovieSummariesPage: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
     @Override
     public void removeAllMoviesFromList(ListModel list) throws CsvException, CrudQueriesException {
         Connection conn = null;
@@ -100,4 +202,23 @@ public class ListMovieDaoJdbc implements ListMovie {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public RuntimeStats getRuntimeStats(ListModel list) throws CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudListMovie.getRuntimeStatsOfList(conn, list.getId());
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to compute runtime statistics for list ID " + list.getId() + ".", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after getRuntimeStats: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ispw.project.movietime.dao.jdbc;
 
 import ispw.project.movietime.connection.SingletonDatabase;
 import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.dao.queries.CrudMovie;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.CsvException;
@@ -9,7 +10,7 @@ import ispw.project.movietime.model.MovieModel;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -60,18 +61,36 @@ public class MovieDaoJdbc implements MovieDao {
         }
     }
 
+    @Override
+    public int saveMovies(Collection<MovieModel> movies) throws CsvException, CrudQueriesException {
+        if (movies.isEmpty()) {
+            return 0;
+        }
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudMovie.addMovies(conn, movies);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in saveMovies.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after saveMovies: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
     @Override
     public List<MovieModel> retrieveAllMovies() throws CsvException, CrudQueriesException {
         Connection conn = null;
-        List<MovieModel> movies = null;
+        List<MovieModel> movies;
 
         try {
             conn = SingletonDatabase.getInstance().getConnection();
             movies = CrudMovie.getAllMovies(conn);
-
-            if (movies == null || movies.isEmpty()) {
-                return new ArrayList<>();
-            }
         } catch (CrudQueriesException e) {
             throw new CrudQueriesException("Failed to perform a CRUD operation in [YourSpecificMethodName].", e);
         } finally {
@@ -85,4 +104,23 @@ public class MovieDaoJdbc implements MovieDao {
         }
         return movies;
     }
+
+    @Override
+    public Page<MovieModel> retrieveMoviesPage(int afterId, int limit) throws CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudMovie.getMoviesPage(conn, afterId, limit);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in retrieveMoviesPage.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after retrieveMoviesPage: {0}", e.getMessage());
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
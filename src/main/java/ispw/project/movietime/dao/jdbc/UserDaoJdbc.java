@@ -9,6 +9,7 @@ import ispw.project.movietime.model.UserModel;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,4 +64,23 @@ public class UserDaoJdbc implements UserDao {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<UserModel> retrieveAllUsers() throws CsvException, CrudQueriesException {
+        Connection conn = null;
+        try {
+            conn = SingletonDatabase.getInstance().getConnection();
+            return CrudUser.getAllUsers(conn);
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in retrieveAllUsers.", e);
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.WARNING, "Error closing connection after retrieveAllUsers: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+}
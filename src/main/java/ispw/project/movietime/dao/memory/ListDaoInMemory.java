@@ -2,13 +2,19 @@ package ispw.project.movietime.dao.memory;
 
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
 import ispw.project.movietime.model.UserModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.RuntimeStats;
 import ispw.project.movietime.dao.ListDao;
 import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.exception.DaoException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,35 +24,49 @@ public class ListDaoInMemory implements ListDao {
 
     private static final Logger LOGGER = Logger.getLogger(ListDaoInMemory.class.getName());
 
-    private final Map<Integer, ListModel> listMap = new HashMap<>();
-    private final Map<String, Set<Integer>> userListsMap = new HashMap<>();
+    private final ConcurrentNavigableMap<Integer, ListModel> listMap = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Set<Integer>> userListsMap = new ConcurrentHashMap<>();
     private final AtomicInteger idGenerator = new AtomicInteger(0);
 
     private final ListMovie listMovieDao;
 
     public ListDaoInMemory() {
-        this.listMovieDao = new ListMovieDaoInMemory();
+        this(new ListMovieDaoInMemory());
+    }
 
+    public ListDaoInMemory(ListMovie listMovieDao) {
+        this.listMovieDao = listMovieDao;
     }
 
 
+    /**
+     * Returns a new model on every call; the stored one is never handed out, so callers cannot race on it.
+     */
     @Override
     public ListModel retrieveById(int id) throws DaoException, CrudQueriesException {
-        ListModel list = listMap.get(id);
-        if (list != null) {
-            try {
-                List<MovieModel> movies = listMovieDao.getAllMoviesInList(list);
-                list.setMovies(movies);
-                LOGGER.log(Level.INFO, "Loaded {0} movies for list ID {1}.", new Object[]{movies.size(), id});
-            } catch (DaoException e) {
-                LOGGER.log(Level.WARNING, "Failed to load movies for list ID {0} from ListMovieDaoInMemory. Error: {1}", new Object[]{id, e.getMessage()});
-            } catch (CrudQueriesException e) {
-                throw new CrudQueriesException("Failed to perform a CRUD operation in retrieveById.", e);
-            }
+        ListModel stored = listMap.get(id);
+        if (stored == null) {
+            return null;
+        }
+        ListModel list = copyOf(stored);
+        try {
+            List<MovieModel> movies = listMovieDao.getAllMoviesInList(list);
+            list.setMovies(movies);
+            LOGGER.log(Level.INFO, "Loaded {0} movies for list ID {1}.", new Object[]{movies.size(), id});
+        } catch (DaoException e) {
+            LOGGER.log(Level.WARNING, "Failed to load movies for list ID {0} from ListMovieDaoInMemory. Error: {1}", new Object[]{id, e.getMessage()});
+        } catch (CrudQueriesException e) {
+            throw new CrudQueriesException("Failed to perform a CRUD operation in retrieveById.", e);
         }
         return list;
     }
 
+    @Override
+    public ListModel retrieveListRowById(int id) {
+        ListModel stored = listMap.get(id);
+        return stored == null ? null : copyOf(stored);
+    }
+
     @Override
     public void saveList(ListModel list, UserModel user) throws DaoException {
         if (list == null || user == null || user.getUsername() == null) {
@@ -62,17 +82,21 @@ public class ListDaoInMemory implements ListDao {
             LOGGER.log(Level.INFO, "Generated new ID {0} for list ''{1}''.", new Object[]{listId, list.getName()});
         }
 
-        if (listMap.containsKey(listId)) {
-            throw new DaoException("List with ID " + listId + " already exists. This ID was either manually set to an existing ID, or ID generation failed.");
-        }
-
         if (!Objects.equals(list.getUsername(), username)) {
             LOGGER.log(Level.WARNING, "ListModel''s username ({0}) does not match UserModel''s username ({1}). Setting ListModel''s username.", new Object[]{list.getUsername(), username});
             list.setUsername(username);
         }
 
-        listMap.put(listId, list);
-        userListsMap.computeIfAbsent(username, k -> new HashSet<>()).add(listId);
+        if (listMap.putIfAbsent(listId, copyOf(list)) != null) {
+            throw new DaoException("List with ID " + listId + " already exists. This ID was either manually set to an existing ID, or ID generation failed.");
+        }
+
+        int savedId = listId;
+        userListsMap.compute(username, (k, ids) -> {
+            Set<Integer> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            target.add(savedId);
+            return target;
+        });
 
         LOGGER.log(Level.INFO, "List with ID {0} saved for user {1}.", new Object[]{listId, username});
     }
@@ -90,27 +114,25 @@ public class ListDaoInMemory implements ListDao {
             throw new IllegalArgumentException("Cannot delete list: ListModel's username is null. Ensure the ListModel is fully populated before attempting deletion.");
         }
 
-        if (!listMap.containsKey(listId)) {
+        ListModel storedList = listMap.get(listId);
+        if (storedList == null) {
             throw new DaoException("List with ID " + listId + " not found for deletion. No action taken.");
         }
 
-        ListModel storedList = listMap.get(listId);
         if (!Objects.equals(storedList.getUsername(), listOwnerUsername)) {
             LOGGER.log(Level.WARNING, "Attempt to delete list {0} by user {1}, but it''s owned by {2}. Deletion denied.",
                     new Object[]{listId, listOwnerUsername, storedList.getUsername()});
             throw new DaoException("User " + listOwnerUsername + " does not own list with ID " + listId + ". Deletion failed.");
         }
 
-        listMap.remove(listId);
-
-        Set<Integer> userLists = userListsMap.get(listOwnerUsername);
-        if (userLists != null) {
-            userLists.remove(listId);
-            if (userLists.isEmpty()) {
-                userListsMap.remove(listOwnerUsername);
-                LOGGER.log(Level.INFO, "User {0} no longer has any lists mapped, removing user entry from userListsMap.", listOwnerUsername);
-            }
+        if (!listMap.remove(listId, storedList)) {
+            throw new DaoException("List with ID " + listId + " not found for deletion. No action taken.");
         }
+
+        userListsMap.computeIfPresent(listOwnerUsername, (k, ids) -> {
+            ids.remove(listId);
+            return ids.isEmpty() ? null : ids;
+        });
         LOGGER.log(Level.INFO, "List with ID {0} deleted for user {1}.", new Object[]{listId, listOwnerUsername});
 
         try {
@@ -140,7 +162,7 @@ public class ListDaoInMemory implements ListDao {
                     continue;
                 }
 
-                processAndAddList(list, username, result);
+                processAndAddList(copyOf(list), username, result);
             }
         }
         return Collections.unmodifiableList(result);
@@ -159,4 +181,59 @@ public class ListDaoInMemory implements ListDao {
         }
         result.add(list);
     }
-}
\ No newline at end of file
+
+    private static ListModel copyOf(ListModel list) {
+        return new ListModel(list.getId(), list.getName(), list.getUsername());
+    }
+
+    @Override
+    public List<ListSummary> retrieveListSummariesOfUsername(String username) throws DaoException, CrudQueriesException {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null for retrieving lists.");
+        }
+        List<ListSummary> summaries = new ArrayList<>();
+        for (int id : userListsMap.getOrDefault(username, Collections.emptySet())) {
+            ListModel list = listMap.get(id);
+            if (list != null) {
+                summaries.add(new ListSummary(list.getId(), list.getName(), list.getUsername(), listMovieDao.getRuntimeStats(list).count()));
+            }
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<ListModel> retrieveAllLists() throws DaoException {
+        List<ListModel> lists = new ArrayList<>(listMap.size());
+        for (ListModel list : listMap.values()) {
+            lists.add(copyOf(list));
+        }
+        return lists;
+    }
+
+    @Override
+    public Page<ListModel> retrieveListsPage(int afterId, int limit) throws DaoException {
+        List<ListModel> lists = new ArrayList<>(limit + 1);
+        for (ListModel list : listMap.tailMap(afterId, false).values()) {
+            if (lists.size() > limit) {
+                break;
+            }
+            lists.add(copyOf(list));
+        }
+        return Page.of(lists, limit, afterId, ListModel::getId);
+    }
+
+    @Override
+    public RuntimeStats getRuntimeStatsOfUser(String username) throws DaoException, CrudQueriesException {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null for retrieving statistics.");
+        }
+        RuntimeStats stats = RuntimeStats.EMPTY;
+        for (int id : userListsMap.getOrDefault(username, Collections.emptySet())) {
+            ListModel list = listMap.get(id);
+            if (list != null) {
+                stats = stats.merge(listMovieDao.getRuntimeStats(list));
+            }
+        }
+        return stats;
+    }
+}
@@ -2,18 +2,48 @@ package ispw.project.movietime.dao.memory;
 
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
 import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.Page;
+import ispw.project.movietime.dao.index.ListMovieIndex;
+import ispw.project.movietime.dao.index.RuntimeHistogram;
+import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Thread-safe list/movie associations. Membership lives in a {@link ListMovieIndex} of primitive movie ids;
+ * the models themselves are kept once per movie, however many lists hold it, and dropped once no list does.
+ * Movies of a list are returned in ascending id order. Every change to a list runs inside
+ * {@code runtimesByList.compute} for that list, which keeps its {@link RuntimeHistogram} in step with its
+ * membership.
+ */
 public class ListMovieDaoInMemory implements ListMovie {
 
     private static final Logger LOGGER = Logger.getLogger(ListMovieDaoInMemory.class.getName());
 
-    private final Map<Integer, List<MovieModel>> movieByListId = new HashMap<>();
+    private final ListMovieIndex index = new ListMovieIndex();
+    private final ConcurrentHashMap<Integer, MovieModel> moviesById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, RuntimeHistogram> runtimesByList = new ConcurrentHashMap<>();
+    private final MovieDao movieDao;
+
+    public ListMovieDaoInMemory() {
+        this(null);
+    }
+
+    /**
+     * @param movieDao where {@link #ensureMovieInList} stores movies that are new, or {@code null} to keep them
+     *                 in the associations only
+     */
+    public ListMovieDaoInMemory(MovieDao movieDao) {
+        this.movieDao = movieDao;
+    }
 
     @Override
     public void addMovieToList(ListModel list, MovieModel movie) throws DaoException {
@@ -21,17 +51,68 @@ public class ListMovieDaoInMemory implements ListMovie {
             throw new IllegalArgumentException("ListModel and MovieModel cannot be null.");
         }
 
+        if (!link(list.getId(), movie)) {
+            LOGGER.log(Level.WARNING, "Movie with ID {0} already exists in list {1}.", new Object[]{movie.getId(), list.getId()});
+            throw new DaoException("Movie with ID " + movie.getId() + " already exists in list " + list.getId() + ".");
+        }
+        LOGGER.log(Level.INFO, "Movie added to list).");
+    }
+
+    @Override
+    public int addMoviesToList(ListModel list, Collection<MovieModel> movies) throws DaoException {
+        if (list == null || movies == null) {
+            throw new IllegalArgumentException("ListModel and movies cannot be null.");
+        }
+
         int listId = list.getId();
-        int movieId = movie.getId();
-        List<MovieModel> movieList = movieByListId.computeIfAbsent(listId, k -> new ArrayList<>());
+        int[] added = {0};
+        runtimesByList.compute(listId, (k, runtimes) -> {
+            RuntimeHistogram histogram = runtimes != null ? runtimes : new RuntimeHistogram();
+            Map<Integer, MovieModel> newMovies = new LinkedHashMap<>();
+            for (MovieModel movie : movies) {
+                if (!index.contains(listId, movie.getId())) {
+                    newMovies.putIfAbsent(movie.getId(), movie);
+                }
+            }
+            int[] movieIds = new int[newMovies.size()];
+            int i = 0;
+            for (Integer movieId : newMovies.keySet()) {
+                movieIds[i++] = movieId;
+            }
+            added[0] = index.addAll(listId, movieIds);
+            for (MovieModel movie : newMovies.values()) {
+                histogram.add(moviesById.computeIfAbsent(movie.getId(), id -> movie).getRuntime());
+            }
+            return histogram.isEmpty() ? null : histogram;
+        });
+        LOGGER.log(Level.INFO, "Added {0} of {1} movies to list {2}.", new Object[]{added[0], movies.size(), listId});
+        return added[0];
+    }
 
-        if (movieList.contains(movie)) {
-            LOGGER.log(Level.WARNING, "Movie with ID {0} already exists in list {1}.", new Object[]{movieId, listId});
-            throw new DaoException("Movie with ID " + movieId + " already exists in list " + listId + ".");
+    @Override
+    public boolean ensureMovieInList(ListModel list, MovieModel movie) throws DaoException, CrudQueriesException {
+        if (list == null || movie == null) {
+            throw new IllegalArgumentException("ListModel and MovieModel cannot be null.");
+        }
+        if (movieDao != null) {
+            movieDao.saveMovies(List.of(movie));
         }
 
-        movieList.add(movie);
-        LOGGER.log(Level.INFO, "Movie added to list).");
+        return link(list.getId(), movie);
+    }
+
+    private boolean link(int listId, MovieModel movie) {
+        int movieId = movie.getId();
+        boolean[] added = {false};
+        runtimesByList.compute(listId, (k, runtimes) -> {
+            RuntimeHistogram histogram = runtimes != null ? runtimes : new RuntimeHistogram();
+            if (index.add(listId, movieId)) {
+                histogram.add(moviesById.computeIfAbsent(movieId, id -> movie).getRuntime());
+                added[0] = true;
+            }
+            return histogram.isEmpty() ? null : histogram;
+        });
+        return added[0];
     }
 
     @Override
@@ -42,19 +123,30 @@ public class ListMovieDaoInMemory implements ListMovie {
 
         int listId = list.getId();
         int movieId = movie.getId();
-
-        List<MovieModel> movieList = movieByListId.get(listId);
-
-        if (movieList == null || !movieList.remove(movie)) {
+        boolean[] removed = {false};
+        runtimesByList.computeIfPresent(listId, (k, histogram) -> {
+            MovieModel stored = moviesById.get(movieId);
+            if (index.remove(listId, movieId)) {
+                histogram.remove(stored != null ? stored.getRuntime() : 0);
+                forgetIfUnreferenced(movieId);
+                removed[0] = true;
+            }
+            return histogram.isEmpty() ? null : histogram;
+        });
+
+        if (!removed[0]) {
             LOGGER.log(Level.WARNING, "Movie with ID {0} not found in list {1} for removal.", new Object[]{movieId, listId});
             throw new DaoException("Movie with ID " + movieId + " not found in list " + listId + ".");
         }
+        LOGGER.log(Level.INFO, "Movie removed from list ");
+    }
 
-        if (movieList.isEmpty()) {
-            movieByListId.remove(listId);
-            LOGGER.log(Level.INFO, "List is now empty, removed its entry from associations.");
+    @Override
+    public boolean containsMovie(ListModel list, int movieId) {
+        if (list == null) {
+            throw new IllegalArgumentException("ListModel cannot be null.");
         }
-        LOGGER.log(Level.INFO, "Movie removed from list ");
+        return index.contains(list.getId(), movieId);
     }
 
     @Override
@@ -63,12 +155,41 @@ public class ListMovieDaoInMemory implements ListMovie {
             throw new IllegalArgumentException("ListModel cannot be null.");
         }
 
-        int listId = list.getId();
+        List<MovieModel> movies = new ArrayList<>(index.size(list.getId()));
+        index.forEachMovie(list.getId(), movieId -> {
+            MovieModel movie = moviesById.get(movieId);
+            if (movie != null) {
+                movies.add(movie);
+            }
+        });
+        LOGGER.log(Level.INFO, "Retrieved movies for list");
+        return Collections.unmodifiableList(movies);
+    }
 
-        List<MovieModel> movieList = movieByListId.getOrDefault(listId, Collections.emptyList());
+    @Override
+    public List<MovieSummary> getMovieSummariesInList(ListModel list) throws DaoException {
+        List<MovieModel> movies = getAllMoviesInList(list);
+        List<MovieSummary> summaries = new ArrayList<>(movies.size());
+        for (MovieModel movie : movies) {
+            summaries.add(MovieSummary.from(movie));
+        }
+        return summaries;
+    }
 
-        LOGGER.log(Level.INFO, "Retrieved movies for list");
-        return Collections.unmodifiableList(movieList);
+    @Override
+    public Page<MovieSummary> getMovieSummariesPage(ListModel list, int afterMovieId, int limit) throws DaoException {
+        if (list == null) {
+            throw new IllegalArgumentException("ListModel cannot be null.");
+        }
+        int[] movieIds = index.movieIdsAfter(list.getId(), afterMovieId, limit + 1);
+        List<MovieSummary> summaries = new ArrayList<>(movieIds.length);
+        for (int movieId : movieIds) {
+            MovieModel movie = moviesById.get(movieId);
+            if (movie != null) {
+                summaries.add(MovieSummary.from(movie));
+            }
+        }
+        return Page.of(summaries, limit, afterMovieId, MovieSummary::id);
     }
 
     @Override
@@ -77,12 +198,35 @@ public class ListMovieDaoInMemory implements ListMovie {
             throw new IllegalArgumentException("ListModel cannot be null.");
         }
 
-        int listId = list.getId();
-
-        if (movieByListId.remove(listId) != null) {
+        int[][] removed = {new int[0]};
+        runtimesByList.computeIfPresent(list.getId(), (k, histogram) -> {
+            removed[0] = index.removeList(list.getId());
+            for (int movieId : removed[0]) {
+                forgetIfUnreferenced(movieId);
+            }
+            return null;
+        });
+        if (removed[0].length > 0) {
             LOGGER.log(Level.INFO, "All movies removed from list");
         } else {
             LOGGER.log(Level.INFO, "Attempted to remove all movies from list but list had no associated movies.");
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public RuntimeStats getRuntimeStats(ListModel list) {
+        if (list == null) {
+            throw new IllegalArgumentException("ListModel cannot be null.");
+        }
+        RuntimeHistogram histogram = runtimesByList.get(list.getId());
+        return histogram == null ? RuntimeStats.EMPTY : histogram.snapshot();
+    }
+
+    /**
+     * Adders store the model after updating the index, so a concurrent add either makes the movie referenced
+     * again before this check or puts the model back afterwards.
+     */
+    private void forgetIfUnreferenced(int movieId) {
+        moviesById.computeIfPresent(movieId, (k, movie) -> index.isReferenced(movieId) ? movie : null);
+    }
+}
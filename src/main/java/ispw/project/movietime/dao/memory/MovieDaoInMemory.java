@@ -2,9 +2,12 @@ package ispw.project.movietime.dao.memory;
 
 import ispw.project.movietime.model.MovieModel;
 import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.exception.DaoException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -12,7 +15,7 @@ public class MovieDaoInMemory implements MovieDao {
 
     private static final Logger LOGGER = Logger.getLogger(MovieDaoInMemory.class.getName());
 
-    private final Map<Integer, MovieModel> movieMap = new HashMap<>();
+    private final ConcurrentNavigableMap<Integer, MovieModel> movieMap = new ConcurrentSkipListMap<>();
 
 
 
@@ -29,15 +32,29 @@ public class MovieDaoInMemory implements MovieDao {
         }
         int id = movie.getId();
 
-        if (movieMap.containsKey(id)) {
+        if (movieMap.putIfAbsent(id, movie) != null) {
             LOGGER.log(Level.WARNING, "Attempted to save movie with ID {0}, but it already exists.", id);
             throw new DaoException("Movie with ID " + id + " already exists. Use update if you intend to modify.");
         }
 
-        movieMap.put(id, movie);
         LOGGER.log(Level.INFO, "Movie saved successfully to in-memory storage.");
     }
 
+    @Override
+    public int saveMovies(Collection<MovieModel> movies) throws DaoException {
+        if (movies == null) {
+            throw new IllegalArgumentException("Movies cannot be null.");
+        }
+        int added = 0;
+        for (MovieModel movie : movies) {
+            if (movieMap.putIfAbsent(movie.getId(), movie) == null) {
+                added++;
+            }
+        }
+        LOGGER.log(Level.INFO, "Saved {0} of {1} movies to in-memory storage.", new Object[]{added, movies.size()});
+        return added;
+    }
+
     @Override
     public List<MovieModel> retrieveAllMovies() throws DaoException {
         if (movieMap.isEmpty()) {
@@ -47,4 +64,16 @@ public class MovieDaoInMemory implements MovieDao {
         LOGGER.log(Level.INFO, "Retrieving all {0} movies from in-memory storage.", movieMap.size());
         return Collections.unmodifiableList(new ArrayList<>(movieMap.values()));
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<MovieModel> retrieveMoviesPage(int afterId, int limit) throws DaoException {
+        List<MovieModel> movies = new ArrayList<>(limit + 1);
+        for (MovieModel movie : movieMap.tailMap(afterId, false).values()) {
+            if (movies.size() > limit) {
+                break;
+            }
+            movies.add(movie);
+        }
+        return Page.of(movies, limit, afterId, MovieModel::getId);
+    }
+}
@@ -4,8 +4,10 @@ import ispw.project.movietime.model.UserModel;
 import ispw.project.movietime.dao.UserDao;
 import ispw.project.movietime.exception.DaoException;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,7 +15,7 @@ public class UserDaoInMemory implements UserDao {
 
     private static final Logger LOGGER = Logger.getLogger(UserDaoInMemory.class.getName());
 
-    private final Map<String, UserModel> users = new HashMap<>();
+    private final Map<String, UserModel> users = new ConcurrentHashMap<>();
     static {
 
         try {
@@ -48,12 +50,16 @@ public class UserDaoInMemory implements UserDao {
             throw new IllegalArgumentException("User's username cannot be null or empty.");
         }
 
-        if (users.containsKey(username)) {
+        if (users.putIfAbsent(username, user) != null) {
             LOGGER.log(Level.WARNING, "Attempted to save user but username already exists.");
             throw new DaoException("Username already exists: " + username);
         }
 
-        users.put(username, user);
         LOGGER.log(Level.INFO, "User saved successfully to in-memory storage.");
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<UserModel> retrieveAllUsers() throws DaoException {
+        return new ArrayList<>(users.values());
+    }
+}
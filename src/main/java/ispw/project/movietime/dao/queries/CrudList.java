@@ -1,7 +1,10 @@
 package ispw.project.movietime.dao.queries;
 
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
+import ispw.project.movietime.model.MovieModel;
 import ispw.project.movietime.model.UserModel;
 
 import java.sql.Connection;
@@ -10,7 +13,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,8 +31,25 @@ public class CrudList {
     private static final String UPDATE_LIST_SQL = "UPDATE list SET name=?, username=? WHERE idList = ?";
     private static final String DELETE_LIST_SQL = "DELETE FROM list WHERE idList = ?";
     private static final String SELECT_ALL_LISTS_SQL = "SELECT idList, name, username FROM list";
+    private static final String SELECT_LISTS_PAGE_SQL =
+            "SELECT idList, name, username FROM list WHERE idList > ? ORDER BY idList LIMIT ?";
     private static final String SELECT_LIST_BY_ID_SQL = "SELECT idList, name, username FROM list WHERE idList = ?";
     private static final String SELECT_LISTS_BY_USERNAME_SQL = "SELECT idList, name, username FROM list WHERE username = ?";
+    private static final String SELECT_LISTS_WITH_MOVIES_BY_USERNAME_SQL =
+            "SELECT l.idList, l.name, l.username, m.idMovieTmdb, m.runtime, m.name AS movieName " +
+                    "FROM list l " +
+                    "LEFT JOIN list_movie lm ON lm.idList = l.idList " +
+                    "LEFT JOIN movie m ON m.idMovieTmdb = lm.idMovieTmdb " +
+                    "WHERE l.username = ? " +
+                    "ORDER BY l.idList, m.idMovieTmdb";
+    private static final String SELECT_LIST_SUMMARIES_BY_USERNAME_SQL =
+            "SELECT l.idList, l.name, l.username, COUNT(m.idMovieTmdb) AS movieCount " +
+                    "FROM list l " +
+                    "LEFT JOIN list_movie lm ON lm.idList = l.idList " +
+                    "LEFT JOIN movie m ON m.idMovieTmdb = lm.idMovieTmdb " +
+                    "WHERE l.username = ? " +
+                    "GROUP BY l.idList, l.name, l.username " +
+                    "ORDER BY l.idList";
 
     public static void addList(Connection conn, ListModel list, UserModel user) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(INSERT_LIST_SQL, Statement.RETURN_GENERATED_KEYS)) {
@@ -96,6 +118,25 @@ public class CrudList {
         return lists;
     }
 
+    /**
+     * Reads up to {@code limit} lists with an id greater than {@code afterId}, in id order, without their movies.
+     */
+    public static Page<ListModel> getListsPage(Connection conn, int afterId, int limit) throws CrudQueriesException {
+        List<ListModel> lists = new ArrayList<>(limit + 1);
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_LISTS_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lists.add(mapResultSetToListModel(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to retrieve lists after ID " + afterId + ": " + e.getMessage(), e);
+        }
+        return Page.of(lists, limit, afterId, ListModel::getId);
+    }
+
     public static ListModel getListById(Connection conn, int id) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(SELECT_LIST_BY_ID_SQL)) {
             ps.setInt(1, id);
@@ -125,6 +166,52 @@ public class CrudList {
         return userLists;
     }
 
+    /**
+     * Loads the user's lists together with their movies in one query, grouping the joined rows by list in a
+     * single pass. Lists without movies come back with an empty movie list.
+     */
+    public static List<ListModel> getListsWithMoviesByUsername(Connection conn, String username) throws CrudQueriesException {
+        Map<Integer, ListModel> lists = new LinkedHashMap<>();
+        Map<Integer, List<MovieModel>> moviesByList = new LinkedHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_LISTS_WITH_MOVIES_BY_USERNAME_SQL)) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int idList = rs.getInt("idList");
+                    if (!lists.containsKey(idList)) {
+                        lists.put(idList, mapResultSetToListModel(rs));
+                        moviesByList.put(idList, new ArrayList<>());
+                    }
+                    int idMovie = rs.getInt("idMovieTmdb");
+                    if (!rs.wasNull()) {
+                        moviesByList.get(idList).add(new MovieModel(idMovie, rs.getInt("runtime"), rs.getString("movieName")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to retrieve lists with movies for username " + username + ": " + e.getMessage(), e);
+        }
+        for (ListModel list : lists.values()) {
+            list.setMovies(moviesByList.get(list.getId()));
+        }
+        return new ArrayList<>(lists.values());
+    }
+
+    public static List<ListSummary> getListSummariesByUsername(Connection conn, String username) throws CrudQueriesException {
+        List<ListSummary> summaries = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_LIST_SUMMARIES_BY_USERNAME_SQL)) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new ListSummary(rs.getInt("idList"), rs.getString("name"), rs.getString("username"), rs.getInt("movieCount")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to retrieve list summaries for username " + username + ": " + e.getMessage(), e);
+        }
+        return summaries;
+    }
+
     private static ListModel mapResultSetToListModel(ResultSet rs) throws SQLException {
         int idList = rs.getInt("idList");
         String name = rs.getString("name");
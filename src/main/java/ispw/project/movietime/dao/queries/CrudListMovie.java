@@ -1,14 +1,19 @@
 package ispw.project.movietime.dao.queries;
 
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class CrudListMovie {
@@ -19,14 +24,35 @@ public class CrudListMovie {
     private static final String IDMOVIETMDB = "idMovieTmdb";
 
     private static final String INSERT_LIST_MOVIE_SQL = "INSERT INTO list_movie (idList, idMovieTmdb) VALUES (?, ?)";
+    private static final String INSERT_IGNORE_MOVIE_SQL = "INSERT IGNORE INTO movie (idMovieTmdb, runtime, name) VALUES (?, ?, ?)";
+    private static final String INSERT_IGNORE_LIST_MOVIE_SQL = "INSERT IGNORE INTO list_movie (idList, idMovieTmdb) VALUES (?, ?)";
     private static final String DELETE_LIST_MOVIE_SQL = "DELETE FROM list_movie WHERE idList = ? AND idMovieTmdb = ?";
+    private static final String SELECT_LIST_MOVIE_SQL = "SELECT 1 FROM list_movie WHERE idList = ? AND idMovieTmdb = ?";
     private static final String SELECT_MOVIE_IDS_IN_LIST_SQL = "SELECT idMovieTmdb FROM list_movie WHERE idList = ?";
     private static final String SELECT_FULL_DETAILS_MOVIES_IN_LIST_SQL =
             "SELECT m.idMovieTmdb, m.runtime, m.name " +
                     "FROM list_movie lm " +
                     "JOIN movie m ON lm.idMovieTmdb = m.idMovieTmdb " +
                     "WHERE lm.idList = ?";
+    private static final String SELECT_MOVIES_PAGE_IN_LIST_SQL =
+            "SELECT m.idMovieTmdb, m.runtime, m.name " +
+                    "FROM list_movie lm " +
+                    "JOIN movie m ON lm.idMovieTmdb = m.idMovieTmdb " +
+                    "WHERE lm.idList = ? AND lm.idMovieTmdb > ? " +
+                    "ORDER BY lm.idMovieTmdb LIMIT ?";
     private static final String DELETE_ALL_MOVIES_FROM_LIST_SQL = "DELETE FROM list_movie WHERE idList = ?";
+    private static final String RUNTIME_AGGREGATES =
+            "SELECT COUNT(*) AS entries, COALESCE(SUM(m.runtime), 0) AS total, " +
+                    "COALESCE(MIN(m.runtime), 0) AS shortest, COALESCE(MAX(m.runtime), 0) AS longest ";
+    private static final String SELECT_RUNTIME_STATS_OF_LIST_SQL = RUNTIME_AGGREGATES +
+            "FROM list_movie lm " +
+            "JOIN movie m ON lm.idMovieTmdb = m.idMovieTmdb " +
+            "WHERE lm.idList = ?";
+    private static final String SELECT_RUNTIME_STATS_OF_USER_SQL = RUNTIME_AGGREGATES +
+            "FROM list l " +
+            "JOIN list_movie lm ON lm.idList = l.idList " +
+            "JOIN movie m ON lm.idMovieTmdb = m.idMovieTmdb " +
+            "WHERE l.username = ?";
 
 
     public static int addMovieToList(Connection conn, ListModel list, MovieModel movie) throws CrudQueriesException {
@@ -39,6 +65,106 @@ public class CrudListMovie {
         }
     }
 
+    /**
+     * Inserts the movie unless it is stored already, then links it to the list unless it is linked already,
+     * without reading either table first. On a connection that already has a transaction open both inserts
+     * join it; otherwise they are committed together.
+     *
+     * @return {@code true} if the link is new
+     */
+    public static boolean ensureMovieInList(Connection conn, ListModel list, MovieModel movie) throws CrudQueriesException {
+        boolean autoCommit = true;
+        try {
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_IGNORE_MOVIE_SQL)) {
+                ps.setInt(1, movie.getId());
+                ps.setInt(2, movie.getRuntime());
+                ps.setString(3, movie.getTitle());
+                ps.executeUpdate();
+            }
+            int linked;
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_IGNORE_LIST_MOVIE_SQL)) {
+                ps.setInt(1, list.getId());
+                ps.setInt(2, movie.getId());
+                linked = ps.executeUpdate();
+            }
+
+            if (autoCommit) {
+                conn.commit();
+            }
+            return linked > 0;
+        } catch (SQLException e) {
+            if (autoCommit) {
+                rollback(conn);
+            }
+            throw new CrudQueriesException("Failed to add movie ID " + movie.getId() + " to list ID " + list.getId() + ": " + e.getMessage(), e);
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                // The connection is unusable anyway; the pool discards it on release
+            }
+        }
+    }
+
+    /**
+     * Inserts the movies as one JDBC batch of {@code INSERT IGNORE} statements inside a single transaction, so
+     * movies already in the list are skipped by the database without reading the list first; on failure
+     * nothing is inserted. On a connection that already has a transaction open the batch joins it and the
+     * caller commits or rolls back; otherwise the caller's auto-commit setting is restored afterwards.
+     *
+     * @return the number of movies that were inserted
+     */
+    public static int addMoviesToList(Connection conn, ListModel list, Collection<MovieModel> movies) throws CrudQueriesException {
+        boolean autoCommit = true;
+        try {
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+
+            int added = 0;
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_IGNORE_LIST_MOVIE_SQL)) {
+                for (MovieModel movie : movies) {
+                    ps.setInt(1, list.getId());
+                    ps.setInt(2, movie.getId());
+                    ps.addBatch();
+                }
+                for (int count : ps.executeBatch()) {
+                    // A driver that cannot report per-statement counts reports SUCCESS_NO_INFO (-2)
+                    added += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                }
+            }
+            if (autoCommit) {
+                conn.commit();
+            }
+            return added;
+        } catch (SQLException e) {
+            if (autoCommit) {
+                rollback(conn);
+            }
+            throw new CrudQueriesException("Failed to add " + movies.size() + " movies to list ID " + list.getId() + ": " + e.getMessage(), e);
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                // The connection is unusable anyway; the pool discards it on release
+            }
+        }
+    }
+
+    private static void rollback(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            // Nothing more to undo; the original failure is reported to the caller
+        }
+    }
+
     public static int removeMovieFromList(Connection conn, ListModel list, MovieModel movie) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(DELETE_LIST_MOVIE_SQL)) {
             ps.setInt(1, list.getId());
@@ -49,6 +175,18 @@ public class CrudListMovie {
         }
     }
 
+    public static boolean containsMovie(Connection conn, ListModel list, int movieId) throws CrudQueriesException {
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_LIST_MOVIE_SQL)) {
+            ps.setInt(1, list.getId());
+            ps.setInt(2, movieId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to look up movie ID " + movieId + " in list ID " + list.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
     public static void printAllMoviesInList(Connection conn, ListModel list) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(SELECT_MOVIE_IDS_IN_LIST_SQL)) {
             ps.setInt(1, list.getId());
@@ -92,6 +230,69 @@ public class CrudListMovie {
         return movieDetails;
     }
 
+    public static List<MovieSummary> getMovieSummariesByList(Connection conn, ListModel list) throws CrudQueriesException {
+        List<MovieSummary> summaries = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_FULL_DETAILS_MOVIES_IN_LIST_SQL)) {
+            ps.setInt(1, list.getId());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new MovieSummary(rs.getInt(IDMOVIETMDB), rs.getInt("runtime"), rs.getString("name")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to retrieve movie summaries for list ID " + list.getId() + ": " + e.getMessage(), e);
+        }
+        return summaries;
+    }
+
+    /**
+     * Reads up to {@code limit} movies of the list with an id greater than {@code afterMovieId}, in id order,
+     * as a range scan of the list_movie primary key.
+     */
+    public static Page<MovieSummary> getMovieSummariesPageByList(Connection conn, ListModel list, int afterMovieId, int limit) throws CrudQueriesException {
+        List<MovieSummary> summaries = new ArrayList<>(limit + 1);
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_MOVIES_PAGE_IN_LIST_SQL)) {
+            ps.setInt(1, list.getId());
+            ps.setInt(2, afterMovieId);
+            ps.setInt(3, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(new MovieSummary(rs.getInt(IDMOVIETMDB), rs.getInt("runtime"), rs.getString("name")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to retrieve movies after ID " + afterMovieId + " for list ID " + list.getId() + ": " + e.getMessage(), e);
+        }
+        return Page.of(summaries, limit, afterMovieId, MovieSummary::id);
+    }
+
+    public static RuntimeStats getRuntimeStatsOfList(Connection conn, int listId) throws CrudQueriesException {
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_RUNTIME_STATS_OF_LIST_SQL)) {
+            ps.setInt(1, listId);
+            return readRuntimeStats(ps);
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to compute runtime statistics for list ID " + listId + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static RuntimeStats getRuntimeStatsOfUser(Connection conn, String username) throws CrudQueriesException {
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_RUNTIME_STATS_OF_USER_SQL)) {
+            ps.setString(1, username);
+            return readRuntimeStats(ps);
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to compute runtime statistics for user " + username + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static RuntimeStats readRuntimeStats(PreparedStatement ps) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            if (!rs.next() || rs.getInt("entries") == 0) {
+                return RuntimeStats.EMPTY;
+            }
+            return new RuntimeStats(rs.getInt("entries"), rs.getLong("total"), rs.getInt("shortest"), rs.getInt("longest"));
+        }
+    }
+
     public static int removeAllMoviesFromList(Connection conn, ListModel list) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(DELETE_ALL_MOVIES_FROM_LIST_SQL)) {
             ps.setInt(1, list.getId());
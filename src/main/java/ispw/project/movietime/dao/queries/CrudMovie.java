@@ -1,5 +1,6 @@
 package ispw.project.movietime.dao.queries;
 
+import ispw.project.movietime.dao.Page;
 import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.model.MovieModel;
 
@@ -7,7 +8,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class CrudMovie {
@@ -17,9 +20,12 @@ public class CrudMovie {
     }
 
     private static final String INSERT_MOVIE_SQL = "INSERT INTO movie (idMovieTmdb, runtime, name) VALUES (?, ?, ?)";
+    private static final String INSERT_IGNORE_MOVIE_SQL = "INSERT IGNORE INTO movie (idMovieTmdb, runtime, name) VALUES (?, ?, ?)";
     private static final String UPDATE_MOVIE_SQL = "UPDATE movie SET name=?, runtime=? WHERE idMovieTmdb = ?";
     private static final String DELETE_MOVIE_SQL = "DELETE FROM movie WHERE idMovieTmdb = ?";
     private static final String SELECT_ALL_MOVIES_SQL = "SELECT idMovieTmdb, runtime, name FROM movie";
+    private static final String SELECT_MOVIES_PAGE_SQL =
+            "SELECT idMovieTmdb, runtime, name FROM movie WHERE idMovieTmdb > ? ORDER BY idMovieTmdb LIMIT ?";
     private static final String SELECT_MOVIE_BY_ID_SQL = "SELECT idMovieTmdb, runtime, name FROM movie WHERE idMovieTmdb = ?";
 
     public static int addMovie(Connection conn, MovieModel movie) throws CrudQueriesException {
@@ -33,6 +39,62 @@ public class CrudMovie {
         }
     }
 
+    /**
+     * Inserts the movies as one JDBC batch of {@code INSERT IGNORE} statements inside a single transaction, so
+     * movies already stored, including ones another writer stores concurrently, are skipped by the database
+     * instead of failing the batch; on failure nothing is inserted. On a connection that already has a
+     * transaction open the batch joins it and the caller commits or rolls back; otherwise the caller's
+     * auto-commit setting is restored afterwards.
+     *
+     * @return the number of movies that were inserted
+     */
+    public static int addMovies(Connection conn, Collection<MovieModel> movies) throws CrudQueriesException {
+        boolean autoCommit = true;
+        try {
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+
+            int added = 0;
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_IGNORE_MOVIE_SQL)) {
+                for (MovieModel movie : movies) {
+                    ps.setInt(1, movie.getId());
+                    ps.setInt(2, movie.getRuntime());
+                    ps.setString(3, movie.getTitle());
+                    ps.addBatch();
+                }
+                for (int count : ps.executeBatch()) {
+                    // A driver that cannot report per-statement counts reports SUCCESS_NO_INFO (-2)
+                    added += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                }
+            }
+            if (autoCommit) {
+                conn.commit();
+            }
+            return added;
+        } catch (SQLException e) {
+            if (autoCommit) {
+                rollback(conn);
+            }
+            throw new CrudQueriesException("Failed to add " + movies.size() + " movies: " + e.getMessage(), e);
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                // The connection is unusable anyway; the pool discards it on release
+            }
+        }
+    }
+
+    private static void rollback(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            // Nothing more to undo; the original failure is reported to the caller
+        }
+    }
+
     public static int updateMovie(Connection conn, MovieModel movie) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(UPDATE_MOVIE_SQL)) {
             ps.setString(1, movie.getTitle());
@@ -74,6 +136,26 @@ public class CrudMovie {
         return movieList;
     }
 
+    /**
+     * Reads up to {@code limit} movies with an id greater than {@code afterId}, in id order. The primary key
+     * range scan costs the same on every page, so a whole table can be walked one page at a time.
+     */
+    public static Page<MovieModel> getMoviesPage(Connection conn, int afterId, int limit) throws CrudQueriesException {
+        List<MovieModel> movies = new ArrayList<>(limit + 1);
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_MOVIES_PAGE_SQL)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    movies.add(mapResultSetToMovieBean(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new CrudQueriesException("Failed to retrieve movies after ID " + afterId + ": " + e.getMessage(), e);
+        }
+        return Page.of(movies, limit, afterId, MovieModel::getId);
+    }
+
     public static MovieModel getMovieById(Connection conn, int id) throws CrudQueriesException {
         try (PreparedStatement ps = conn.prepareStatement(SELECT_MOVIE_BY_ID_SQL)) {
             ps.setInt(1, id);
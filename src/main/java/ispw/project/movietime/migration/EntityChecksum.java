@@ -0,0 +1,37 @@
+package ispw.project.movietime.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * An order-independent checksum over a set of records: the record count plus the sum of each record's CRC32.
+ * Source and target can therefore be read in whatever order their backend returns rows, and lists can be
+ * summed up in parallel and merged.
+ */
+final class EntityChecksum {
+
+    private long count;
+    private long sum;
+
+    synchronized void add(Object... fields) {
+        CRC32 crc = new CRC32();
+        for (Object field : fields) {
+            crc.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        count++;
+        sum += crc.getValue();
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized boolean matches(EntityChecksum other) {
+        return count == other.count() && sum == other.sum();
+    }
+
+    private synchronized long sum() {
+        return sum;
+    }
+}
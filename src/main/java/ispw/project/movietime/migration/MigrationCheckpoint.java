@@ -0,0 +1,151 @@
+package ispw.project.movietime.migration;
+
+import ispw.project.movietime.exception.DaoException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers how far a migration got, so that a rerun after a crash continues where it stopped. The state is
+ * an append-only text file with one fact per line:
+ * <pre>
+ * done USERS
+ * list 12 57
+ * entries 12
+ * </pre>
+ * meaning the user stage finished, source list 12 was created as target list 57, and all movies of source
+ * list 12 were copied. A line counts only once its line terminator is written: a torn last line would otherwise
+ * still parse ({@code list 12 57} torn to {@code list 12 5}), so it is cut from the file on load. Without a file the
+ * state is kept in memory only.
+ */
+final class MigrationCheckpoint implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(MigrationCheckpoint.class.getName());
+
+    private static final String DONE = "done";
+    private static final String LIST = "list";
+    private static final String ENTRIES = "entries";
+
+    private final Set<PersistenceMigrator.Entity> doneStages = EnumSet.noneOf(PersistenceMigrator.Entity.class);
+    private final Map<Integer, Integer> listIds = new HashMap<>();
+    private final Set<Integer> listsWithEntries = new HashSet<>();
+    private final BufferedWriter writer;
+
+    MigrationCheckpoint(Path file) throws DaoException {
+        if (file == null) {
+            writer = null;
+            return;
+        }
+        try {
+            if (Files.exists(file)) {
+                load(completeLines(file));
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new DaoException("Could not open migration checkpoint " + file + ": " + e.getMessage(), e);
+        }
+        if (!doneStages.isEmpty() || !listIds.isEmpty()) {
+            LOGGER.log(Level.INFO, "Resuming migration from {0}: stages done {1}, {2} lists created, {3} lists copied.",
+                    new Object[]{file, doneStages, listIds.size(), listsWithEntries.size()});
+        }
+    }
+
+    private static List<String> completeLines(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        int complete = content.length;
+        while (complete > 0 && content[complete - 1] != '\n') {
+            complete--;
+        }
+        if (complete < content.length) {
+            LOGGER.log(Level.WARNING, "Dropping torn checkpoint line: {0}",
+                    new String(content, complete, content.length - complete, StandardCharsets.UTF_8));
+            // Cut it so that the next append starts on a line of its own
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+            }
+        }
+        return new String(content, 0, complete, StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private void load(List<String> lines) {
+        for (String line : lines) {
+            String[] parts = line.trim().split(" ");
+            try {
+                switch (parts[0]) {
+                    case DONE -> doneStages.add(PersistenceMigrator.Entity.valueOf(parts[1]));
+                    case LIST -> listIds.put(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                    case ENTRIES -> listsWithEntries.add(Integer.parseInt(parts[1]));
+                    default -> LOGGER.log(Level.WARNING, "Ignoring unknown checkpoint line: {0}", line);
+                }
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                LOGGER.log(Level.WARNING, "Ignoring incomplete checkpoint line: {0}", line);
+            }
+        }
+    }
+
+    synchronized boolean isDone(PersistenceMigrator.Entity stage) {
+        return doneStages.contains(stage);
+    }
+
+    synchronized void markDone(PersistenceMigrator.Entity stage) throws DaoException {
+        if (doneStages.add(stage)) {
+            append(DONE + " " + stage.name());
+        }
+    }
+
+    synchronized Integer targetListId(int sourceListId) {
+        return listIds.get(sourceListId);
+    }
+
+    synchronized void listCreated(int sourceListId, int targetListId) throws DaoException {
+        listIds.put(sourceListId, targetListId);
+        append(LIST + " " + sourceListId + " " + targetListId);
+    }
+
+    synchronized boolean hasEntries(int sourceListId) {
+        return listsWithEntries.contains(sourceListId);
+    }
+
+    synchronized void entriesCopied(int sourceListId) throws DaoException {
+        if (listsWithEntries.add(sourceListId)) {
+            append(ENTRIES + " " + sourceListId);
+        }
+    }
+
+    private void append(String line) throws DaoException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new DaoException("Could not write migration checkpoint: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error closing migration checkpoint: {0}", e.getMessage());
+            }
+        }
+    }
+}
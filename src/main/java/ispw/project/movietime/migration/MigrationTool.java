@@ -0,0 +1,86 @@
+package ispw.project.movietime.migration;
+
+import ispw.project.movietime.dao.DaoType;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.state.DemoModeState;
+import ispw.project.movietime.state.FullModeState;
+import ispw.project.movietime.state.PersistenceModeState;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a {@link PersistenceMigrator} without the GUI:
+ * <pre>
+ * MigrationTool &lt;from&gt; &lt;to&gt; [--checkpoint file] [--batch-size n] [--threads n] [--no-verify]
+ * </pre>
+ * where {@code from} and {@code to} are {@link DaoType} names, e.g. {@code MigrationTool CSV JDBC}. The
+ * checkpoint defaults to {@code migration-<from>-<to>.checkpoint} in the working directory; rerun the same
+ * command to resume. Exits with 0 when every stage verified, 1 on a checksum mismatch and 2 on errors.
+ */
+public class MigrationTool {
+
+    private static final Logger LOGGER = Logger.getLogger(MigrationTool.class.getName());
+
+    private static final String USAGE =
+            "Usage: MigrationTool <JDBC|CSV|INMEMORY> <JDBC|CSV|INMEMORY> [--checkpoint file] [--batch-size n] [--threads n] [--no-verify]";
+
+    private MigrationTool() {
+        //Empty Constructor
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        try {
+            DaoType from = DaoType.valueOf(args[0].toUpperCase(Locale.ROOT));
+            DaoType to = DaoType.valueOf(args[1].toUpperCase(Locale.ROOT));
+            if (from == to) {
+                System.err.println("Source and target must be different backends.");
+                return 2;
+            }
+
+            Path checkpoint = Path.of("migration-" + from.name().toLowerCase(Locale.ROOT) + "-" + to.name().toLowerCase(Locale.ROOT) + ".checkpoint");
+            int batchSize = PersistenceMigrator.DEFAULT_BATCH_SIZE;
+            int threads = PersistenceMigrator.DEFAULT_THREADS;
+            boolean verify = true;
+            for (int i = 2; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--checkpoint" -> checkpoint = Path.of(args[++i]);
+                    case "--batch-size" -> batchSize = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--no-verify" -> verify = false;
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            PersistenceMigrator migrator = new PersistenceMigrator(stateFor(from), stateFor(to), checkpoint, batchSize, threads);
+            PersistenceMigrator.MigrationReport report = migrator.migrate(verify);
+
+            System.out.printf("Migrated %s -> %s in %d ms%n", from, to, report.elapsed().toMillis());
+            for (PersistenceMigrator.EntityReport entity : report.entities()) {
+                System.out.printf("%-10s read %9d  written %9d  %s%n", entity.entity(), entity.read(), entity.written(), entity.verification());
+            }
+            return !verify || report.verified() ? 0 : 1;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() == null ? USAGE : e.getMessage() + "\n" + USAGE);
+            return 2;
+        } catch (DaoException | IllegalStateException e) {
+            LOGGER.log(Level.SEVERE, e, () -> "Migration failed.");
+            System.err.println("Migration failed: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    static PersistenceModeState stateFor(DaoType type) {
+        return type == DaoType.INMEMORY ? new DemoModeState() : new FullModeState(type);
+    }
+}
@@ -0,0 +1,346 @@
+package ispw.project.movietime.migration;
+
+import ispw.project.movietime.dao.Page;
+import ispw.project.movietime.exception.CrudQueriesException;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.UserModel;
+import ispw.project.movietime.state.PersistenceModeState;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copies all users, movies, lists and list entries from one persistence backend to another, e.g. from the CSV
+ * files to MySQL. Stages run in referential order: users and movies in parallel, then lists, then the list
+ * entries, which are copied by several workers at once, one list per task. Movies and entries are written
+ * through the batch DAO operations, one keyset page at a time, so only one batch of movies or entries is held
+ * in memory per worker however large the source is. Lists get new ids in the target; the mapping is kept in the checkpoint,
+ * which also records finished stages and lists so an interrupted migration can be rerun and skips what it
+ * already copied. Writes that are repeated on a rerun are skipped by the target rather than duplicated.
+ * <p>
+ * After copying, every stage is verified by comparing order-independent CRC32 checksums of the source rows
+ * with the corresponding target rows.
+ */
+public class PersistenceMigrator {
+
+    private static final Logger LOGGER = Logger.getLogger(PersistenceMigrator.class.getName());
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_THREADS = 4;
+
+    public enum Entity { USERS, MOVIES, LISTS, LIST_MOVIE }
+
+    public enum Verification { SKIPPED, MATCHED, MISMATCHED }
+
+    /**
+     * Per-stage outcome: rows found in the source and rows that were new to the target in this run.
+     */
+    public record EntityReport(Entity entity, int read, int written, Verification verification) {
+    }
+
+    public record MigrationReport(List<EntityReport> entities, Duration elapsed) {
+        public boolean verified() {
+            return entities.stream().allMatch(report -> report.verification() == Verification.MATCHED);
+        }
+    }
+
+    private record StageCount(int read, int written) {
+    }
+
+    private final PersistenceModeState source;
+    private final PersistenceModeState target;
+    private final Path checkpointFile;
+    private final int batchSize;
+    private final int threads;
+
+    public PersistenceMigrator(PersistenceModeState source, PersistenceModeState target, Path checkpointFile) {
+        this(source, target, checkpointFile, DEFAULT_BATCH_SIZE, DEFAULT_THREADS);
+    }
+
+    /**
+     * @param checkpointFile where progress is recorded, or null to migrate without being able to resume
+     */
+    public PersistenceMigrator(PersistenceModeState source, PersistenceModeState target, Path checkpointFile,
+                               int batchSize, int threads) {
+        if (batchSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Batch size and thread count must be positive.");
+        }
+        this.source = source;
+        this.target = target;
+        this.checkpointFile = checkpointFile;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    public MigrationReport migrate(boolean verify) throws DaoException {
+        long start = System.nanoTime();
+        Map<Entity, StageCount> counts = new EnumMap<>(Entity.class);
+        Map<Entity, Verification> verifications = new EnumMap<>(Entity.class);
+
+        try (MigrationCheckpoint checkpoint = new MigrationCheckpoint(checkpointFile);
+             ExecutorService workers = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("migration-", 0).factory())) {
+
+            List<Future<StageCount>> independent = new ArrayList<>();
+            independent.add(workers.submit(() -> migrateUsers(checkpoint)));
+            independent.add(workers.submit(() -> migrateMovies(checkpoint)));
+            counts.put(Entity.USERS, await(independent.get(0), workers));
+            counts.put(Entity.MOVIES, await(independent.get(1), workers));
+
+            List<ListModel> lists = new ArrayList<>();
+            Page.forEachPage(source.getListDao()::retrieveListsPage, batchSize, lists::addAll);
+            counts.put(Entity.LISTS, migrateLists(lists, checkpoint));
+            counts.put(Entity.LIST_MOVIE, migrateEntries(lists, checkpoint, workers));
+
+            for (Entity entity : Entity.values()) {
+                verifications.put(entity, verify ? verify(entity, lists, checkpoint, workers) : Verification.SKIPPED);
+            }
+        } catch (CrudQueriesException e) {
+            throw new DaoException("Migration failed: " + e.getMessage(), e);
+        }
+
+        List<EntityReport> reports = new ArrayList<>();
+        for (Entity entity : Entity.values()) {
+            StageCount count = counts.get(entity);
+            reports.add(new EntityReport(entity, count.read(), count.written(), verifications.get(entity)));
+        }
+        MigrationReport report = new MigrationReport(reports, Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.log(Level.INFO, "Migration finished in {0} ms: {1}", new Object[]{report.elapsed().toMillis(), reports});
+        return report;
+    }
+
+    private StageCount migrateUsers(MigrationCheckpoint checkpoint) throws DaoException, CrudQueriesException {
+        List<UserModel> users = source.getUserDao().retrieveAllUsers();
+        if (checkpoint.isDone(Entity.USERS)) {
+            return new StageCount(users.size(), 0);
+        }
+        // There is no batch insert for users; they are few compared to movies and entries
+        int written = 0;
+        for (UserModel user : users) {
+            if (target.getUserDao().retrieveByUsername(user.getUsername()) == null) {
+                target.getUserDao().saveUser(user);
+                written++;
+            }
+        }
+        checkpoint.markDone(Entity.USERS);
+        LOGGER.log(Level.INFO, "Copied {0} of {1} users.", new Object[]{written, users.size()});
+        return new StageCount(users.size(), written);
+    }
+
+    private StageCount migrateMovies(MigrationCheckpoint checkpoint) throws DaoException, CrudQueriesException {
+        boolean done = checkpoint.isDone(Entity.MOVIES);
+        int[] written = {0};
+        int read = (int) Page.forEachPage(source.getMovieDao()::retrieveMoviesPage, batchSize, movies -> {
+            if (!done) {
+                written[0] += target.getMovieDao().saveMovies(movies);
+            }
+        });
+        if (done) {
+            return new StageCount(read, 0);
+        }
+        checkpoint.markDone(Entity.MOVIES);
+        LOGGER.log(Level.INFO, "Copied {0} of {1} movies.", new Object[]{written[0], read});
+        return new StageCount(read, written[0]);
+    }
+
+    private StageCount migrateLists(List<ListModel> lists, MigrationCheckpoint checkpoint) throws DaoException, CrudQueriesException {
+        if (checkpoint.isDone(Entity.LISTS)) {
+            return new StageCount(lists.size(), 0);
+        }
+        int written = 0;
+        for (ListModel list : lists) {
+            if (checkpoint.targetListId(list.getId()) != null) {
+                continue;
+            }
+            ListModel copy = new ListModel(0, list.getName(), list.getUsername());
+            target.getListDao().saveList(copy, new UserModel(list.getUsername(), null));
+            checkpoint.listCreated(list.getId(), copy.getId());
+            written++;
+        }
+        checkpoint.markDone(Entity.LISTS);
+        LOGGER.log(Level.INFO, "Copied {0} of {1} lists.", new Object[]{written, lists.size()});
+        return new StageCount(lists.size(), written);
+    }
+
+    private StageCount migrateEntries(List<ListModel> lists, MigrationCheckpoint checkpoint, ExecutorService workers)
+            throws DaoException {
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger listsDone = new AtomicInteger();
+        int reportEvery = Math.max(1, lists.size() / 20);
+
+        List<Future<Void>> tasks = new ArrayList<>();
+        for (ListModel list : lists) {
+            tasks.add(workers.submit(() -> {
+                boolean copy = !checkpoint.hasEntries(list.getId());
+                ListModel targetList = copy ? targetList(list, checkpoint) : null;
+                read.addAndGet((int) Page.forEachPage(entriesOf(source, list), batchSize, movies -> {
+                    if (copy) {
+                        written.addAndGet(target.getListMovieDao().addMoviesToList(targetList, toModels(movies)));
+                    }
+                }));
+                if (copy) {
+                    checkpoint.entriesCopied(list.getId());
+                }
+                if (listsDone.incrementAndGet() % reportEvery == 0) {
+                    LOGGER.log(Level.INFO, "Copied the entries of {0} of {1} lists ({2} entries written).",
+                            new Object[]{listsDone.get(), lists.size(), written.get()});
+                }
+                return null;
+            }));
+        }
+        for (Future<Void> task : tasks) {
+            await(task, workers);
+        }
+        checkpoint.markDone(Entity.LIST_MOVIE);
+        return new StageCount(read.get(), written.get());
+    }
+
+    private static Page.Reader<MovieSummary> entriesOf(PersistenceModeState state, ListModel list) {
+        return (afterMovieId, limit) -> state.getListMovieDao().getMovieSummariesPage(list, afterMovieId, limit);
+    }
+
+    private static List<MovieModel> toModels(List<MovieSummary> movies) {
+        List<MovieModel> models = new ArrayList<>(movies.size());
+        for (MovieSummary movie : movies) {
+            models.add(movie.toMovieModel());
+        }
+        return models;
+    }
+
+    private static ListModel targetList(ListModel sourceList, MigrationCheckpoint checkpoint) throws DaoException {
+        Integer targetId = checkpoint.targetListId(sourceList.getId());
+        if (targetId == null) {
+            throw new DaoException("List " + sourceList.getId() + " has not been copied to the target.");
+        }
+        return new ListModel(targetId, sourceList.getName(), sourceList.getUsername());
+    }
+
+    private Verification verify(Entity entity, List<ListModel> lists, MigrationCheckpoint checkpoint, ExecutorService workers)
+            throws DaoException, CrudQueriesException {
+        EntityChecksum expected = new EntityChecksum();
+        EntityChecksum actual = new EntityChecksum();
+        switch (entity) {
+            case USERS -> {
+                Set<String> usernames = new HashSet<>();
+                for (UserModel user : source.getUserDao().retrieveAllUsers()) {
+                    usernames.add(user.getUsername());
+                    expected.add(user.getUsername(), user.getPassword());
+                }
+                for (UserModel user : target.getUserDao().retrieveAllUsers()) {
+                    if (usernames.contains(user.getUsername())) {
+                        actual.add(user.getUsername(), user.getPassword());
+                    }
+                }
+            }
+            case MOVIES -> verifyMovies(expected, actual);
+            case LISTS -> {
+                Set<Integer> listIds = new HashSet<>();
+                for (ListModel list : lists) {
+                    ListModel targetList = targetList(list, checkpoint);
+                    listIds.add(targetList.getId());
+                    expected.add(targetList.getId(), list.getName(), list.getUsername());
+                }
+                for (ListModel list : target.getListDao().retrieveAllLists()) {
+                    if (listIds.contains(list.getId())) {
+                        actual.add(list.getId(), list.getName(), list.getUsername());
+                    }
+                }
+            }
+            case LIST_MOVIE -> {
+                List<Future<Void>> tasks = new ArrayList<>();
+                for (ListModel list : lists) {
+                    tasks.add(workers.submit(() -> {
+                        ListModel targetList = targetList(list, checkpoint);
+                        Page.forEachPage(entriesOf(source, list), batchSize, movies -> {
+                            for (MovieSummary movie : movies) {
+                                expected.add(targetList.getId(), movie.id());
+                            }
+                        });
+                        Page.forEachPage(entriesOf(target, targetList), batchSize, movies -> {
+                            for (MovieSummary movie : movies) {
+                                actual.add(targetList.getId(), movie.id());
+                            }
+                        });
+                        return null;
+                    }));
+                }
+                for (Future<Void> task : tasks) {
+                    await(task, workers);
+                }
+            }
+        }
+        Verification verification = expected.matches(actual) ? Verification.MATCHED : Verification.MISMATCHED;
+        if (verification == Verification.MISMATCHED) {
+            LOGGER.log(Level.WARNING, "Checksum mismatch for {0}: {1} source rows, {2} matching target rows.",
+                    new Object[]{entity, expected.count(), actual.count()});
+        }
+        return verification;
+    }
+
+    /**
+     * Walks the source movies page by page; for each page the target is read over the same id range, so
+     * target movies that are not in the source are left out without holding every source id at once.
+     */
+    private void verifyMovies(EntityChecksum expected, EntityChecksum actual) throws DaoException, CrudQueriesException {
+        int afterId = Page.FIRST;
+        Page<MovieModel> page;
+        do {
+            page = source.getMovieDao().retrieveMoviesPage(afterId, batchSize);
+            Set<Integer> movieIds = new HashSet<>();
+            for (MovieModel movie : page.items()) {
+                movieIds.add(movie.getId());
+                expected.add(movie.getId(), movie.getRuntime(), movie.getTitle());
+            }
+
+            int targetAfterId = afterId;
+            Page<MovieModel> targetPage;
+            do {
+                targetPage = target.getMovieDao().retrieveMoviesPage(targetAfterId, batchSize);
+                for (MovieModel movie : targetPage.items()) {
+                    if (movieIds.contains(movie.getId())) {
+                        actual.add(movie.getId(), movie.getRuntime(), movie.getTitle());
+                    }
+                }
+                targetAfterId = targetPage.nextAfterId();
+            } while (targetPage.hasMore() && targetAfterId < page.nextAfterId());
+
+            afterId = page.nextAfterId();
+        } while (page.hasMore());
+    }
+
+    /**
+     * Waits for a stage task; on failure the remaining tasks are cancelled and the cause is rethrown.
+     */
+    private static <T> T await(Future<T> task, ExecutorService workers) throws DaoException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new DaoException("Migration interrupted.", e);
+        } catch (ExecutionException e) {
+            workers.shutdownNow();
+            Throwable cause = e.getCause();
+            if (cause instanceof DaoException daoException) {
+                throw daoException;
+            }
+            throw new DaoException("Migration failed: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ispw.project.movietime.model;
+
+/**
+ * A list row with the number of movies it holds, for overviews that do not show the movies themselves.
+ */
+public record ListSummary(int id, String name, String username, int movieCount) {
+}
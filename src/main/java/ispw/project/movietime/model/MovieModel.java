@@ -72,6 +72,33 @@ public class MovieModel implements Serializable {
         this.title = name;
     }
 
+    /**
+     * Copies every field; the genre, company, country and language lists are copied, their entries shared.
+     */
+    public MovieModel(MovieModel other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.originalTitle = other.originalTitle;
+        this.originalLanguage = other.originalLanguage;
+        this.overview = other.overview;
+        this.posterPath = other.posterPath;
+        this.backdropPath = other.backdropPath;
+        this.releaseDate = other.releaseDate;
+        this.voteAverage = other.voteAverage;
+        this.voteCount = other.voteCount;
+        this.runtime = other.runtime;
+        this.popularity = other.popularity;
+        this.status = other.status;
+        this.tagline = other.tagline;
+        this.imdbId = other.imdbId;
+        this.budget = other.budget;
+        this.revenue = other.revenue;
+        this.genres = new ArrayList<>(other.genres);
+        this.productionCompanies = new ArrayList<>(other.productionCompanies);
+        this.productionCountries = new ArrayList<>(other.productionCountries);
+        this.spokenLanguages = new ArrayList<>(other.spokenLanguages);
+    }
+
 
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -0,0 +1,9 @@
+package ispw.project.movietime.model;
+
+import java.util.List;
+
+/**
+ * One page of TMDB search results together with the paging totals reported by the API.
+ */
+public record MovieSearchPage(int page, int totalPages, int totalResults, List<MovieModel> results) {
+}
@@ -0,0 +1,26 @@
+package ispw.project.movietime.model;
+
+import java.io.Serializable;
+
+/**
+ * The part of a movie that is persisted with a list: id, runtime and title. List and statistics paths use this
+ * instead of {@link MovieModel}, which carries a dozen unused fields and four collections per instance. Titles
+ * are interned, so a movie held by many lists, or loaded many times, shares one title string.
+ */
+public record MovieSummary(int id, int runtime, String title) implements Serializable {
+
+    public MovieSummary {
+        title = title == null ? null : title.intern();
+    }
+
+    public static MovieSummary from(MovieModel movie) {
+        return new MovieSummary(movie.getId(), movie.getRuntime(), movie.getTitle());
+    }
+
+    /**
+     * Materializes a full model, e.g. for the detail view when TMDB cannot be reached.
+     */
+    public MovieModel toMovieModel() {
+        return new MovieModel(id, runtime, title);
+    }
+}
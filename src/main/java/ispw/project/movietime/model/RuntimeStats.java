@@ -0,0 +1,25 @@
+package ispw.project.movietime.model;
+
+/**
+ * Runtime aggregates over a set of list entries, as answered by the persistence layer. A movie held by two
+ * lists counts twice in a per-user aggregate. Shortest and longest are 0 when there are no entries.
+ */
+public record RuntimeStats(int count, long totalMinutes, int shortestMinutes, int longestMinutes) {
+
+    public static final RuntimeStats EMPTY = new RuntimeStats(0, 0, 0, 0);
+
+    public double averageMinutes() {
+        return count == 0 ? 0.0 : (double) totalMinutes / count;
+    }
+
+    public RuntimeStats merge(RuntimeStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new RuntimeStats(count + other.count, totalMinutes + other.totalMinutes,
+                Math.min(shortestMinutes, other.shortestMinutes), Math.max(longestMinutes, other.longestMinutes));
+    }
+}
@@ -19,9 +19,9 @@ public class DemoModeState implements PersistenceModeState {
 
     public DemoModeState() {
         this.userDao = new UserDaoInMemory();
-        this.listDao = new ListDaoInMemory();
         this.movieDao = new MovieDaoInMemory();
-        this.listMovieDao = new ListMovieDaoInMemory();
+        this.listMovieDao = new ListMovieDaoInMemory(movieDao);
+        this.listDao = new ListDaoInMemory(listMovieDao);
     }
 
     @Override
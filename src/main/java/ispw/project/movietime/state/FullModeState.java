@@ -3,6 +3,7 @@ package ispw.project.movietime.state;
 import ispw.project.movietime.dao.*;
 import ispw.project.movietime.dao.csv.*;
 import ispw.project.movietime.dao.jdbc.*;
+import ispw.project.movietime.exception.DaoException;
 
 public class FullModeState implements PersistenceModeState {
 
@@ -10,8 +11,10 @@ public class FullModeState implements PersistenceModeState {
     private final ListDao listDao;
     private final MovieDao movieDao;
     private final ListMovie listMovieDao;
+    private final DaoType daoType;
 
     public FullModeState(DaoType daoType) {
+        this.daoType = daoType;
 
         switch (daoType) {
             case JDBC:
@@ -61,4 +64,9 @@ public class FullModeState implements PersistenceModeState {
         return listMovieDao;
     }
 
+    @Override
+    public UnitOfWork beginUnitOfWork() throws DaoException {
+        return daoType == DaoType.JDBC ? JdbcUnitOfWork.begin() : UnitOfWork.AUTO_COMMIT;
+    }
+
 }
\ No newline at end of file
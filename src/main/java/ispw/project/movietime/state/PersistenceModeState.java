@@ -1,10 +1,18 @@
 package ispw.project.movietime.state;
 
 import ispw.project.movietime.dao.*;
+import ispw.project.movietime.exception.DaoException;
 
 public interface PersistenceModeState {
     UserDao getUserDao();
     ListDao getListDao();
     MovieDao getMovieDao();
     ListMovie getListMovieDao();
+
+    /**
+     * Opens a unit of work for DAO calls made on the current thread; see {@link UnitOfWork}.
+     */
+    default UnitOfWork beginUnitOfWork() throws DaoException {
+        return UnitOfWork.AUTO_COMMIT;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package connection;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import ispw.project.movietime.connection.MovieJsonParser;
+import ispw.project.movietime.model.MovieModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares the streaming search parser with the previous tree-then-bind implementation on the recorded TMDB
+ * payloads in src/test/resources/tmdb, reporting throughput and bytes allocated per parse. Not a unit test;
+ * run it manually, optionally passing the number of measured iterations. The checksum column adds up the
+ * movies found per search page (the id for a details payload); both search rows must print the same value,
+ * or the streaming parser dropped or invented results.
+ */
+public class MovieJsonParserBenchmark {
+
+    private static final Gson GSON = new Gson();
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        String searchPage = widenToFullPage(fixture("search_inception_page1.json"));
+        String details = fixture("movie_27205.json");
+
+        System.out.printf("%-28s %14s %16s %14s%n", "case", "ops/s", "bytes/op", "checksum");
+        run("search: tree (previous)", iterations, searchPage, json -> legacyParseMovieSearchResults(json).size());
+        run("search: streaming", iterations, searchPage, json -> MovieJsonParser.parseMovieSearchResults(json).size());
+        run("details: streaming", iterations, details, json -> MovieJsonParser.parseMovie(json).getId());
+    }
+
+    private static void run(String name, int iterations, String payload, ToIntFunction<String> parser) throws Exception {
+        long checksum = 0;
+        for (int i = 0; i < iterations / 4; i++) {
+            checksum += parser.applyAsInt(payload);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += parser.applyAsInt(payload);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%-28s %14.0f %16d %14d%n", name, iterations / (elapsed / 1e9), allocated / iterations, checksum);
+    }
+
+    /** The implementation this benchmark is measured against: build a JsonObject tree, then bind each element. */
+    private static List<MovieModel> legacyParseMovieSearchResults(String jsonResponse) {
+        JsonObject rootJson = GSON.fromJson(jsonResponse, JsonObject.class);
+        JsonArray resultsArray = rootJson.getAsJsonArray("results");
+        List<MovieModel> movies = new ArrayList<>();
+        if (resultsArray != null) {
+            for (int i = 0; i < resultsArray.size(); i++) {
+                movies.add(GSON.fromJson(resultsArray.get(i), MovieModel.class));
+            }
+        }
+        return movies;
+    }
+
+    /** TMDB returns 20 results per page; the recorded page only has a few, so repeat them up to 20. */
+    private static String widenToFullPage(String recorded) {
+        JsonObject root = GSON.fromJson(recorded, JsonObject.class);
+        JsonArray results = root.getAsJsonArray("results");
+        JsonArray widened = new JsonArray();
+        for (int i = 0; i < 20; i++) {
+            widened.add(results.get(i % results.size()));
+        }
+        root.add("results", widened);
+        return GSON.toJson(root);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream input = MovieJsonParserBenchmark.class.getResourceAsStream("/tmdb/" + name)) {
+            if (input == null) {
+                throw new IOException("Missing fixture " + name);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Uses the HotSpot extension reflectively so the benchmark does not need a compile-time jdk.management dependency. */
+    private static long allocatedBytes() throws ReflectiveOperationException {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Method method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+        return (long) method.invoke(bean, Thread.currentThread().threadId());
+    }
+}
@@ -0,0 +1,103 @@
+package connection;
+
+import ispw.project.movietime.connection.ConnectionPool;
+import ispw.project.movietime.dao.queries.CrudList;
+import ispw.project.movietime.dao.queries.CrudListMovie;
+import ispw.project.movietime.dao.queries.CrudMovie;
+import ispw.project.movietime.model.ListModel;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Runs the hot Crud lookups (movie by id, full movie details of a list, lists of a user) against an embedded H2
+ * database through the connection pool, once with the prepared-statement cache disabled and once with the
+ * default size. Every operation borrows and returns a connection, as the JDBC DAOs do. Not a unit test; run it
+ * manually, optionally passing the number of measured iterations. Both runs issue the same lookups in the same
+ * order, so their checksums (runtimes and row counts added up) must match; a difference means a cached statement
+ * returned stale or foreign results.
+ */
+public class PreparedStatementCacheBenchmark {
+
+    private static final String H2_URL = "jdbc:h2:mem:statementbench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final int MOVIES = 2_000;
+    private static final int LISTS = 50;
+    private static final int MOVIES_PER_LIST = 20;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        try (Connection setup = DriverManager.getConnection(H2_URL, "sa", "")) {
+            createSchema(setup);
+
+            System.out.printf("%-22s %14s %12s %14s%n", "statement cache", "ops/s", "hit ratio", "checksum");
+            run("disabled", 0, iterations);
+            run("default (" + ConnectionPool.PoolSettings.DEFAULT_STATEMENT_CACHE_SIZE + ")",
+                    ConnectionPool.PoolSettings.DEFAULT_STATEMENT_CACHE_SIZE, iterations);
+        }
+    }
+
+    private static void run(String name, int cacheSize, int iterations) throws Exception {
+        ConnectionPool pool = new ConnectionPool(H2_URL, "sa", "", new ConnectionPool.PoolSettings(1, 1, 10_000L, 30_000L, 60_000L, cacheSize));
+        try {
+            long checksum = 0;
+            for (int i = 0; i < iterations / 4; i++) {
+                checksum += operation(pool, i);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                checksum += operation(pool, i);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-22s %14.0f %12.3f %14d%n", name, iterations / (elapsed / 1e9),
+                    pool.getMetrics().statementCacheHitRatio(), checksum);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int operation(ConnectionPool pool, int i) throws Exception {
+        try (Connection conn = pool.borrow()) {
+            return switch (i % 3) {
+                case 0 -> CrudMovie.getMovieById(conn, 1 + i % MOVIES).getRuntime();
+                case 1 -> CrudListMovie.getMoviesFullDetailsByList(conn, new ListModel(1 + i % LISTS, null, null)).size();
+                default -> CrudList.getListsByUsername(conn, "user" + i % 10).size();
+            };
+        }
+    }
+
+    private static void createSchema(Connection conn) throws Exception {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE movie (idMovieTmdb INT PRIMARY KEY, runtime INT, name VARCHAR(255))");
+            statement.execute("CREATE TABLE list (idList INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), username VARCHAR(255))");
+            statement.execute("CREATE TABLE list_movie (idList INT, idMovieTmdb INT, PRIMARY KEY (idList, idMovieTmdb))");
+            statement.execute("CREATE INDEX list_username ON list (username)");
+        }
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO movie VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= MOVIES; id++) {
+                ps.setInt(1, id);
+                ps.setInt(2, 80 + id % 100);
+                ps.setString(3, "Movie " + id);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement lists = conn.prepareStatement("INSERT INTO list VALUES (?, ?, ?)");
+             PreparedStatement entries = conn.prepareStatement("INSERT INTO list_movie VALUES (?, ?)")) {
+            for (int listId = 1; listId <= LISTS; listId++) {
+                lists.setInt(1, listId);
+                lists.setString(2, "List " + listId);
+                lists.setString(3, "user" + listId % 10);
+                lists.addBatch();
+                for (int j = 0; j < MOVIES_PER_LIST; j++) {
+                    entries.setInt(1, listId);
+                    entries.setInt(2, 1 + (listId * 37 + j * 11) % MOVIES);
+                    entries.addBatch();
+                }
+            }
+            lists.executeBatch();
+            entries.executeBatch();
+        }
+    }
+}
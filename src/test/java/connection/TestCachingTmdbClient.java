@@ -0,0 +1,261 @@
+package connection;
+
+import ispw.project.movietime.connection.CachingTmdbClient;
+import ispw.project.movietime.connection.TmdbApiClient;
+import ispw.project.movietime.exception.ApiException;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSearchPage;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCachingTmdbClient {
+
+    private MockWebServer server;
+    private CachingTmdbClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new CachingTmdbClient(new TmdbApiClient(server.url("/3/"), "test-key"),
+                2, Duration.ofMinutes(5), 2, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    static String fixture(String name) throws IOException {
+        try (InputStream input = TestCachingTmdbClient.class.getResourceAsStream("/tmdb/" + name)) {
+            assertNotNull(input, "Missing fixture " + name);
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Movie details are fetched once and then served from the cache")
+    void testMovieDetailsAreCached() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")));
+
+        MovieModel first = client.getMovieById(27205).get(5, TimeUnit.SECONDS);
+        MovieModel second = client.getMovieById(27205).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Inception", first.getTitle());
+        assertEquals(148, first.getRuntime());
+        assertNotSame(first, second, "Every caller should get its own copy.");
+        assertEquals(first.getTitle(), second.getTitle());
+        assertEquals(1, server.getRequestCount());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/3/movie/27205", request.getRequestUrl().encodedPath());
+        assertEquals("test-key", request.getRequestUrl().queryParameter("api_key"));
+        assertEquals(1, client.getStats().hits());
+        assertEquals(1, client.getStats().misses());
+    }
+
+    @Test
+    @DisplayName("Concurrent requests for the same movie share one HTTP call")
+    void testConcurrentRequestsAreCoalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")).setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        List<CompletableFuture<MovieModel>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(client.getMovieById(27205));
+        }
+        for (CompletableFuture<MovieModel> future : futures) {
+            assertEquals(27205, future.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals(9, client.getStats().coalesced());
+    }
+
+    @Test
+    @DisplayName("Cancelling one caller does not cancel the shared request")
+    void testCancellingOneCallerKeepsOthers() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")).setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<MovieModel> cancelled = client.getMovieById(27205);
+        CompletableFuture<MovieModel> waiting = client.getMovieById(27205);
+        cancelled.cancel(true);
+
+        assertEquals("Inception", waiting.get(5, TimeUnit.SECONDS).getTitle());
+    }
+
+    @Test
+    @DisplayName("Once every caller has cancelled, the request is abandoned and the next caller starts afresh")
+    void testAbandonedRequestIsNotReused() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")).setHeadersDelay(2, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")));
+
+        CompletableFuture<MovieModel> first = client.getMovieById(27205);
+        CompletableFuture<MovieModel> second = client.getMovieById(27205);
+        first.cancel(true);
+        second.cancel(true);
+
+        MovieModel movie = client.getMovieById(27205).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Inception", movie.getTitle());
+        assertEquals(1, client.getStats().coalesced(), "Only the second of the cancelled callers was coalesced.");
+        assertEquals(2, client.getStats().misses());
+    }
+
+    @Test
+    @DisplayName("Search pages are cached per query and page")
+    void testSearchPagesAreCachedByQueryAndPage() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("search_inception_page1.json")));
+        server.enqueue(new MockResponse().setBody("{\"page\":2,\"results\":[],\"total_pages\":3,\"total_results\":54}"));
+
+        List<MovieModel> page1 = client.searchMovies("inception", 1).get(5, TimeUnit.SECONDS);
+        List<MovieModel> page2 = client.searchMovies("inception", 2).get(5, TimeUnit.SECONDS);
+        client.searchMovies("inception", 1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, page1.size());
+        assertTrue(page2.isEmpty());
+        assertEquals(2, server.getRequestCount());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/3/search/movie", request.getRequestUrl().encodedPath());
+        assertEquals("inception", request.getRequestUrl().queryParameter("query"));
+        assertEquals("1", request.getRequestUrl().queryParameter("page"));
+    }
+
+    @Test
+    @DisplayName("Search pages carry the paging totals and share the cache with plain result lists")
+    void testSearchPageTotals() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("search_inception_page1.json")));
+
+        MovieSearchPage page = client.searchMoviePage("inception", 1).get(5, TimeUnit.SECONDS);
+        List<MovieModel> results = client.searchMovies("inception", 1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, page.page());
+        assertEquals(3, page.totalPages());
+        assertEquals(54, page.totalResults());
+        assertEquals(page.results(), results);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Failures are reported as ApiException and not cached")
+    void testFailuresAreNotCached() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"status_code\":34}"));
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> client.getMovieById(27205).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ApiException.class, failure.getCause());
+        assertFalse(failure.getCause().getMessage().contains("test-key"), "The API key must not leak into error messages.");
+
+        assertEquals("Inception", client.getMovieById(27205).get(5, TimeUnit.SECONDS).getTitle());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted when the cache is full")
+    void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")));
+        }
+        client.getMovieById(1).get(5, TimeUnit.SECONDS);
+        client.getMovieById(2).get(5, TimeUnit.SECONDS);
+        client.getMovieById(1).get(5, TimeUnit.SECONDS);
+        client.getMovieById(3).get(5, TimeUnit.SECONDS);
+        assertEquals(3, server.getRequestCount());
+
+        client.getMovieById(1).get(5, TimeUnit.SECONDS);
+        assertEquals(3, server.getRequestCount(), "Recently used entry should still be cached.");
+        client.getMovieById(2).get(5, TimeUnit.SECONDS);
+        assertEquals(4, server.getRequestCount(), "Least recently used entry should have been evicted.");
+    }
+
+    @Test
+    @DisplayName("Batch lookups report every movie and keep going past failures")
+    void testBatchLookupToleratesPartialFailures() throws Exception {
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getRequestUrl().encodedPath();
+                if (path.endsWith("/13")) {
+                    return new MockResponse().setResponseCode(404).setBody("{\"status_code\":34}");
+                }
+                String id = path.substring(path.lastIndexOf('/') + 1);
+                return new MockResponse().setBody("{\"id\":" + id + ",\"title\":\"Movie " + id + "\"}")
+                        .setBodyDelay(50, TimeUnit.MILLISECONDS);
+            }
+        });
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            ids.add(i);
+        }
+        List<Integer> streamed = java.util.Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        CachingTmdbClient.BatchResult result = client.getMoviesByIds(ids, 8, (id, movie) -> streamed.add(id)).get(10, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(39, result.movies().size());
+        assertEquals(List.of(13), new ArrayList<>(result.failures().keySet()));
+        assertInstanceOf(ApiException.class, result.failures().get(13));
+        assertEquals(ids.stream().filter(id -> id != 13).toList(), new ArrayList<>(result.movies().keySet()), "Results keep request order.");
+        assertEquals(39, streamed.size());
+        assertTrue(elapsedMillis < 40 * 50, "Lookups should overlap, took " + elapsedMillis + " ms.");
+    }
+
+    @Test
+    @DisplayName("Changing a returned movie does not change what later callers get")
+    void testCachedMoviesAreCopied() throws Exception {
+        server.enqueue(new MockResponse().setBody(fixture("movie_27205.json")));
+
+        client.getMovieById(27205).get(5, TimeUnit.SECONDS).setTitle("Changed");
+
+        assertEquals("Inception", client.getMovieById(27205).get(5, TimeUnit.SECONDS).getTitle());
+    }
+
+    @Test
+    @DisplayName("A batch served from the cache does not grow the stack per movie")
+    void testCachedBatchDoesNotRecurse() throws Exception {
+        CachingTmdbClient largeClient = new CachingTmdbClient(new TmdbApiClient(server.url("/3/"), "test-key"),
+                5_000, Duration.ofMinutes(5), 2, Duration.ofMinutes(5));
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getRequestUrl().encodedPath();
+                String id = path.substring(path.lastIndexOf('/') + 1);
+                return new MockResponse().setBody("{\"id\":" + id + ",\"title\":\"Movie " + id + "\"}");
+            }
+        });
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            ids.add(i);
+        }
+        largeClient.getMoviesByIds(ids, 16, null).get(30, TimeUnit.SECONDS);
+
+        // Every lookup is now a cache hit and completes on the calling thread, which has a small stack
+        CompletableFuture<CachingTmdbClient.BatchResult> cachedBatch = new CompletableFuture<>();
+        Thread caller = new Thread(null, () -> {
+            try {
+                cachedBatch.complete(largeClient.getMoviesByIds(ids, 1, null).join());
+            } catch (Throwable e) {
+                cachedBatch.completeExceptionally(e);
+            }
+        }, "cached-batch", 128 * 1024);
+        caller.start();
+
+        assertEquals(2_000, cachedBatch.get(10, TimeUnit.SECONDS).movies().size());
+    }
+}
@@ -0,0 +1,197 @@
+package connection;
+
+import ispw.project.movietime.connection.ConnectionPool;
+import ispw.project.movietime.exception.DatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestConnectionPool {
+
+    private static final String H2_URL = "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(H2_URL, "sa", "", new ConnectionPool.PoolSettings(1, 3, 200L, 30_000L, 60_000L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Closing a borrowed connection returns it to the pool instead of closing it")
+    void testCloseReturnsConnectionToPool() throws SQLException {
+        Connection first = pool.borrow();
+        try (Statement statement = first.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS movie (idMovieTmdb INT PRIMARY KEY, runtime INT, name VARCHAR(255))");
+        }
+        first.close();
+        assertTrue(first.isClosed(), "Returned handle should report closed.");
+
+        assertEquals(1, pool.getMetrics().totalConnections(), "Physical connection should be reused.");
+        assertEquals(1, pool.getMetrics().idleConnections());
+
+        try (Connection second = pool.borrow();
+             Statement statement = second.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM movie")) {
+            assertTrue(resultSet.next());
+        }
+        assertEquals(1, pool.getMetrics().createdCount(), "No new physical connection should have been opened.");
+        assertEquals(2, pool.getMetrics().borrowCount());
+    }
+
+    @Test
+    @DisplayName("Using a connection after returning it fails")
+    void testUseAfterCloseFails() throws SQLException {
+        Connection connection = pool.borrow();
+        connection.close();
+        assertThrows(SQLException.class, connection::createStatement);
+    }
+
+    @Test
+    @DisplayName("Borrowing beyond max size times out")
+    void testBorrowTimesOutWhenExhausted() throws SQLException {
+        List<Connection> held = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            held.add(pool.borrow());
+        }
+        assertThrows(DatabaseException.class, pool::borrow);
+        assertEquals(1, pool.getMetrics().timeoutCount());
+
+        for (Connection connection : held) {
+            connection.close();
+        }
+        assertEquals(3, pool.getMetrics().idleConnections());
+        assertEquals(0, pool.getMetrics().activeConnections());
+    }
+
+    @Test
+    @DisplayName("Uncommitted work is rolled back when a connection is returned")
+    void testUncommittedWorkIsRolledBackOnReturn() throws SQLException {
+        try (Connection connection = pool.borrow(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS tx_check (id INT PRIMARY KEY)");
+            statement.execute("DELETE FROM tx_check");
+        }
+        try (Connection connection = pool.borrow()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO tx_check VALUES (1)");
+            }
+        }
+        try (Connection connection = pool.borrow();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM tx_check")) {
+            assertTrue(connection.getAutoCommit(), "Auto-commit should be restored on return.");
+            assertTrue(resultSet.next());
+            assertEquals(0, resultSet.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent borrowers never exceed the max pool size")
+    void testConcurrentBorrowersAreBounded() throws Exception {
+        ConnectionPool widePool = new ConnectionPool(H2_URL, "sa", "", new ConnectionPool.PoolSettings(0, 3, 5_000L, 30_000L, 60_000L));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = widePool.borrow();
+                         Statement statement = connection.createStatement();
+                         ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                        resultSet.next();
+                        return widePool.getMetrics().activeConnections();
+                    }
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertTrue(future.get() <= 3, "Active connections must stay within the max size.");
+            }
+            assertTrue(widePool.getMetrics().createdCount() <= 3);
+            assertEquals(64, widePool.getMetrics().borrowCount());
+        } finally {
+            executor.shutdownNow();
+            widePool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Preparing the same SQL again reuses the cached statement with cleared parameters")
+    void testPreparedStatementsAreReused() throws SQLException {
+        PreparedStatement first;
+        try (Connection connection = pool.borrow(); PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            statement.setInt(1, 7);
+            first = statement.unwrap(PreparedStatement.class);
+            assertSame(connection, statement.getConnection());
+        }
+        try (Connection connection = pool.borrow(); PreparedStatement statement = connection.prepareStatement("SELECT ?")) {
+            assertSame(first, statement.unwrap(PreparedStatement.class), "The physical statement should be reused.");
+            assertThrows(SQLException.class, statement::executeQuery, "Parameters should be cleared on return.");
+        }
+        assertEquals(1, pool.getMetrics().statementCacheHits());
+        assertEquals(1, pool.getMetrics().statementCacheMisses());
+        assertFalse(first.isClosed());
+    }
+
+    @Test
+    @DisplayName("The least recently used statement is evicted and closed")
+    void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+        ConnectionPool smallCache = new ConnectionPool(H2_URL, "sa", "", new ConnectionPool.PoolSettings(1, 1, 200L, 30_000L, 60_000L, 2));
+        try (Connection connection = smallCache.borrow()) {
+            PreparedStatement one = prepareAndClose(connection, "SELECT 1");
+            PreparedStatement two = prepareAndClose(connection, "SELECT 2");
+            prepareAndClose(connection, "SELECT 1");
+            prepareAndClose(connection, "SELECT 3");
+
+            assertFalse(one.isClosed());
+            assertTrue(two.isClosed(), "SELECT 2 was the least recently used statement.");
+            assertEquals(1, smallCache.getMetrics().statementCacheEvictions());
+            assertEquals(1, smallCache.getMetrics().statementCacheHits());
+            assertEquals(3, smallCache.getMetrics().statementCacheMisses());
+        } finally {
+            smallCache.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Statements left open are reclaimed when the connection is returned")
+    void testOpenStatementsAreReclaimedOnReturn() throws SQLException {
+        Connection connection = pool.borrow();
+        PreparedStatement leaked = connection.prepareStatement("SELECT 1");
+        PreparedStatement nested = connection.prepareStatement("SELECT 1");
+        nested.close();
+        connection.close();
+
+        assertTrue(leaked.isClosed());
+        assertThrows(SQLException.class, leaked::executeQuery);
+        try (Connection again = pool.borrow(); PreparedStatement statement = again.prepareStatement("SELECT 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+        }
+        assertEquals(1, pool.getMetrics().statementCacheHits());
+    }
+
+    private static PreparedStatement prepareAndClose(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            return statement.unwrap(PreparedStatement.class);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package connection;
+
+import ispw.project.movietime.connection.TmdbApiClient;
+import ispw.project.movietime.connection.TmdbHttpCache;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTmdbHttpCache {
+
+    @TempDir
+    Path cacheDir;
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private String fetchMovie(TmdbApiClient client) throws Exception {
+        return client.getMovieJsonById(27205).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Cached responses survive a restart and are shared across API keys")
+    void testResponsesPersistAcrossRestarts() throws Exception {
+        server.enqueue(new MockResponse().setBody(TestCachingTmdbClient.fixture("movie_27205.json")));
+
+        TmdbHttpCache firstCache = new TmdbHttpCache(cacheDir, 1024 * 1024, Duration.ofHours(1));
+        String first = fetchMovie(new TmdbApiClient(server.url("/3/"), "key-one", firstCache));
+        firstCache.close();
+
+        TmdbHttpCache restartedCache = new TmdbHttpCache(cacheDir, 1024 * 1024, Duration.ofHours(1));
+        String second = fetchMovie(new TmdbApiClient(server.url("/3/"), "key-two", restartedCache));
+
+        assertEquals(first, second);
+        assertEquals(1, server.getRequestCount(), "The second lookup should be served from disk.");
+        assertEquals("key-one", server.takeRequest().getRequestUrl().queryParameter("api_key"));
+        assertEquals(1, restartedCache.getStats().hits());
+        assertEquals(0, restartedCache.getStats().misses());
+        restartedCache.close();
+    }
+
+    @Test
+    @DisplayName("Stale entries with an ETag are revalidated with a conditional request")
+    void testStaleEntriesAreRevalidated() throws Exception {
+        server.enqueue(new MockResponse().setBody(TestCachingTmdbClient.fixture("movie_27205.json")).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        TmdbHttpCache cache = new TmdbHttpCache(cacheDir, 1024 * 1024, Duration.ZERO);
+        TmdbApiClient client = new TmdbApiClient(server.url("/3/"), "key", cache);
+        String first = fetchMovie(client);
+        String second = fetchMovie(client);
+
+        assertEquals(first, second);
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest();
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        assertEquals("key", revalidation.getRequestUrl().queryParameter("api_key"));
+        assertEquals(1, cache.getStats().hits(), "A 304 counts as a cache hit.");
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("The server's shorter max-age and no-store are honoured")
+    void testServerCacheControlIsHonoured() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":1}").setHeader("Cache-Control", "no-store"));
+        server.enqueue(new MockResponse().setBody("{\"id\":1}"));
+
+        TmdbHttpCache cache = new TmdbHttpCache(cacheDir, 1024 * 1024, Duration.ofHours(1));
+        TmdbApiClient client = new TmdbApiClient(server.url("/3/"), "key", cache);
+        fetchMovie(client);
+        fetchMovie(client);
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, cache.getStats().misses());
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Error responses are not cached")
+    void testErrorResponsesAreNotCached() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"status_code\":34}"));
+        server.enqueue(new MockResponse().setBody("{\"id\":27205}"));
+
+        TmdbHttpCache cache = new TmdbHttpCache(cacheDir, 1024 * 1024, Duration.ofHours(1));
+        TmdbApiClient client = new TmdbApiClient(server.url("/3/"), "key", cache);
+        assertThrows(ExecutionException.class, () -> fetchMovie(client));
+
+        assertEquals("{\"id\":27205}", fetchMovie(client));
+        assertEquals(2, server.getRequestCount(), "The 404 should not be served from disk.");
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("The cache stays within its size cap")
+    void testSizeCapIsEnforced() throws Exception {
+        String body = "{\"overview\":\"" + "x".repeat(8 * 1024) + "\"}";
+        for (int i = 0; i < 10; i++) {
+            server.enqueue(new MockResponse().setBody(body));
+        }
+        TmdbHttpCache cache = new TmdbHttpCache(cacheDir, 32 * 1024, Duration.ofHours(1));
+        TmdbApiClient client = new TmdbApiClient(server.url("/3/"), "key", cache);
+        for (int i = 0; i < 10; i++) {
+            client.getMovieJsonById(i).get(5, TimeUnit.SECONDS);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getStats().sizeBytes() > 32 * 1024 && System.nanoTime() < deadline) {
+            Thread.sleep(20); // eviction runs on OkHttp's background cleanup task
+        }
+        assertTrue(cache.getStats().sizeBytes() <= 32 * 1024, "Cache size " + cache.getStats().sizeBytes() + " exceeds its cap.");
+        cache.close();
+    }
+}
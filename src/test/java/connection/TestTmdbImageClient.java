@@ -0,0 +1,72 @@
+package connection;
+
+import ispw.project.movietime.connection.TmdbHttpCache;
+import ispw.project.movietime.connection.TmdbImageClient;
+import ispw.project.movietime.connection.TmdbImageClient.PosterSize;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTmdbImageClient {
+
+    @Nested
+    @DisplayName("Poster downloads")
+    class DownloadTests {
+
+        @TempDir
+        Path cacheDir;
+
+        private MockWebServer server;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            server = new MockWebServer();
+            server.start();
+        }
+
+        @AfterEach
+        void tearDown() throws IOException {
+            server.shutdown();
+        }
+
+        @Test
+        @DisplayName("The poster size follows the target width and repeated loads are served from disk")
+        void testSizedDownloadIsCachedOnDisk() throws Exception {
+            byte[] poster = {1, 2, 3, 4, 5, 6, 7, 8};
+            server.enqueue(new MockResponse().setBody(new Buffer().write(poster)));
+
+            TmdbHttpCache cache = new TmdbHttpCache(cacheDir, 1024 * 1024, Duration.ofDays(1));
+            TmdbImageClient client = new TmdbImageClient(server.url("/t/p/"), cache);
+            byte[] first = client.fetchImage("/poster.jpg", PosterSize.forWidth(80)).get(5, TimeUnit.SECONDS);
+            byte[] second = client.fetchImage("/poster.jpg", PosterSize.forWidth(80)).get(5, TimeUnit.SECONDS);
+
+            assertArrayEquals(poster, first);
+            assertArrayEquals(poster, second);
+            assertEquals(1, server.getRequestCount());
+            assertEquals("/t/p/w92/poster.jpg", server.takeRequest().getPath());
+            cache.close();
+        }
+
+        @Test
+        @DisplayName("Widths beyond the largest poster size fall back to w500")
+        void testPosterSizeSelection() {
+            assertEquals(PosterSize.W92, PosterSize.forWidth(92));
+            assertEquals(PosterSize.W185, PosterSize.forWidth(93));
+            assertEquals(PosterSize.W500, PosterSize.forWidth(300));
+            assertEquals(PosterSize.W500, PosterSize.forWidth(1200));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package connection;
+
+import ispw.project.movietime.connection.TmdbApiClient;
+import ispw.project.movietime.connection.TmdbRequestScheduler;
+import ispw.project.movietime.exception.ApiException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTmdbRequestScheduler {
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private TmdbApiClient clientWith(TmdbRequestScheduler scheduler) {
+        return new TmdbApiClient(server.url("/3/"), "key", null, scheduler);
+    }
+
+    private static TmdbRequestScheduler.Settings settings(double rate, int burst, long maxWaitMillis, int retries) {
+        return new TmdbRequestScheduler.Settings(rate, burst, Duration.ofMillis(maxWaitMillis), retries,
+                Duration.ofMillis(10), Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("5xx responses are retried with backoff until they succeed")
+    void testServerErrorsAreRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("{\"id\":27205}"));
+        TmdbRequestScheduler scheduler = new TmdbRequestScheduler(settings(100, 10, 1000, 3));
+
+        assertEquals("{\"id\":27205}", clientWith(scheduler).getMovieJsonById(27205).get(5, TimeUnit.SECONDS));
+        assertEquals(3, server.getRequestCount());
+        TmdbRequestScheduler.EndpointMetrics metrics = scheduler.getMetrics("movie/{id}");
+        assertEquals(1, metrics.requests());
+        assertEquals(2, metrics.retries());
+    }
+
+    @Test
+    @DisplayName("A 429 is retried after the server's Retry-After delay")
+    void testRetryAfterIsRespected() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody("{\"results\":[]}"));
+        TmdbRequestScheduler scheduler = new TmdbRequestScheduler(settings(100, 10, 1000, 3));
+
+        long start = System.nanoTime();
+        clientWith(scheduler).searchMoviesJson("inception", 1).get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis >= 950, "Retry should wait for Retry-After, waited " + elapsedMillis + " ms.");
+        assertEquals(1, scheduler.getMetrics("search/movie").throttledResponses());
+    }
+
+    @Test
+    @DisplayName("Retries stop after the configured number of attempts")
+    void testRetriesAreBounded() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        TmdbRequestScheduler scheduler = new TmdbRequestScheduler(settings(100, 10, 1000, 2));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> clientWith(scheduler).getMovieJsonById(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ApiException.class, failure.getCause());
+        assertTrue(failure.getCause().getMessage().contains("500"));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Requests over the rate wait for a slot instead of failing")
+    void testRequestsQueueWithinTheRate() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            server.enqueue(new MockResponse().setBody("{}"));
+        }
+        TmdbRequestScheduler scheduler = new TmdbRequestScheduler(settings(10, 1, 5000, 0));
+        TmdbApiClient client = clientWith(scheduler);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(client.getMovieJsonById(i));
+        }
+        for (CompletableFuture<String> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis >= 450, "Six requests at 10/s with a burst of one should take about 0.5 s, took " + elapsedMillis + " ms.");
+        TmdbRequestScheduler.EndpointMetrics metrics = scheduler.getMetrics("movie/{id}");
+        assertTrue(metrics.maxQueueWaitMillis() > 0);
+        assertTrue(metrics.maxQueueDepth() >= 1);
+        assertEquals(0, metrics.queueDepth());
+    }
+
+    @Test
+    @DisplayName("Requests that cannot get a slot within the bounded wait fail")
+    void testQueueWaitIsBounded() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("{}"));
+        }
+        TmdbRequestScheduler scheduler = new TmdbRequestScheduler(settings(1, 1, 100, 0));
+        TmdbApiClient client = clientWith(scheduler);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(client.getMovieJsonById(i));
+        }
+        int failures = 0;
+        for (CompletableFuture<String> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(ApiException.class, e.getCause());
+                failures++;
+            }
+        }
+        assertEquals(2, failures);
+        assertEquals(2, scheduler.getMetrics("movie/{id}").rejected());
+    }
+}
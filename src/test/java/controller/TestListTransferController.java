@@ -0,0 +1,128 @@
+package controller;
+
+import ispw.project.movietime.bean.UserBean;
+import ispw.project.movietime.controller.application.ListTransferController;
+import ispw.project.movietime.controller.application.ListTransferController.TransferProgress;
+import ispw.project.movietime.dao.ListDao;
+import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.UserDao;
+import ispw.project.movietime.dao.csv.CsvStorageEngine;
+import ispw.project.movietime.dao.csv.ListDaoCsv;
+import ispw.project.movietime.dao.csv.ListMovieDaoCsv;
+import ispw.project.movietime.dao.csv.MovieDaoCsv;
+import ispw.project.movietime.dao.csv.UserDaoCsv;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.UserModel;
+import ispw.project.movietime.state.DemoModeState;
+import ispw.project.movietime.state.PersistenceModeState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestListTransferController {
+
+    @TempDir
+    Path tempDir;
+
+    private final UserBean user = new UserBean("ilie", "psw");
+    private PersistenceModeState source;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        source = new DemoModeState();
+        MovieModel inception = new MovieModel(27205, 148, "Inception");
+        MovieModel fightClub = new MovieModel(550, 139, "Fight Club");
+        source.getMovieDao().saveMovies(List.of(inception, fightClub));
+
+        ListModel favourites = new ListModel(0, "Favourites", "ilie");
+        ListModel later = new ListModel(0, "Watch \"later\"", "ilie");
+        UserModel owner = new UserModel("ilie", "psw");
+        source.getListDao().saveList(favourites, owner);
+        source.getListDao().saveList(later, owner);
+        source.getListMovieDao().addMoviesToList(favourites, List.of(inception, fightClub));
+        source.getListMovieDao().addMoviesToList(later, List.of(fightClub));
+    }
+
+    private PersistenceModeState csvState() throws Exception {
+        for (String name : List.of("movie.csv", "list.csv", "user.csv", "listmovie.csv")) {
+            Files.writeString(tempDir.resolve(name), "");
+        }
+        CsvStorageEngine engine = new CsvStorageEngine(tempDir.resolve("movie.csv"), tempDir.resolve("list.csv"),
+                tempDir.resolve("user.csv"), tempDir.resolve("listmovie.csv"));
+        return new PersistenceModeState() {
+            private final ListMovie listMovieDao = new ListMovieDaoCsv(engine);
+
+            @Override
+            public UserDao getUserDao() {
+                return new UserDaoCsv(engine);
+            }
+
+            @Override
+            public ListDao getListDao() {
+                return new ListDaoCsv(engine);
+            }
+
+            @Override
+            public MovieDao getMovieDao() {
+                return new MovieDaoCsv(engine);
+            }
+
+            @Override
+            public ListMovie getListMovieDao() {
+                return listMovieDao;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Lists exported from memory are imported into CSV with their movies, and movies are written once")
+    void testRoundTripBetweenBackends() throws Exception {
+        Path file = tempDir.resolve("lists.jsonl");
+        List<TransferProgress> progress = new ArrayList<>();
+        TransferProgress exported = new ListTransferController(source).exportLists(user, file, progress::add);
+
+        assertEquals(new TransferProgress(2, 2, 3, 1.0), exported);
+        assertEquals(1.0, progress.getLast().fraction());
+        assertEquals(1 + 2 + 2 + 3, Files.readAllLines(file).size(), "Header, lists, distinct movies and entries.");
+
+        PersistenceModeState target = csvState();
+        TransferProgress imported = new ListTransferController(target).importLists(user, file, p -> { });
+        assertEquals(new TransferProgress(2, 2, 3, 1.0), imported);
+
+        List<ListModel> lists = target.getListDao().retrieveAllListsOfUsername("ilie");
+        assertEquals(2, lists.size());
+        int entries = 0;
+        for (ListModel list : lists) {
+            entries += target.getListMovieDao().getAllMoviesInList(list).size();
+        }
+        assertEquals(3, entries);
+        assertEquals("Inception", target.getMovieDao().retrieveById(27205).getTitle());
+
+        TransferProgress again = new ListTransferController(target).importLists(user, file, p -> { });
+        assertEquals(0, again.movies(), "Movies already stored are not written again.");
+        assertEquals(4, target.getListDao().retrieveAllListsOfUsername("ilie").size());
+    }
+
+    @Test
+    @DisplayName("Files without the format header are rejected before anything is written")
+    void testRejectsUnknownFiles() throws Exception {
+        Path file = tempDir.resolve("other.jsonl");
+        Files.writeString(file, "{\"type\":\"list\",\"id\":1,\"name\":\"x\"}\n");
+
+        PersistenceModeState target = csvState();
+        ListTransferController controller = new ListTransferController(target);
+        assertThrows(DaoException.class, () -> controller.importLists(user, file, p -> { }));
+        assertTrue(target.getListDao().retrieveAllListsOfUsername("ilie").isEmpty());
+    }
+}
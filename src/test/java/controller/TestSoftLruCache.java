@@ -0,0 +1,41 @@
+package controller;
+
+import ispw.project.movietime.controller.graphic.gui.SoftLruCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Decoded image cache")
+class TestSoftLruCache {
+
+    @Test
+    @DisplayName("Entries beyond the weight cap move to the soft tier and can be revived")
+    void testWeightCapEvictsToSoftTier() {
+        SoftLruCache<String, byte[]> cache = new SoftLruCache<>(100, value -> value.length);
+        byte[] first = new byte[60];
+        byte[] second = new byte[60];
+
+        cache.put("first", first);
+        cache.put("second", second);
+
+        assertEquals(1, cache.size());
+        assertEquals(60, cache.weight());
+        assertSame(first, cache.get("first"), "The evicted entry is still softly reachable.");
+        assertEquals(60, cache.weight(), "Reviving an entry evicts the other one in turn.");
+    }
+
+    @Test
+    @DisplayName("Replacing and invalidating entries keep the weight in step")
+    void testWeightAccounting() {
+        SoftLruCache<String, byte[]> cache = new SoftLruCache<>(100, value -> value.length);
+        cache.put("a", new byte[10]);
+        cache.put("a", new byte[30]);
+        cache.put("b", new byte[20]);
+        assertEquals(50, cache.weight());
+
+        cache.invalidate("a");
+        assertEquals(20, cache.weight());
+        assertNull(cache.get("a"));
+    }
+}
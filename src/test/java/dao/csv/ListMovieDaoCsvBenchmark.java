@@ -0,0 +1,138 @@
+package dao.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import ispw.project.movietime.dao.csv.CsvStorageEngine;
+import ispw.project.movietime.dao.csv.ListMovieDaoCsv;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.MovieModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Compares resolving every movie of one large list through the indexed CSV engine against the
+ * previous per-row rescan of movie.csv. Not a unit test; run it manually with the list sizes to try:
+ * {@code ListMovieDaoCsvBenchmark 1000 2000 4000 8000}.
+ */
+public class ListMovieDaoCsvBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int LEGACY_LIMIT = 4000;
+
+    public static void main(String[] args) throws Exception {
+        Logger.getLogger("").setLevel(Level.WARNING);
+        int[] sizes = args.length == 0 ? new int[]{1000, 2000, 4000, 8000} : parseSizes(args);
+
+        System.out.printf("%8s %16s %16s %18s %18s%n", "entries", "indexed ms", "indexed ns/row", "legacy scan ms", "legacy ns/row");
+        for (int size : sizes) {
+            Path dir = Files.createTempDirectory("listmovie-bench");
+            try {
+                writeFixture(dir, size);
+                double indexedMs = measureIndexed(dir, size);
+                double legacyMs = size <= LEGACY_LIMIT ? measureLegacy(dir, size) : Double.NaN;
+                System.out.printf("%8d %16.3f %16.1f %18.3f %18.1f%n", size,
+                        indexedMs, indexedMs * 1_000_000 / size, legacyMs, legacyMs * 1_000_000 / size);
+            } finally {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+
+    private static void writeFixture(Path dir, int size) throws IOException {
+        try (CSVWriter movies = new CSVWriter(Files.newBufferedWriter(dir.resolve("movie.csv")));
+             CSVWriter listMovies = new CSVWriter(Files.newBufferedWriter(dir.resolve("listmovie.csv")))) {
+            for (int i = 1; i <= size; i++) {
+                movies.writeNext(new String[]{String.valueOf(i), String.valueOf(90 + i % 60), "Movie " + i});
+                listMovies.writeNext(new String[]{"1", String.valueOf(size + 1 - i)});
+            }
+        }
+        Files.writeString(dir.resolve("list.csv"), "\"1\",\"Benchmark\",\"bench\"\n");
+        Files.writeString(dir.resolve("user.csv"), "\"bench\",\"pw\"\n");
+    }
+
+    /** Includes loading the engine, so the one-off file pass is part of the measured cost. */
+    private static double measureIndexed(Path dir, int size) {
+        ListModel list = new ListModel(1, "Benchmark", "bench");
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            check(new ListMovieDaoCsv(openEngine(dir)).getAllMoviesInList(list).size(), size);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            check(new ListMovieDaoCsv(openEngine(dir)).getAllMoviesInList(list).size(), size);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static double measureLegacy(Path dir, int size) throws IOException, CsvValidationException {
+        check(legacyGetAllMoviesInList(dir, 1).size(), size);
+        long start = System.nanoTime();
+        check(legacyGetAllMoviesInList(dir, 1).size(), size);
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static CsvStorageEngine openEngine(Path dir) {
+        return new CsvStorageEngine(dir.resolve("movie.csv"), dir.resolve("list.csv"),
+                dir.resolve("user.csv"), dir.resolve("listmovie.csv"));
+    }
+
+    /** The read path the CSV DAO used before the engine: one full pass over movie.csv per list entry. */
+    private static List<MovieModel> legacyGetAllMoviesInList(Path dir, int listId) throws IOException, CsvValidationException {
+        List<MovieModel> movies = new ArrayList<>();
+        try (CSVReader listMovies = new CSVReader(Files.newBufferedReader(dir.resolve("listmovie.csv")))) {
+            String[] row;
+            while ((row = listMovies.readNext()) != null) {
+                if (row[0].equals(String.valueOf(listId))) {
+                    MovieModel movie = legacyFetchMovieById(dir, Integer.parseInt(row[1]));
+                    if (movie != null) {
+                        movies.add(movie);
+                    }
+                }
+            }
+        }
+        return movies;
+    }
+
+    private static MovieModel legacyFetchMovieById(Path dir, int id) throws IOException, CsvValidationException {
+        try (CSVReader movies = new CSVReader(Files.newBufferedReader(dir.resolve("movie.csv")))) {
+            String[] row;
+            while ((row = movies.readNext()) != null) {
+                if (Integer.parseInt(row[0]) == id) {
+                    return new MovieModel(id, Integer.parseInt(row[1]), row[2]);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void check(int actual, int expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " movies but resolved " + actual);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
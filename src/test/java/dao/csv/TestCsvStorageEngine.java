@@ -0,0 +1,247 @@
+package dao.csv;
+
+import ispw.project.movietime.dao.csv.CsvStorageEngine;
+import ispw.project.movietime.dao.csv.ListDaoCsv;
+import ispw.project.movietime.dao.csv.ListMovieDaoCsv;
+import ispw.project.movietime.dao.csv.MovieDaoCsv;
+import ispw.project.movietime.dao.csv.UserDaoCsv;
+import ispw.project.movietime.exception.CsvException;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
+import ispw.project.movietime.model.UserModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCsvStorageEngine {
+
+    @TempDir
+    Path tempDir;
+
+    private CsvStorageEngine engine;
+    private MovieDaoCsv movieDao;
+    private ListDaoCsv listDao;
+    private ListMovieDaoCsv listMovieDao;
+    private UserDaoCsv userDao;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(tempDir.resolve("movie.csv"), "\"27205\",\"148\",\"Inception\"\n\"674\",\"157\",\"Harry Potter and the Goblet of Fire\"\n\"bad\",\"1\",\"Broken\"\n");
+        Files.writeString(tempDir.resolve("list.csv"), "\"1\",\"Favourites\",\"ilie\"\n");
+        Files.writeString(tempDir.resolve("user.csv"), "\"ilie\",\"psw\"\n");
+        Files.writeString(tempDir.resolve("listmovie.csv"), "\"1\",\"27205\"\n\"1\",\"674\"\n");
+        engine = openEngine();
+        movieDao = new MovieDaoCsv(engine);
+        listDao = new ListDaoCsv(engine);
+        listMovieDao = new ListMovieDaoCsv(engine);
+        userDao = new UserDaoCsv(engine);
+    }
+
+    private CsvStorageEngine openEngine() {
+        return new CsvStorageEngine(tempDir.resolve("movie.csv"), tempDir.resolve("list.csv"),
+                tempDir.resolve("user.csv"), tempDir.resolve("listmovie.csv"));
+    }
+
+    @Nested
+    @DisplayName("Loading and lookups")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Existing records are answered from the loaded indexes")
+        void testRetrieveExistingRecords() {
+            assertEquals("Inception", movieDao.retrieveById(27205).getTitle());
+            assertEquals("psw", userDao.retrieveByUsername("ilie").getPassword());
+            ListModel list = listDao.retrieveById(1);
+            assertEquals("Favourites", list.getName());
+            assertEquals(2, list.getMovies().size());
+        }
+
+        @Test
+        @DisplayName("The row lookup returns the list without its movies")
+        void testRetrieveListRow() {
+            ListModel row = listDao.retrieveListRowById(1);
+            assertEquals("Favourites", row.getName());
+            assertEquals("ilie", row.getUsername());
+            assertTrue(row.getMovies().isEmpty());
+            assertNull(listDao.retrieveListRowById(42));
+        }
+
+        @Test
+        @DisplayName("Movie summaries are the stored rows, with interned titles")
+        void testMovieSummariesShareStoredRows() {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            List<MovieSummary> first = listMovieDao.getMovieSummariesInList(list);
+            List<MovieSummary> second = listMovieDao.getMovieSummariesInList(list);
+
+            assertEquals(List.of(new MovieSummary(674, 157, "Harry Potter and the Goblet of Fire"), new MovieSummary(27205, 148, "Inception")), first);
+            assertSame(first.get(0), second.get(0));
+            assertSame("Inception", first.get(1).title());
+        }
+
+        @Test
+        @DisplayName("Runtime statistics are maintained from the loaded and appended pairs")
+        void testRuntimeStats() {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            assertEquals(new RuntimeStats(2, 305, 148, 157), listMovieDao.getRuntimeStats(list));
+
+            listMovieDao.removeMovieFromList(list, new MovieModel(674, 157, "Harry Potter and the Goblet of Fire"));
+            assertEquals(new RuntimeStats(1, 148, 148, 148), listDao.getRuntimeStatsOfUser("ilie"));
+            assertEquals(RuntimeStats.EMPTY, listDao.getRuntimeStatsOfUser("nobody"));
+        }
+
+        @Test
+        @DisplayName("Malformed rows are skipped and unknown keys return null")
+        void testMalformedRowsAndMissingKeys() {
+            assertEquals(2, movieDao.retrieveAllMovies().size());
+            assertNull(movieDao.retrieveById(999));
+            assertNull(userDao.retrieveByUsername("nobody"));
+            assertNull(listDao.retrieveById(42));
+        }
+
+        @Test
+        @DisplayName("Lists are grouped by username")
+        void testListsOfUsername() {
+            assertEquals(1, listDao.retrieveAllListsOfUsername("ilie").size());
+            assertTrue(listDao.retrieveAllListsOfUsername("nobody").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Writes")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Saved records are visible immediately and survive a reload")
+        void testWritesArePersisted() {
+            movieDao.saveMovie(new MovieModel(550, 139, "Fight Club"));
+            userDao.saveUser(new UserModel("maria", "pw"));
+            ListModel list = new ListModel(0, "Watch later", "maria");
+            listDao.saveList(list, new UserModel("maria", "pw"));
+            assertEquals(2, list.getId(), "New list ids continue after the highest existing id.");
+            listMovieDao.addMovieToList(list, new MovieModel(550, 139, "Fight Club"));
+
+            CsvStorageEngine reloaded = openEngine();
+            assertEquals("Fight Club", new MovieDaoCsv(reloaded).retrieveById(550).getTitle());
+            assertNotNull(new UserDaoCsv(reloaded).retrieveByUsername("maria"));
+            List<MovieModel> movies = new ListMovieDaoCsv(reloaded).getAllMoviesInList(list);
+            assertEquals(1, movies.size());
+            assertEquals(550, movies.get(0).getId());
+        }
+
+        @Test
+        @DisplayName("Duplicate keys are rejected")
+        void testDuplicatesRejected() {
+            assertThrows(CsvException.class, () -> movieDao.saveMovie(new MovieModel(27205, 148, "Inception")));
+            assertThrows(CsvException.class, () -> userDao.saveUser(new UserModel("ilie", "x")));
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            assertThrows(CsvException.class, () -> listMovieDao.addMovieToList(list, new MovieModel(674, 157, "HP")));
+        }
+
+        @Test
+        @DisplayName("Deleting a list removes its movie associations")
+        void testDeleteListRemovesAssociations() throws DaoException {
+            ListModel list = listDao.retrieveById(1);
+            listDao.deleteList(list);
+            assertThrows(DaoException.class, () -> listDao.deleteList(list));
+
+            assertNull(listDao.retrieveById(1));
+            assertTrue(listMovieDao.getAllMoviesInList(list).isEmpty());
+
+            CsvStorageEngine reloaded = openEngine();
+            assertNull(new ListDaoCsv(reloaded).retrieveById(1));
+            assertTrue(new ListMovieDaoCsv(reloaded).getAllMoviesInList(list).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Batch adds append the new movies in one write and skip the ones already listed")
+        void testBatchAddSkipsExistingMovies() throws IOException {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            List<MovieModel> movies = List.of(new MovieModel(674, 157, "HP"), new MovieModel(550, 139, "Fight Club"),
+                    new MovieModel(13, 142, "Forrest Gump"), new MovieModel(550, 139, "Fight Club"));
+
+            assertEquals(2, listMovieDao.addMoviesToList(list, movies));
+            assertEquals(4, Files.readAllLines(tempDir.resolve("listmovie.csv")).size());
+            assertEquals(0, listMovieDao.addMoviesToList(list, movies));
+            assertEquals(4, Files.readAllLines(tempDir.resolve("listmovie.csv")).size());
+        }
+
+        @Test
+        @DisplayName("Removing a movie that is not in the list fails")
+        void testRemoveMissingMovieFails() {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            listMovieDao.removeMovieFromList(list, new MovieModel(674, 157, "HP"));
+            assertThrows(CsvException.class, () -> listMovieDao.removeMovieFromList(list, new MovieModel(674, 157, "HP")));
+            assertEquals(1, listMovieDao.getAllMoviesInList(list).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tombstones and compaction")
+    class TombstoneTests {
+
+        @Test
+        @DisplayName("Deletes append tombstones that are replayed on reload")
+        void testDeleteAppendsTombstone() throws IOException {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            listMovieDao.removeMovieFromList(list, new MovieModel(27205, 148, "Inception"));
+
+            List<String> lines = Files.readAllLines(tempDir.resolve("listmovie.csv"));
+            assertEquals(3, lines.size(), "The original rows stay and a tombstone is appended.");
+            assertTrue(lines.get(2).startsWith("\"#deleted\""));
+
+            List<MovieModel> movies = new ListMovieDaoCsv(openEngine()).getAllMoviesInList(list);
+            assertEquals(1, movies.size());
+            assertEquals(674, movies.get(0).getId());
+        }
+
+        @Test
+        @DisplayName("A key can be re-added after it was deleted")
+        void testReAddAfterDelete() {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            MovieModel movie = new MovieModel(674, 157, "HP");
+            listMovieDao.removeMovieFromList(list, movie);
+            listMovieDao.addMovieToList(list, movie);
+
+            assertEquals(2, new ListMovieDaoCsv(openEngine()).getAllMoviesInList(list).size());
+        }
+
+        @Test
+        @DisplayName("Compaction drops tombstones and dead rows")
+        void testCompaction() throws IOException {
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            listMovieDao.removeMovieFromList(list, new MovieModel(27205, 148, "Inception"));
+            engine.compact();
+
+            assertEquals(List.of("\"1\",\"674\""), Files.readAllLines(tempDir.resolve("listmovie.csv")));
+            assertEquals(1, new ListMovieDaoCsv(openEngine()).getAllMoviesInList(list).size());
+        }
+
+        @Test
+        @DisplayName("A leftover compaction file and a torn last line are recovered on startup")
+        void testCrashRecovery() throws IOException {
+            Files.writeString(tempDir.resolve("listmovie.csv.tmp"), "\"1\",\"999\"\n");
+            Files.writeString(tempDir.resolve("listmovie.csv"), "\"1\",\"27205\"\n\"1\",\"674\"");
+
+            CsvStorageEngine recovered = openEngine();
+            assertFalse(Files.exists(tempDir.resolve("listmovie.csv.tmp")));
+
+            ListModel list = new ListModel(1, "Favourites", "ilie");
+            new ListMovieDaoCsv(recovered).removeMovieFromList(list, new MovieModel(674, 157, "HP"));
+            List<MovieModel> movies = new ListMovieDaoCsv(openEngine()).getAllMoviesInList(list);
+            assertEquals(1, movies.size());
+            assertEquals(27205, movies.get(0).getId());
+        }
+    }
+}
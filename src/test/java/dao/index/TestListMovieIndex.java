@@ -0,0 +1,84 @@
+package dao.index;
+
+import ispw.project.movietime.dao.index.ListMovieIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ListMovieIndex Tests")
+class TestListMovieIndex {
+
+    private ListMovieIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ListMovieIndex();
+        index.addAll(1, new int[]{30, 10, 20});
+        index.addAll(2, new int[]{20, 40});
+    }
+
+    @Nested
+    @DisplayName("Membership")
+    class MembershipTests {
+
+        @Test
+        @DisplayName("Should keep movie ids sorted and skip duplicates")
+        void testAddKeepsIdsSortedAndDistinct() {
+            assertEquals(1, index.addAll(1, new int[]{25, 10, 25}));
+            assertFalse(index.add(1, 30));
+
+            assertArrayEquals(new int[]{10, 20, 25, 30}, index.movieIds(1));
+            assertTrue(index.contains(1, 25));
+            assertFalse(index.contains(2, 25));
+        }
+
+        @Test
+        @DisplayName("Should keep the reverse index in step with adds and removals")
+        void testReverseIndex() {
+            assertArrayEquals(new int[]{1, 2}, index.listIds(20));
+
+            assertTrue(index.remove(1, 20));
+            assertFalse(index.remove(1, 20));
+            assertArrayEquals(new int[]{2}, index.listIds(20));
+
+            assertArrayEquals(new int[]{20, 40}, index.removeList(2));
+            assertFalse(index.isReferenced(20));
+            assertFalse(index.isReferenced(40));
+            assertEquals(0, index.size(2));
+        }
+
+        @Test
+        @DisplayName("Should hand out copies that do not affect the index")
+        void testMovieIdsIsACopy() {
+            int[] ids = index.movieIds(1);
+            ids[0] = 99;
+
+            assertArrayEquals(new int[]{10, 20, 30}, index.movieIds(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Set Operations")
+    class SetOperationTests {
+
+        @Test
+        @DisplayName("Should combine two lists")
+        void testSetOperations() {
+            assertArrayEquals(new int[]{20}, index.intersection(1, 2));
+            assertArrayEquals(new int[]{10, 20, 30, 40}, index.union(1, 2));
+            assertArrayEquals(new int[]{10, 30}, index.difference(1, 2));
+            assertArrayEquals(new int[]{40}, index.difference(2, 1));
+        }
+
+        @Test
+        @DisplayName("Should treat an unknown list as empty")
+        void testUnknownList() {
+            assertArrayEquals(new int[0], index.intersection(1, 99));
+            assertArrayEquals(new int[]{10, 20, 30}, index.union(1, 99));
+            assertArrayEquals(new int[]{10, 20, 30}, index.difference(1, 99));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package dao.jdbc;
+
+import ispw.project.movietime.dao.Page;
+import ispw.project.movietime.dao.queries.CrudList;
+import ispw.project.movietime.dao.queries.CrudListMovie;
+import ispw.project.movietime.dao.queries.CrudMovie;
+import ispw.project.movietime.exception.DaoException;
+import ispw.project.movietime.exception.CrudQueriesException;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.ListSummary;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.MovieSummary;
+import ispw.project.movietime.model.RuntimeStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCrudListMovie {
+
+    private static final String H2_URL = "jdbc:h2:mem:crudlistmovie;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection(H2_URL, "sa", "");
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE movie (idMovieTmdb INT PRIMARY KEY, runtime INT, name VARCHAR(255))");
+            statement.execute("CREATE TABLE list (idList INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), username VARCHAR(255))");
+            statement.execute("CREATE TABLE list_movie (idList INT, idMovieTmdb INT, PRIMARY KEY (idList, idMovieTmdb))");
+            statement.execute("INSERT INTO movie VALUES (1, 148, 'Inception'), (2, 169, 'Interstellar'), (3, 90, 'Short')");
+            statement.execute("INSERT INTO list (idList, name, username) VALUES (1, 'Favourites', 'ilie'), (2, 'Later', 'ilie'), (3, 'Empty', 'ilie'), (4, 'Other', 'bob')");
+            statement.execute("INSERT INTO list_movie VALUES (1, 1), (1, 2), (2, 2), (2, 3), (4, 3)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        conn.close();
+    }
+
+    @Nested
+    @DisplayName("Runtime statistics")
+    class RuntimeStatsTests {
+
+        @Test
+        @DisplayName("Aggregates one list in SQL")
+        void testRuntimeStatsOfList() throws CrudQueriesException {
+            assertEquals(new RuntimeStats(2, 317, 148, 169), CrudListMovie.getRuntimeStatsOfList(conn, 1));
+            assertEquals(RuntimeStats.EMPTY, CrudListMovie.getRuntimeStatsOfList(conn, 3));
+        }
+
+        @Test
+        @DisplayName("Aggregates every entry of a user's lists")
+        void testRuntimeStatsOfUser() throws CrudQueriesException {
+            assertEquals(new RuntimeStats(4, 576, 90, 169), CrudListMovie.getRuntimeStatsOfUser(conn, "ilie"));
+            assertEquals(RuntimeStats.EMPTY, CrudListMovie.getRuntimeStatsOfUser(conn, "nobody"));
+        }
+    }
+
+    @Nested
+    @DisplayName("List overview")
+    class ListOverviewTests {
+
+        @Test
+        @DisplayName("Loads every list of a user with its movies in one query")
+        void testListsWithMoviesByUsername() throws CrudQueriesException {
+            List<ListModel> lists = CrudList.getListsWithMoviesByUsername(conn, "ilie");
+
+            assertEquals(List.of(1, 2, 3), lists.stream().map(ListModel::getId).toList());
+            assertEquals(List.of("Inception", "Interstellar"), lists.get(0).getMovies().stream().map(MovieModel::getTitle).toList());
+            assertEquals(List.of(2, 3), lists.get(1).getMovies().stream().map(MovieModel::getId).toList());
+            assertTrue(lists.get(2).getMovies().isEmpty());
+            assertTrue(CrudList.getListsWithMoviesByUsername(conn, "nobody").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Counts the movies of each list without loading them")
+        void testListSummariesByUsername() throws CrudQueriesException {
+            assertEquals(List.of(
+                    new ListSummary(1, "Favourites", "ilie", 2),
+                    new ListSummary(2, "Later", "ilie", 2),
+                    new ListSummary(3, "Empty", "ilie", 0)
+            ), CrudList.getListSummariesByUsername(conn, "ilie"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset pages")
+    class PageTests {
+
+        @Test
+        @DisplayName("Reads movies after the cursor and tells whether more follow")
+        void testMoviesPage() throws CrudQueriesException {
+            Page<MovieModel> first = CrudMovie.getMoviesPage(conn, Page.FIRST, 2);
+            assertEquals(List.of(1, 2), first.items().stream().map(MovieModel::getId).toList());
+            assertTrue(first.hasMore());
+
+            Page<MovieModel> last = CrudMovie.getMoviesPage(conn, first.nextAfterId(), 2);
+            assertEquals(List.of(3), last.items().stream().map(MovieModel::getId).toList());
+            assertFalse(last.hasMore());
+        }
+
+        @Test
+        @DisplayName("Walks every list page by page")
+        void testListsPages() throws DaoException, CrudQueriesException {
+            List<Integer> ids = new ArrayList<>();
+            long read = Page.forEachPage((afterId, limit) -> CrudList.getListsPage(conn, afterId, limit), 3,
+                    lists -> lists.forEach(list -> ids.add(list.getId())));
+
+            assertEquals(4, read);
+            assertEquals(List.of(1, 2, 3, 4), ids);
+        }
+
+        @Test
+        @DisplayName("Pages the movies of one list")
+        void testMovieSummariesPageByList() throws CrudQueriesException {
+            ListModel later = new ListModel(2, "Later", "ilie");
+
+            Page<MovieSummary> first = CrudListMovie.getMovieSummariesPageByList(conn, later, Page.FIRST, 1);
+            assertEquals(List.of(new MovieSummary(2, 169, "Interstellar")), first.items());
+            assertTrue(first.hasMore());
+
+            Page<MovieSummary> last = CrudListMovie.getMovieSummariesPageByList(conn, later, first.nextAfterId(), 1);
+            assertEquals(List.of(new MovieSummary(3, 90, "Short")), last.items());
+            assertFalse(last.hasMore());
+            assertTrue(CrudListMovie.getMovieSummariesPageByList(conn, new ListModel(3, "Empty", "ilie"), Page.FIRST, 1).items().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Ensure movie in list")
+    class EnsureMovieInListTests {
+
+        @Test
+        @DisplayName("Stores a new movie and links it, reporting whether the link was new")
+        void testEnsureMovieInList() throws Exception {
+            ListModel empty = new ListModel(3, "Empty", "ilie");
+            MovieModel tenet = new MovieModel(4, 150, "Tenet");
+
+            assertFalse(CrudListMovie.containsMovie(conn, empty, 4));
+            assertTrue(CrudListMovie.ensureMovieInList(conn, empty, tenet));
+            assertFalse(CrudListMovie.ensureMovieInList(conn, empty, tenet));
+            assertTrue(CrudListMovie.containsMovie(conn, empty, 4));
+            assertEquals(List.of(4), CrudListMovie.getMovieIdsByList(conn, empty));
+            assertTrue(conn.getAutoCommit(), "Auto-commit should be restored.");
+        }
+
+        @Test
+        @DisplayName("Keeps the stored details of a movie that already exists")
+        void testEnsureKeepsStoredMovie() throws CrudQueriesException {
+            ListModel empty = new ListModel(3, "Empty", "ilie");
+
+            assertTrue(CrudListMovie.ensureMovieInList(conn, empty, new MovieModel(1, 1, "Renamed")));
+            assertEquals(new RuntimeStats(1, 148, 148, 148), CrudListMovie.getRuntimeStatsOfList(conn, 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Transactions")
+    class TransactionTests {
+
+        @Test
+        @DisplayName("A batch insert joins the caller's open transaction")
+        void testBatchJoinsOpenTransaction() throws Exception {
+            ListModel empty = new ListModel(3, "Empty", "ilie");
+            conn.setAutoCommit(false);
+            assertEquals(2, CrudListMovie.addMoviesToList(conn, empty, List.of(new MovieModel(1, 148, "Inception"), new MovieModel(3, 90, "Short"))));
+            assertFalse(conn.getAutoCommit(), "The caller's transaction should stay open.");
+
+            conn.rollback();
+            conn.setAutoCommit(true);
+            assertTrue(CrudListMovie.getMovieIdsByList(conn, empty).isEmpty());
+        }
+
+        @Test
+        @DisplayName("A batch insert on an auto-commit connection commits on its own")
+        void testBatchCommitsWithoutTransaction() throws Exception {
+            ListModel empty = new ListModel(3, "Empty", "ilie");
+            CrudListMovie.addMoviesToList(conn, empty, List.of(new MovieModel(2, 169, "Interstellar")));
+
+            assertTrue(conn.getAutoCommit());
+            try (Connection other = DriverManager.getConnection(H2_URL, "sa", "")) {
+                assertEquals(List.of(2), CrudListMovie.getMovieIdsByList(other, empty));
+            }
+        }
+
+        @Test
+        @DisplayName("A batch insert skips movies already in the list and counts only new ones")
+        void testBatchSkipsExistingMovies() throws CrudQueriesException {
+            ListModel favourites = new ListModel(1, "Favourites", "ilie");
+            MovieModel shortMovie = new MovieModel(3, 90, "Short");
+
+            assertEquals(1, CrudListMovie.addMoviesToList(conn, favourites, List.of(new MovieModel(2, 169, "Interstellar"), shortMovie, shortMovie)));
+            assertEquals(List.of(1, 2, 3), CrudListMovie.getMovieIdsByList(conn, favourites).stream().sorted().toList());
+        }
+
+        @Test
+        @DisplayName("A movie batch skips stored movies and counts only new ones")
+        void testMovieBatchSkipsStoredMovies() throws CrudQueriesException {
+            MovieModel newMovie = new MovieModel(4, 120, "New");
+
+            assertEquals(1, CrudMovie.addMovies(conn, List.of(new MovieModel(1, 148, "Inception"), newMovie, newMovie)));
+            assertEquals(4, CrudMovie.getMoviesPage(conn, Page.FIRST, 10).items().size());
+        }
+    }
+}
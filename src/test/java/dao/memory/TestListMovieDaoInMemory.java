@@ -1,15 +1,19 @@
 package dao.memory;
 
 import ispw.project.movietime.dao.memory.ListMovieDaoInMemory;
+import ispw.project.movietime.dao.memory.MovieDaoInMemory;
+import ispw.project.movietime.exception.CrudQueriesException;
 import ispw.project.movietime.exception.DaoException;
 import ispw.project.movietime.model.ListModel;
 import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.RuntimeStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -112,6 +116,56 @@ class TestListMovieDaoInMemory {
         }
     }
 
+    @Nested
+    @DisplayName("Add Movies to List in Batch")
+    class AddMoviesToListTests {
+
+        @Test
+        @DisplayName("Should add every new movie and skip those already in the list")
+        void testAddMoviesSkipsDuplicates() throws DaoException {
+            ListModel list1 = createList(1, "My Watchlist", "user1");
+            MovieModel movie1 = createMovie(101, "Inception");
+            MovieModel movie2 = createMovie(102, "Interstellar");
+            MovieModel movie3 = createMovie(103, "Tenet");
+            listMovieDao.addMovieToList(list1, movie1);
+
+            int added = listMovieDao.addMoviesToList(list1, List.of(movie1, movie2, movie3, movie2));
+
+            assertEquals(2, added, "Only the movies not yet in the list should be added");
+            assertEquals(List.of(movie1, movie2, movie3), listMovieDao.getAllMoviesInList(list1));
+        }
+
+        @Test
+        @DisplayName("Should leave no entry behind for an empty batch")
+        void testAddEmptyBatch() throws DaoException {
+            ListModel list1 = createList(1, "My Watchlist", "user1");
+
+            assertEquals(0, listMovieDao.addMoviesToList(list1, List.of()));
+            assertTrue(listMovieDao.getAllMoviesInList(list1).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Ensure Movie in List")
+    class EnsureMovieInListTests {
+
+        @Test
+        @DisplayName("Should store a new movie, link it once and report whether the link was new")
+        void testEnsureMovieInList() throws DaoException, CrudQueriesException {
+            MovieDaoInMemory movieDao = new MovieDaoInMemory();
+            ListMovieDaoInMemory dao = new ListMovieDaoInMemory(movieDao);
+            ListModel list1 = createList(1, "My Watchlist", "user1");
+            MovieModel movie1 = createMovie(101, "Inception");
+
+            assertTrue(dao.ensureMovieInList(list1, movie1));
+            assertFalse(dao.ensureMovieInList(list1, movie1), "A second call should not link the movie again");
+
+            assertEquals(List.of(movie1), dao.getAllMoviesInList(list1));
+            assertEquals(movie1, movieDao.retrieveById(101));
+            assertEquals(1, dao.getRuntimeStats(list1).count());
+        }
+    }
+
     // --- Tests for removeMovieFromList ---
     @Nested
     @DisplayName("Remove Movie from List Operations")
@@ -330,6 +384,88 @@ class TestListMovieDaoInMemory {
     }
 
     // --- General/Integration Tests ---
+    @Nested
+    @DisplayName("Runtime Statistics")
+    class RuntimeStatsTests {
+
+        @Test
+        @DisplayName("Should keep shortest and longest runtime correct across removals")
+        void testRuntimeStatsFollowMembership() throws DaoException {
+            ListModel list1 = createList(1, "My Watchlist", "user1");
+            MovieModel shortMovie = new MovieModel(101, 90, "Short");
+            MovieModel longMovie = new MovieModel(102, 180, "Long");
+            listMovieDao.addMoviesToList(list1, List.of(shortMovie, longMovie, new MovieModel(103, 120, "Medium")));
+
+            assertEquals(new RuntimeStats(3, 390, 90, 180), listMovieDao.getRuntimeStats(list1));
+
+            listMovieDao.removeMovieFromList(list1, longMovie);
+            assertEquals(new RuntimeStats(2, 210, 90, 120), listMovieDao.getRuntimeStats(list1));
+
+            listMovieDao.removeAllMoviesFromList(list1);
+            assertEquals(RuntimeStats.EMPTY, listMovieDao.getRuntimeStats(list1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Operations")
+    class ConcurrencyTests {
+
+        private static final int THREADS = 8;
+        private static final int MOVIES_PER_THREAD = 500;
+
+        @Test
+        @DisplayName("Should keep every movie when many threads add to the same list")
+        void testConcurrentAddsToSameList() throws Exception {
+            ListModel list1 = createList(1, "Shared", "user1");
+
+            Concurrently.run(THREADS, thread -> {
+                for (int i = 0; i < MOVIES_PER_THREAD; i++) {
+                    listMovieDao.addMovieToList(list1, createMovie(thread * MOVIES_PER_THREAD + i, "Movie " + i));
+                }
+            });
+
+            assertEquals(THREADS * MOVIES_PER_THREAD, listMovieDao.getAllMoviesInList(list1).size());
+        }
+
+        @Test
+        @DisplayName("Should add a contested movie exactly once")
+        void testConcurrentDuplicateAddsSucceedOnce() throws Exception {
+            ListModel list1 = createList(1, "Shared", "user1");
+            MovieModel movie1 = createMovie(101, "Inception");
+            AtomicInteger successes = new AtomicInteger();
+
+            Concurrently.run(THREADS, thread -> {
+                try {
+                    listMovieDao.addMovieToList(list1, movie1);
+                    successes.incrementAndGet();
+                } catch (DaoException e) {
+                    // expected for every thread but one
+                }
+            });
+
+            assertEquals(1, successes.get(), "Only one thread should have added the movie");
+            assertEquals(List.of(movie1), listMovieDao.getAllMoviesInList(list1));
+        }
+
+        @Test
+        @DisplayName("Should not lose adds racing with removals that empty the list")
+        void testConcurrentAddAndRemove() throws Exception {
+            ListModel list1 = createList(1, "Shared", "user1");
+
+            Concurrently.run(THREADS, thread -> {
+                for (int i = 0; i < MOVIES_PER_THREAD; i++) {
+                    MovieModel movie = createMovie(thread * MOVIES_PER_THREAD + i, "Movie " + i);
+                    listMovieDao.addMovieToList(list1, movie);
+                    if (i % 2 == 0) {
+                        listMovieDao.removeMovieFromList(list1, movie);
+                    }
+                }
+            });
+
+            assertEquals(THREADS * MOVIES_PER_THREAD / 2, listMovieDao.getAllMoviesInList(list1).size());
+        }
+    }
+
     @Test
     @DisplayName("Test isolation between different lists")
     void testIsolationBetweenLists() throws DaoException {
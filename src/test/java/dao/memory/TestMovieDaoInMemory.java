@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -101,6 +102,30 @@ class TestMovieDaoInMemory {
         assertEquals("Movie model cannot be null.", thrown.getMessage());
     }
 
+    @Test
+    void testConcurrentSaveMovieStoresEachIdOnce() throws Exception {
+        // Arrange: 8 threads race to save the same 1000 ids
+        int threads = 8;
+        int movies = 1000;
+        AtomicInteger saved = new AtomicInteger();
+
+        // Act
+        Concurrently.run(threads, thread -> {
+            for (int id = 1; id <= movies; id++) {
+                try {
+                    movieDaoInMemory.saveMovie(new MovieModel(id, 100, "Movie " + id));
+                    saved.incrementAndGet();
+                } catch (DaoException e) {
+                    // another thread saved this id first
+                }
+            }
+        });
+
+        // Assert
+        assertEquals(movies, saved.get(), "Each id should have been saved by exactly one thread.");
+        assertEquals(movies, movieDaoInMemory.retrieveAllMovies().size());
+    }
+
     // --- retrieveAllMovies Tests ---
 
     @Test
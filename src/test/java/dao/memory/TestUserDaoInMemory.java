@@ -13,6 +13,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +73,27 @@ class TestUserDaoInMemory {
 
     // --- saveUser Tests ---
 
+    @Test
+    void testConcurrentSaveUserSucceedsOnce() throws Exception {
+        // Arrange: 8 threads race to register the same username
+        int threads = 8;
+        AtomicInteger saved = new AtomicInteger();
+
+        // Act
+        Concurrently.run(threads, thread -> {
+            try {
+                userDaoInMemory.saveUser(new UserModel("contested", "password" + thread));
+                saved.incrementAndGet();
+            } catch (DaoException e) {
+                // another thread registered the username first
+            }
+        });
+
+        // Assert
+        assertEquals(1, saved.get(), "Only one thread should have registered the username.");
+        assertEquals(1, usersMap.size());
+    }
+
     @Test
     void testSaveUserSuccessfully() throws DaoException {
         // Arrange
@@ -0,0 +1,137 @@
+package migration;
+
+import ispw.project.movietime.dao.ListDao;
+import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.UserDao;
+import ispw.project.movietime.dao.csv.CsvStorageEngine;
+import ispw.project.movietime.dao.csv.ListDaoCsv;
+import ispw.project.movietime.dao.csv.ListMovieDaoCsv;
+import ispw.project.movietime.dao.csv.MovieDaoCsv;
+import ispw.project.movietime.dao.csv.UserDaoCsv;
+import ispw.project.movietime.migration.PersistenceMigrator;
+import ispw.project.movietime.migration.PersistenceMigrator.EntityReport;
+import ispw.project.movietime.migration.PersistenceMigrator.MigrationReport;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.UserModel;
+import ispw.project.movietime.state.DemoModeState;
+import ispw.project.movietime.state.PersistenceModeState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Migrates a synthetic in-memory data set into a fresh CSV store and into another in-memory store, and
+ * prints the time per stage. Not a unit test; run it manually with the number of list entries and,
+ * optionally, worker threads: {@code PersistenceMigratorBenchmark 1000000 4}.
+ */
+public class PersistenceMigratorBenchmark {
+
+    private static final int ENTRIES_PER_LIST = 100;
+    private static final int LISTS_PER_USER = 10;
+    private static final int MOVIES = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        Logger.getLogger("").setLevel(Level.WARNING);
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : PersistenceMigrator.DEFAULT_THREADS;
+
+        long start = System.nanoTime();
+        PersistenceModeState source = syntheticSource(entries);
+        System.out.printf("Built source with %d entries in %d ms%n", entries, (System.nanoTime() - start) / 1_000_000);
+
+        run("in-memory -> in-memory", source, new DemoModeState(), threads, null);
+
+        Path dir = Files.createTempDirectory("migration-bench");
+        try {
+            run("in-memory -> CSV", source, csvState(dir), threads, dir.resolve("run.checkpoint"));
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private static void run(String label, PersistenceModeState source, PersistenceModeState target, int threads,
+                            Path checkpoint) throws Exception {
+        MigrationReport report = new PersistenceMigrator(source, target, checkpoint,
+                PersistenceMigrator.DEFAULT_BATCH_SIZE, threads).migrate(true);
+        System.out.printf("%n%s, %d threads: %d ms, verified: %b%n", label, threads, report.elapsed().toMillis(), report.verified());
+        for (EntityReport entity : report.entities()) {
+            System.out.printf("  %-10s read %9d  written %9d  %s%n", entity.entity(), entity.read(), entity.written(), entity.verification());
+        }
+        long entries = report.entities().get(PersistenceMigrator.Entity.LIST_MOVIE.ordinal()).written();
+        System.out.printf("  %.0f entries/s including verification%n", entries * 1000.0 / Math.max(1, report.elapsed().toMillis()));
+    }
+
+    private static PersistenceModeState syntheticSource(int entries) throws Exception {
+        DemoModeState source = new DemoModeState();
+        List<MovieModel> movies = new ArrayList<>(MOVIES);
+        for (int id = 1; id <= MOVIES; id++) {
+            movies.add(new MovieModel(id, 80 + id % 100, "Movie " + id));
+        }
+        source.getMovieDao().saveMovies(movies);
+
+        Random random = new Random(42);
+        int lists = Math.max(1, entries / ENTRIES_PER_LIST);
+        for (int i = 0; i < lists; i++) {
+            String username = "user" + i / LISTS_PER_USER;
+            if (i % LISTS_PER_USER == 0) {
+                source.getUserDao().saveUser(new UserModel(username, "pw" + i));
+            }
+            ListModel list = new ListModel(0, "List " + i, username);
+            source.getListDao().saveList(list, new UserModel(username, null));
+            int offset = random.nextInt(MOVIES - ENTRIES_PER_LIST);
+            source.getListMovieDao().addMoviesToList(list, movies.subList(offset, offset + ENTRIES_PER_LIST));
+        }
+        return source;
+    }
+
+    private static PersistenceModeState csvState(Path dir) throws IOException {
+        for (String name : List.of("movie.csv", "list.csv", "user.csv", "listmovie.csv")) {
+            Files.writeString(dir.resolve(name), "");
+        }
+        CsvStorageEngine engine = new CsvStorageEngine(dir.resolve("movie.csv"), dir.resolve("list.csv"),
+                dir.resolve("user.csv"), dir.resolve("listmovie.csv"));
+        UserDao userDao = new UserDaoCsv(engine);
+        ListDao listDao = new ListDaoCsv(engine);
+        MovieDao movieDao = new MovieDaoCsv(engine);
+        ListMovie listMovieDao = new ListMovieDaoCsv(engine);
+        return new PersistenceModeState() {
+            @Override
+            public UserDao getUserDao() {
+                return userDao;
+            }
+
+            @Override
+            public ListDao getListDao() {
+                return listDao;
+            }
+
+            @Override
+            public MovieDao getMovieDao() {
+                return movieDao;
+            }
+
+            @Override
+            public ListMovie getListMovieDao() {
+                return listMovieDao;
+            }
+        };
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
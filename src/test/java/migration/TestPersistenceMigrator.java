@@ -0,0 +1,167 @@
+package migration;
+
+import ispw.project.movietime.dao.ListDao;
+import ispw.project.movietime.dao.ListMovie;
+import ispw.project.movietime.dao.MovieDao;
+import ispw.project.movietime.dao.UserDao;
+import ispw.project.movietime.dao.csv.CsvStorageEngine;
+import ispw.project.movietime.dao.csv.ListDaoCsv;
+import ispw.project.movietime.dao.csv.ListMovieDaoCsv;
+import ispw.project.movietime.dao.csv.MovieDaoCsv;
+import ispw.project.movietime.dao.csv.UserDaoCsv;
+import ispw.project.movietime.migration.PersistenceMigrator;
+import ispw.project.movietime.migration.PersistenceMigrator.EntityReport;
+import ispw.project.movietime.migration.PersistenceMigrator.MigrationReport;
+import ispw.project.movietime.model.ListModel;
+import ispw.project.movietime.model.MovieModel;
+import ispw.project.movietime.model.UserModel;
+import ispw.project.movietime.state.DemoModeState;
+import ispw.project.movietime.state.PersistenceModeState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPersistenceMigrator {
+
+    @TempDir
+    Path tempDir;
+
+    private PersistenceModeState source;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        source = new DemoModeState();
+        source.getUserDao().saveUser(new UserModel("ilie", "psw"));
+        source.getUserDao().saveUser(new UserModel("maria", "pw"));
+
+        List<MovieModel> movies = new ArrayList<>();
+        for (int id = 1; id <= 25; id++) {
+            movies.add(new MovieModel(id, 90 + id, "Movie " + id));
+        }
+        source.getMovieDao().saveMovies(movies);
+
+        for (int i = 0; i < 6; i++) {
+            String owner = i % 2 == 0 ? "ilie" : "maria";
+            ListModel list = new ListModel(0, "List " + i, owner);
+            source.getListDao().saveList(list, new UserModel(owner, null));
+            source.getListMovieDao().addMoviesToList(list, movies.subList(i, i + 10));
+        }
+    }
+
+    private PersistenceModeState csvState() throws Exception {
+        for (String name : List.of("movie.csv", "list.csv", "user.csv", "listmovie.csv")) {
+            if (!Files.exists(tempDir.resolve(name))) {
+                Files.writeString(tempDir.resolve(name), "");
+            }
+        }
+        CsvStorageEngine engine = new CsvStorageEngine(tempDir.resolve("movie.csv"), tempDir.resolve("list.csv"),
+                tempDir.resolve("user.csv"), tempDir.resolve("listmovie.csv"));
+        UserDao userDao = new UserDaoCsv(engine);
+        ListDao listDao = new ListDaoCsv(engine);
+        MovieDao movieDao = new MovieDaoCsv(engine);
+        ListMovie listMovieDao = new ListMovieDaoCsv(engine);
+        return new PersistenceModeState() {
+            @Override
+            public UserDao getUserDao() {
+                return userDao;
+            }
+
+            @Override
+            public ListDao getListDao() {
+                return listDao;
+            }
+
+            @Override
+            public MovieDao getMovieDao() {
+                return movieDao;
+            }
+
+            @Override
+            public ListMovie getListMovieDao() {
+                return listMovieDao;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Every entity is copied in referential order and verified by checksum")
+    void testMigrationIsVerified() throws Exception {
+        PersistenceModeState target = csvState();
+        MigrationReport report = new PersistenceMigrator(source, target, tempDir.resolve("run.checkpoint"), 4, 3).migrate(true);
+
+        assertTrue(report.verified(), report.toString());
+        assertEquals(List.of(6, 2), writtenOf(report, PersistenceMigrator.Entity.LISTS, PersistenceMigrator.Entity.USERS));
+        assertEquals(60, report.entities().get(3).written());
+        assertEquals(3, target.getListDao().retrieveAllListsOfUsername("maria").size());
+        assertEquals(25, target.getMovieDao().retrieveAllMovies().size());
+    }
+
+    @Test
+    @DisplayName("A rerun with the same checkpoint copies nothing twice, even from a fresh process")
+    void testRerunResumesFromCheckpoint() throws Exception {
+        Path checkpoint = tempDir.resolve("run.checkpoint");
+        new PersistenceMigrator(source, csvState(), checkpoint).migrate(false);
+
+        PersistenceModeState reopened = csvState();
+        MigrationReport rerun = new PersistenceMigrator(source, reopened, checkpoint).migrate(true);
+
+        assertTrue(rerun.verified());
+        for (EntityReport entity : rerun.entities()) {
+            assertEquals(0, entity.written(), entity.entity() + " was copied again.");
+        }
+        assertEquals(6, reopened.getListDao().retrieveAllLists().size());
+    }
+
+    @Test
+    @DisplayName("Rows changed in the target after the copy are reported as mismatches")
+    void testVerificationDetectsDifferences() throws Exception {
+        PersistenceModeState target = csvState();
+        Path checkpoint = tempDir.resolve("run.checkpoint");
+        new PersistenceMigrator(source, target, checkpoint).migrate(false);
+
+        ListModel anyTargetList = target.getListDao().retrieveAllLists().getFirst();
+        target.getListMovieDao().removeMovieFromList(anyTargetList,
+                target.getListMovieDao().getAllMoviesInList(anyTargetList).getFirst());
+
+        MigrationReport report = new PersistenceMigrator(source, target, checkpoint).migrate(true);
+        assertFalse(report.verified());
+        assertEquals(PersistenceMigrator.Verification.MISMATCHED, report.entities().get(3).verification());
+        assertEquals(PersistenceMigrator.Verification.MATCHED, report.entities().get(0).verification());
+    }
+
+    @Test
+    @DisplayName("A checkpoint line torn mid-number is dropped instead of mapping a list to the wrong target")
+    void testTornCheckpointLineIsDropped() throws Exception {
+        Path checkpoint = tempDir.resolve("run.checkpoint");
+        int sourceListId = source.getListDao().retrieveAllLists().getFirst().getId();
+        // What is left of "list <id> 57" when the process dies between the two digits
+        Files.writeString(checkpoint, "list " + sourceListId + " 5");
+
+        PersistenceModeState target = csvState();
+        MigrationReport report = new PersistenceMigrator(source, target, checkpoint).migrate(true);
+
+        assertTrue(report.verified(), report.toString());
+        assertEquals(6, target.getListDao().retrieveAllLists().size());
+        assertTrue(Files.readAllLines(checkpoint).contains("done LIST_MOVIE"));
+
+        MigrationReport rerun = new PersistenceMigrator(source, target, checkpoint).migrate(true);
+        assertTrue(rerun.verified());
+        assertEquals(0, rerun.entities().get(2).written());
+    }
+
+    private static List<Integer> writtenOf(MigrationReport report, PersistenceMigrator.Entity... entities) {
+        List<Integer> written = new ArrayList<>();
+        for (PersistenceMigrator.Entity entity : entities) {
+            written.add(report.entities().get(entity.ordinal()).written());
+        }
+        return written;
+    }
+}